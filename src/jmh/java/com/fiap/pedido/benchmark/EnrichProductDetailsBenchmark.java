@@ -0,0 +1,52 @@
+package com.fiap.pedido.benchmark;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.Product;
+import com.fiap.pedido.usecase.RetrieveAllProductsBySkuUseCase;
+import com.fiap.pedido.usecase.load.EnrichProductDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of matching products to items and computing the payment amount. The product service is replaced by a
+ * gateway answering from memory so only the local work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrichProductDetailsBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int itemCount;
+
+    private EnrichProductDetails enrichProductDetails;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = OrderFixtures.products(itemCount);
+        enrichProductDetails = new EnrichProductDetails(new RetrieveAllProductsBySkuUseCase(skus -> products));
+        order = OrderFixtures.order(itemCount);
+    }
+
+    @Benchmark
+    public Order enrich() {
+        enrichProductDetails.enrich(order);
+        return order;
+    }
+}
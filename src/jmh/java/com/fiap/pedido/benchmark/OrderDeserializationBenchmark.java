@@ -0,0 +1,86 @@
+package com.fiap.pedido.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.pedido.configuration.BeanConfiguration;
+import com.fiap.pedido.consumer.OrderMessageReader;
+import com.fiap.pedido.domain.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.helpers.MessageFormatter;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a queue payload into an {@link Order}, as done by the order consumers. {@code consumeAsString}
+ * replays the former consumer path (decode the body, log it at INFO, parse the String, log {@code order.toString()}
+ * in later stages) against {@code consumeWithReader}; run with {@code -prof gc} to compare the bytes allocated
+ * per message ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderDeserializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int itemCount;
+
+    private ObjectMapper objectMapper;
+    private String message;
+    private byte[] body;
+    private OrderMessageReader orderMessageReader;
+    private Message amqpMessage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new BeanConfiguration().objectMapper();
+        message = objectMapper.writeValueAsString(OrderFixtures.order(itemCount));
+        body = message.getBytes(StandardCharsets.UTF_8);
+        orderMessageReader = new OrderMessageReader(objectMapper);
+        amqpMessage = new Message(body, new MessageProperties());
+    }
+
+    @Benchmark
+    public Order readFromString() throws IOException {
+        return objectMapper.readValue(message, Order.class);
+    }
+
+    @Benchmark
+    public Order readFromBytes() throws IOException {
+        return objectMapper.readValue(body, Order.class);
+    }
+
+    @Benchmark
+    public Order consumeAsString(Blackhole blackhole) throws IOException {
+        String payload = new String(body, StandardCharsets.UTF_8);
+        blackhole.consume(MessageFormatter.format("Deserializing the order message: {}", payload).getMessage());
+        Order order = objectMapper.readValue(payload, Order.class);
+        for (int i = 0; i < 3; i++) {
+            blackhole.consume(MessageFormatter.format("Processing order {}", order.toString()).getMessage());
+        }
+        return order;
+    }
+
+    @Benchmark
+    public Order consumeWithReader(Blackhole blackhole) {
+        Order order = orderMessageReader.read(amqpMessage);
+        blackhole.consume(MessageFormatter.format("Processing order {}", order.getOrderId()).getMessage());
+        return order;
+    }
+}
@@ -0,0 +1,68 @@
+package com.fiap.pedido.benchmark;
+
+import com.fiap.pedido.domain.Item;
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.PaymentStatus;
+import com.fiap.pedido.domain.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic orders of a given size shared by the benchmarks.
+ */
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static Order order(int itemCount) {
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Item item = new Item();
+            item.setSku(sku(i));
+            item.setQuantity(1 + i % 5);
+            items.add(item);
+        }
+
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setCustomerId(UUID.randomUUID());
+        order.setCardNumber("4111111111111111");
+        order.setItems(items);
+        return order;
+    }
+
+    static Order enrichedOrder(int itemCount) {
+        Order order = order(itemCount);
+        order.setCustomerName("John Doe");
+        order.setCustomerCpf("12345678901");
+        order.setStatus(OrderStatus.ABERTO);
+        order.setPaymentId(UUID.randomUUID());
+        order.setPaymentStatus(PaymentStatus.PENDING);
+        order.setPaymentAmount(BigDecimal.valueOf(itemCount * 10L));
+        products(itemCount).forEach(product -> order.getItems().stream()
+                .filter(item -> item.getSku().equals(product.getSku()))
+                .forEach(item -> {
+                    item.setId(product.getId());
+                    item.setName(product.getName());
+                    item.setPrice(product.getPrice());
+                }));
+        return order;
+    }
+
+    static List<Product> products(int itemCount) {
+        List<Product> products = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            products.add(new Product(UUID.randomUUID(), "Product " + i, sku(i), BigDecimal.valueOf(10 + i)));
+        }
+        return products;
+    }
+
+    private static String sku(int index) {
+        return "SKU%06d".formatted(index);
+    }
+}
@@ -0,0 +1,69 @@
+package com.fiap.pedido.benchmark;
+
+import com.fiap.pedido.domain.Item;
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderEntity;
+import com.fiap.pedido.gateway.web.json.StockDTO;
+import com.fiap.pedido.mapper.OrderItemMapper;
+import com.fiap.pedido.mapper.OrderItemMapperImpl;
+import com.fiap.pedido.mapper.OrderMapper;
+import com.fiap.pedido.mapper.OrderMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the MapStruct conversions run for every order: domain to entity and back, and items to stock DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int itemCount;
+
+    private OrderMapper orderMapper;
+    private OrderItemMapper orderItemMapper;
+    private Order order;
+    private OrderEntity orderEntity;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        orderMapper = new OrderMapperImpl();
+        orderItemMapper = new OrderItemMapperImpl();
+        order = OrderFixtures.enrichedOrder(itemCount);
+        orderEntity = orderMapper.map(order);
+        items = order.getItems();
+    }
+
+    @Benchmark
+    public OrderEntity mapOrderToEntity() {
+        return orderMapper.map(order);
+    }
+
+    @Benchmark
+    public Order mapEntityToOrder() {
+        return orderMapper.map(orderEntity);
+    }
+
+    @Benchmark
+    public List<StockDTO> mapItemsToStock() {
+        return orderItemMapper.map(items);
+    }
+}
@@ -0,0 +1,44 @@
+package com.fiap.pedido.benchmark;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.usecase.validation.OrderMandatoryFieldsValidation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderValidationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int itemCount;
+
+    private OrderMandatoryFieldsValidation validation;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        validation = new OrderMandatoryFieldsValidation();
+        order = OrderFixtures.order(itemCount);
+    }
+
+    @Benchmark
+    public Order validate() {
+        validation.validate(order);
+        return order;
+    }
+}
@@ -0,0 +1,160 @@
+package com.fiap.pedido.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the statements behind {@code POST /payments/{id}} on a seeded table, before ({@code schemaVersion=2})
+ * and after ({@code latest}) the lookup indexes. Needs the PostgreSQL of the docker compose (or
+ * {@code -Djmh.datasource.url}); the tables are created in their own schema, which is dropped and re-seeded per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentCallbackQueryBenchmark {
+
+    private static final String SCHEMA = "jmh_payment_callback";
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    private static final String FIND_BY_PAYMENT_ID = """
+            select o.*, i.sku, i.name, i.quantity, i.price
+              from orders o left join order_items i on i.order_id = o.order_id
+             where o.payment_id = ?
+            """;
+    private static final String CLOSE_BY_PAYMENT_ID = """
+            update orders set status = ?, payment_status = ? where payment_id = ? and status = ?
+            """;
+
+    @Param({"2", "latest"})
+    String schemaVersion;
+
+    @Param({"100000"})
+    int orderCount;
+
+    private Connection connection;
+    private PreparedStatement findByPaymentId;
+    private PreparedStatement closeByPaymentId;
+    private UUID[] paymentIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("jmh.datasource.url", "jdbc:postgresql://localhost:5435/orderdb");
+        String username = System.getProperty("jmh.datasource.username", "postgres");
+        String password = System.getProperty("jmh.datasource.password", "postgres");
+
+        Flyway flyway = Flyway.configure()
+                .dataSource(url, username, password)
+                .schemas(SCHEMA)
+                .cleanDisabled(false)
+                .target(schemaVersion)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+
+        connection = DriverManager.getConnection(url, username, password);
+        connection.setSchema(SCHEMA);
+        seed();
+
+        findByPaymentId = connection.prepareStatement(FIND_BY_PAYMENT_ID);
+        closeByPaymentId = connection.prepareStatement(CLOSE_BY_PAYMENT_ID);
+        // the update is rolled back after each call so every invocation finds its order open
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void findOrderByPaymentId(Blackhole blackhole) throws SQLException {
+        findByPaymentId.setObject(1, randomPaymentId());
+        try (ResultSet rows = findByPaymentId.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getString("sku"));
+            }
+        }
+    }
+
+    @Benchmark
+    public int closeOrderByPaymentId() throws SQLException {
+        closeByPaymentId.setString(1, "FECHADO_COM_SUCESSO");
+        closeByPaymentId.setString(2, "COMPLETED");
+        closeByPaymentId.setObject(3, randomPaymentId());
+        closeByPaymentId.setString(4, "ABERTO");
+        int updated = closeByPaymentId.executeUpdate();
+        connection.rollback();
+        return updated;
+    }
+
+    private UUID randomPaymentId() {
+        return paymentIds[ThreadLocalRandom.current().nextInt(paymentIds.length)];
+    }
+
+    private void seed() throws SQLException {
+        paymentIds = new UUID[orderCount];
+        connection.setAutoCommit(false);
+        try (PreparedStatement orders = connection.prepareStatement("""
+                insert into orders (order_id, customer_id, card_number, status, payment_id, payment_status, payment_amount)
+                values (?, ?, '4111111111111111', 'ABERTO', ?, 'IN_PROGRESS', ?)
+                """);
+             PreparedStatement items = connection.prepareStatement("""
+                     insert into order_items (sku, order_id, name, quantity, price) values (?, ?, ?, 1, ?)
+                     """)) {
+            for (int i = 0; i < orderCount; i++) {
+                UUID orderId = UUID.randomUUID();
+                paymentIds[i] = UUID.randomUUID();
+                orders.setObject(1, orderId);
+                orders.setObject(2, UUID.randomUUID());
+                orders.setObject(3, paymentIds[i]);
+                orders.setBigDecimal(4, BigDecimal.valueOf(ITEMS_PER_ORDER * 10L));
+                orders.addBatch();
+                for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                    items.setString(1, "SKU" + j);
+                    items.setObject(2, orderId);
+                    items.setString(3, "Product " + j);
+                    items.setBigDecimal(4, BigDecimal.TEN);
+                    items.addBatch();
+                }
+                if ((i + 1) % SEED_BATCH_SIZE == 0 || i == orderCount - 1) {
+                    orders.executeBatch();
+                    items.executeBatch();
+                }
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze orders");
+            statement.execute("analyze order_items");
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.fiap.pedido.benchmark;
+
+import com.fiap.pedido.gateway.web.json.CustomerResponseDTO;
+import com.fiap.pedido.gateway.web.json.ProductResponseDTO;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to fetch the customer and the products of {@code orders} orders from a local server that answers after
+ * {@code latencyMs}, both lookups of an order running concurrently as in the enrichment stage. The blocking path
+ * uses {@link RestTemplate} on a pool of {@code blockingThreads} threads, the reactive one {@link WebClient} on
+ * {@value #EVENT_LOOP_THREADS} event-loop threads; the blocking path is bounded by its threads, the reactive one
+ * only by the server latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReactiveEnrichmentBenchmark {
+
+    private static final int EVENT_LOOP_THREADS = 4;
+
+    private static final String CUSTOMER_JSON = """
+            {"id":"%s","fullName":"John Doe","cpf":"12345678901"}
+            """.formatted(UUID.randomUUID());
+    private static final String PRODUCTS_JSON = """
+            [{"id":"%s","name":"Product 0","sku":"SKU0","price":10.00},
+             {"id":"%s","name":"Product 1","sku":"SKU1","price":10.00},
+             {"id":"%s","name":"Product 2","sku":"SKU2","price":10.00}]
+            """.formatted(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+    @Param({"100", "1000"})
+    int orders;
+
+    @Param({"50"})
+    int latencyMs;
+
+    @Param({"16"})
+    int blockingThreads;
+
+    private LoopResources serverLoops;
+    private DisposableServer server;
+
+    private CloseableHttpClient blockingHttpClient;
+    private RestTemplate restTemplate;
+    private ExecutorService blockingExecutor;
+
+    private LoopResources clientLoops;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Duration latency = Duration.ofMillis(latencyMs);
+        serverLoops = LoopResources.create("stub-server", EVENT_LOOP_THREADS, true);
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .runOn(serverLoops)
+                .route(routes -> routes
+                        .get("/customers/{customerId}", (request, response) -> respond(response, latency, CUSTOMER_JSON))
+                        .get("/products/skus", (request, response) -> respond(response, latency, PRODUCTS_JSON)))
+                .bindNow();
+        String baseUrl = "http://localhost:" + server.port();
+
+        blockingHttpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(blockingThreads)
+                        .setMaxConnPerRoute(blockingThreads)
+                        .build())
+                .build();
+        restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(blockingHttpClient));
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(baseUrl));
+        blockingExecutor = Executors.newFixedThreadPool(blockingThreads);
+
+        clientLoops = LoopResources.create("bench-client", EVENT_LOOP_THREADS, true);
+        connectionProvider = ConnectionProvider.builder("bench-client")
+                .maxConnections(2 * orders)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(
+                        HttpClient.create(connectionProvider).runOn(clientLoops)))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        blockingExecutor.shutdownNow();
+        blockingHttpClient.close();
+        connectionProvider.disposeLater().block();
+        clientLoops.disposeLater().block();
+        server.disposeNow();
+        serverLoops.disposeLater().block();
+    }
+
+    @Benchmark
+    public void restTemplateOnThreadPool(Blackhole blackhole) {
+        List<CompletableFuture<?>> lookups = new ArrayList<>(2 * orders);
+        for (int i = 0; i < orders; i++) {
+            UUID customerId = UUID.randomUUID();
+            lookups.add(CompletableFuture.runAsync(() -> blackhole.consume(
+                    restTemplate.getForObject("/customers/{customerId}", CustomerResponseDTO.class, customerId)),
+                    blockingExecutor));
+            lookups.add(CompletableFuture.runAsync(() -> blackhole.consume(
+                    restTemplate.getForObject("/products/skus?sku=SKU0&sku=SKU1&sku=SKU2", ProductResponseDTO[].class)),
+                    blockingExecutor));
+        }
+        CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @Benchmark
+    public void webClientOnEventLoops(Blackhole blackhole) {
+        Flux.range(0, orders)
+                .flatMap(i -> Mono.when(
+                        webClient.get()
+                                .uri("/customers/{customerId}", UUID.randomUUID())
+                                .retrieve()
+                                .bodyToMono(CustomerResponseDTO.class)
+                                .doOnNext(blackhole::consume),
+                        webClient.get()
+                                .uri(uri -> uri.path("/products/skus").queryParam("sku", "SKU0", "SKU1", "SKU2").build())
+                                .retrieve()
+                                .bodyToFlux(ProductResponseDTO.class)
+                                .doOnNext(blackhole::consume)
+                                .then()), orders)
+                .blockLast();
+    }
+
+    private static Publisher<Void> respond(HttpServerResponse response, Duration latency, String body) {
+        return response.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                .sendString(Mono.delay(latency).thenReturn(body));
+    }
+}
@@ -0,0 +1,62 @@
+package com.fiap.pedido.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class ExecutorConfiguration {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    @Value("${order.enrichment.pool-size:16}")
+    private int enrichmentPoolSize;
+    @Value("${order.enrichment.queue-capacity:256}")
+    private int enrichmentQueueCapacity;
+
+    /**
+     * Executor used to run each consumed order through the pipeline. With virtual threads enabled every order
+     * gets its own virtual thread, so blocking calls to the downstream services park the virtual thread instead
+     * of holding a platform thread; otherwise orders run on the listener thread, as before.
+     */
+    @Bean
+    public TaskExecutor orderProcessingExecutor() {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("order-processing-");
+        }
+        return new SyncTaskExecutor();
+    }
+
+    /**
+     * Bounded executor for the enrichment strategies of an order. When the pool and its queue are saturated the
+     * strategy is rejected rather than run on the caller, where the enrichment timeout could not stop it; the order
+     * then fails transiently and is retried later.
+     */
+    @Bean
+    public AsyncTaskExecutor enrichmentExecutor() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("order-enrichment-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(enrichmentPoolSize);
+            executor.setRejectTasksWhenLimitReached(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("order-enrichment-");
+        executor.setCorePoolSize(enrichmentPoolSize);
+        executor.setMaxPoolSize(enrichmentPoolSize);
+        executor.setQueueCapacity(enrichmentQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.fiap.pedido.configuration;
 
+import com.fiap.pedido.exception.InvalidCursorException;
 import com.fiap.pedido.exception.OrderNotFoundException;
 import com.fiap.pedido.exception.OrderStatusException;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problemDetail);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursorException(InvalidCursorException ex) {
+        log.warn("Invalid cursor received: {}", ex.getMessage());
+        ProblemDetail problemDetail = buildProblemDetail("Invalid Cursor", HttpStatus.BAD_REQUEST, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ProblemDetail> handleRuntimeException(RuntimeException ex) {
         log.error("Runtime exception occurred", ex);
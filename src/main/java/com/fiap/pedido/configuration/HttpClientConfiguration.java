@@ -0,0 +1,132 @@
+package com.fiap.pedido.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.io.ModalCloseable;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One pooled, keep-alive HTTP client per downstream service, so a slow service can only exhaust its own pool.
+ * Pool usage is published as {@code httpcomponents.httpclient.pool.*} metrics and request latency as
+ * {@code http.client.requests}, both tagged with the service name. The clients and their pools are closed when the
+ * context shuts down, releasing the kept-alive connections and the eviction threads.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(WebClientProperties.class)
+public class HttpClientConfiguration implements DisposableBean {
+
+    public static final String CUSTOMER_SERVICE = "fiap-cliente-service";
+    public static final String PRODUCT_SERVICE = "fiap-produto-service";
+    public static final String STOCK_SERVICE = "fiap-estoque-service";
+    public static final String PAYMENT_SERVICE = "fiap-pagamento-service";
+
+    private final WebClientProperties properties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final MeterRegistry meterRegistry;
+    private final List<ModalCloseable> closeables = new CopyOnWriteArrayList<>();
+
+    @Bean
+    public RestTemplate customerRestTemplate() {
+        return restTemplate(CUSTOMER_SERVICE);
+    }
+
+    @Bean
+    public RestTemplate productRestTemplate() {
+        return restTemplate(PRODUCT_SERVICE);
+    }
+
+    @Bean
+    public RestTemplate stockRestTemplate() {
+        return restTemplate(STOCK_SERVICE);
+    }
+
+    @Bean
+    public RestTemplate paymentRestTemplate() {
+        return restTemplate(PAYMENT_SERVICE);
+    }
+
+    private RestTemplate restTemplate(String serviceName) {
+        CloseableHttpClient httpClient = httpClient(serviceName);
+        RestTemplate restTemplate = restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+        restTemplate.setObservationConvention(new ServiceClientRequestObservationConvention(serviceName));
+        return restTemplate;
+    }
+
+    private CloseableHttpClient httpClient(String serviceName) {
+        WebClientProperties.Client client = properties.client(serviceName);
+        WebClientProperties.Pool pool = client.getPool();
+
+        // each service is a single route, so the whole pool is available to it
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxConnections())
+                .setMaxConnPerRoute(pool.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(client.getConnectTimeout()))
+                        .setSocketTimeout(timeout(client.getReadTimeout()))
+                        .setTimeToLive(timeValue(pool.getTimeToLive()))
+                        .setValidateAfterInactivity(timeValue(Duration.ofSeconds(2)))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, serviceName).bindTo(meterRegistry);
+        closeables.add(connectionManager);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(pool.getAcquireTimeout()))
+                        .setResponseTimeout(timeout(client.getReadTimeout()))
+                        .setConnectionKeepAlive(timeValue(pool.getKeepAlive()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(timeValue(pool.getIdleTimeout()))
+                .build();
+        // closed before its pool, so the eviction thread stops before the connections go away
+        closeables.addFirst(httpClient);
+        return httpClient;
+    }
+
+    @Override
+    public void destroy() {
+        for (ModalCloseable closeable : closeables) {
+            try {
+                closeable.close(CloseMode.GRACEFUL);
+            } catch (RuntimeException e) {
+                log.warn("Failed to close HTTP client resource {}: {}", closeable, e.getMessage());
+            }
+        }
+        closeables.clear();
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -0,0 +1,17 @@
+package com.fiap.pedido.configuration;
+
+import java.util.List;
+
+/**
+ * Names of the queues around the order queue: the retry exchange, the routing key of each delayed retry tier (in
+ * order of increasing delay) and the dead-letter queue for messages that cannot be processed.
+ */
+public record OrderRetryTopology(String queueName,
+                                 String retryExchange,
+                                 List<String> retryRoutingKeys,
+                                 String deadLetterQueue) {
+
+    public int tiers() {
+        return retryRoutingKeys.size();
+    }
+}
@@ -1,9 +1,28 @@
 package com.fiap.pedido.configuration;
 
+import com.fiap.pedido.consumer.FailedMessageRouter;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 @Configuration
 public class RabbitMQConfiguration {
@@ -12,10 +31,162 @@ public class RabbitMQConfiguration {
     private String queueName;
     @Value("${rabbitmq.queue.durable:true}")
     private boolean durable;
+    @Value("${rabbitmq.listener.batch.size:50}")
+    private int batchSize;
+    @Value("${rabbitmq.listener.batch.receive-timeout:1000}")
+    private long receiveTimeout;
+    @Value("${rabbitmq.listener.prefetch:250}")
+    private int prefetchCount;
+    @Value("${rabbitmq.listener.concurrency:1}")
+    private int concurrentConsumers;
+    @Value("${rabbitmq.listener.max-concurrency:1}")
+    private int maxConcurrentConsumers;
+    @Value("${rabbitmq.retry.delays:5s,30s,5m}")
+    private List<Duration> retryDelays;
+    @Value("${rabbitmq.payment-queue.name}")
+    private String paymentQueueName;
+    @Value("${rabbitmq.payment-queue.batch.size:200}")
+    private int paymentBatchSize;
+    @Value("${rabbitmq.payment-queue.batch.receive-timeout:500}")
+    private long paymentReceiveTimeout;
+    @Value("${rabbitmq.payment-queue.retry.delays:5s,30s,5m}")
+    private List<Duration> paymentRetryDelays;
 
     @Bean
     public Queue queue() {
         return new Queue(queueName, durable);
     }
 
+    /**
+     * The topology of the order queue, injected wherever no other one is asked for by name.
+     */
+    @Bean
+    @Primary
+    public OrderRetryTopology orderRetryTopology() {
+        return retryTopology(queueName, retryDelays);
+    }
+
+    @Bean
+    public OrderRetryTopology paymentResultRetryTopology() {
+        return retryTopology(paymentQueueName, paymentRetryDelays);
+    }
+
+    /**
+     * Routes failed payment results through {@link #paymentResultRetryTopology()}; order messages use the
+     * {@link FailedMessageRouter} component.
+     */
+    @Bean
+    public FailedMessageRouter paymentResultMessageRouter(
+            RabbitTemplate rabbitTemplate,
+            @Qualifier("paymentResultRetryTopology") OrderRetryTopology topology) {
+        return new FailedMessageRouter(rabbitTemplate, topology);
+    }
+
+    @Bean
+    public Declarables orderRetryDeclarables(OrderRetryTopology topology) {
+        return new Declarables(retryDeclarables(topology, retryDelays));
+    }
+
+    /**
+     * Payment results that cannot be read are rejected by the consumer and dead-lettered to {@code <name>.dlq}. A
+     * batch that fails transiently waits in retry tiers of its own, like order messages.
+     */
+    @Bean
+    public Declarables paymentResultDeclarables(
+            @Qualifier("paymentResultRetryTopology") OrderRetryTopology topology) {
+        List<Declarable> declarables = retryDeclarables(topology, paymentRetryDelays);
+        declarables.add(new Queue(paymentQueueName, durable, false, false, Map.of(
+                "x-dead-letter-exchange", "",
+                "x-dead-letter-routing-key", topology.deadLetterQueue())));
+        return new Declarables(declarables);
+    }
+
+    private static OrderRetryTopology retryTopology(String queueName, List<Duration> delays) {
+        String retryExchange = queueName + ".retry";
+        List<String> retryRoutingKeys = IntStream.rangeClosed(1, delays.size())
+                .mapToObj(tier -> retryExchange + "." + tier)
+                .toList();
+        return new OrderRetryTopology(queueName, retryExchange, retryRoutingKeys, queueName + ".dlq");
+    }
+
+    /**
+     * One queue per retry delay, bound to the retry exchange under its own name. Messages wait there for the
+     * tier's TTL and are then dead-lettered through the default exchange back onto the consumed queue, whose own
+     * arguments are left untouched so the existing queue can still be declared.
+     */
+    private List<Declarable> retryDeclarables(OrderRetryTopology topology, List<Duration> delays) {
+        DirectExchange retryExchange = new DirectExchange(topology.retryExchange(), durable, false);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(retryExchange);
+        for (int tier = 0; tier < delays.size(); tier++) {
+            String tierQueueName = topology.retryRoutingKeys().get(tier);
+            Queue tierQueue = new Queue(tierQueueName, durable, false, false, Map.of(
+                    "x-message-ttl", delays.get(tier).toMillis(),
+                    "x-dead-letter-exchange", "",
+                    "x-dead-letter-routing-key", topology.queueName()));
+            declarables.add(tierQueue);
+            declarables.add(BindingBuilder.bind(tierQueue).to(retryExchange).with(tierQueueName));
+        }
+        declarables.add(new Queue(topology.deadLetterQueue(), durable));
+        return declarables;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rabbitmq.listener.batch.enabled", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory batchOrderListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        // the broker must be allowed to push at least one full batch, otherwise every batch waits for the timeout
+        factory.setPrefetchCount(Math.max(prefetchCount, batchSize));
+        factory.setConcurrentConsumers(concurrentConsumers);
+        factory.setMaxConcurrentConsumers(Math.max(concurrentConsumers, maxConcurrentConsumers));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * Batches of payment results for a single consumer: a batch is closed in one transaction, so more consumers
+     * would only contend for the same order rows.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory paymentResultListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(paymentBatchSize);
+        factory.setReceiveTimeout(paymentReceiveTimeout);
+        factory.setPrefetchCount(paymentBatchSize);
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * Container of the reactive listener. Its methods return a {@code Mono}, which the container acknowledges on
+     * completion, so the acknowledge mode must be manual; the prefetch bounds the orders in flight per consumer.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory reactiveOrderListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPrefetchCount(prefetchCount);
+        factory.setConcurrentConsumers(concurrentConsumers);
+        factory.setMaxConcurrentConsumers(Math.max(concurrentConsumers, maxConcurrentConsumers));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+
 }
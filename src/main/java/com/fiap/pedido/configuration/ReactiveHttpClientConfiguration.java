@@ -0,0 +1,76 @@
+package com.fiap.pedido.configuration;
+
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Reactor Netty clients of the downstream services, used when {@code web.reactive.enabled} is set. Every client
+ * runs on the same small set of event-loop threads and has its own connection pool, sized like the blocking one;
+ * pool usage is published as {@code reactor.netty.connection.provider.*} metrics.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+public class ReactiveHttpClientConfiguration {
+
+    private final WebClientProperties properties;
+    private final WebClient.Builder webClientBuilder;
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources httpClientLoopResources() {
+        return LoopResources.create("order-http", properties.getReactive().getEventLoopThreads(), true);
+    }
+
+    @Bean
+    public WebClient customerServiceWebClient(LoopResources httpClientLoopResources) {
+        return webClient(HttpClientConfiguration.CUSTOMER_SERVICE, httpClientLoopResources);
+    }
+
+    @Bean
+    public WebClient productServiceWebClient(LoopResources httpClientLoopResources) {
+        return webClient(HttpClientConfiguration.PRODUCT_SERVICE, httpClientLoopResources);
+    }
+
+    @Bean
+    public WebClient stockServiceWebClient(LoopResources httpClientLoopResources) {
+        return webClient(HttpClientConfiguration.STOCK_SERVICE, httpClientLoopResources);
+    }
+
+    @Bean
+    public WebClient paymentServiceWebClient(LoopResources httpClientLoopResources) {
+        return webClient(HttpClientConfiguration.PAYMENT_SERVICE, httpClientLoopResources);
+    }
+
+    private WebClient webClient(String serviceName, LoopResources loopResources) {
+        WebClientProperties.Client client = properties.client(serviceName);
+        WebClientProperties.Pool pool = client.getPool();
+
+        // requests beyond the pool size wait for a connection instead of being rejected
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(serviceName)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(pool.getAcquireTimeout())
+                .maxIdleTime(pool.getIdleTimeout())
+                .maxLifeTime(pool.getTimeToLive())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .runOn(loopResources)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(client.getConnectTimeout().toMillis()))
+                .responseTimeout(client.getReadTimeout());
+
+        return webClientBuilder.clone()
+                .baseUrl(client.getUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .observationConvention(new ServiceWebClientObservationConvention(serviceName))
+                .build();
+    }
+}
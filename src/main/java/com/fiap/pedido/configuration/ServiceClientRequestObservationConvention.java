@@ -0,0 +1,31 @@
+package com.fiap.pedido.configuration;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+/**
+ * Tags {@code http.client.requests} with the downstream service name instead of the host, and drops the query
+ * string from the uri tag so that SKU lists do not create a time series per request.
+ */
+class ServiceClientRequestObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private final String serviceName;
+
+    ServiceClientRequestObservationConvention(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    @Override
+    protected KeyValue clientName(ClientRequestObservationContext context) {
+        return KeyValue.of(LowCardinalityKeyNames.CLIENT_NAME, serviceName);
+    }
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        KeyValue uri = super.uri(context);
+        int query = uri.getValue().indexOf('?');
+        return query < 0 ? uri : KeyValue.of(LowCardinalityKeyNames.URI, uri.getValue().substring(0, query));
+    }
+}
@@ -0,0 +1,31 @@
+package com.fiap.pedido.configuration;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.web.reactive.function.client.ClientHttpObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+import org.springframework.web.reactive.function.client.DefaultClientRequestObservationConvention;
+
+/**
+ * {@link ServiceClientRequestObservationConvention} for the reactive clients, so both kinds of client report
+ * {@code http.client.requests} with the same tags.
+ */
+class ServiceWebClientObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private final String serviceName;
+
+    ServiceWebClientObservationConvention(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    @Override
+    protected KeyValue clientName(ClientRequestObservationContext context) {
+        return KeyValue.of(LowCardinalityKeyNames.CLIENT_NAME, serviceName);
+    }
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        KeyValue uri = super.uri(context);
+        int query = uri.getValue().indexOf('?');
+        return query < 0 ? uri : KeyValue.of(LowCardinalityKeyNames.URI, uri.getValue().substring(0, query));
+    }
+}
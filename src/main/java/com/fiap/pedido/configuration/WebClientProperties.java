@@ -0,0 +1,163 @@
+package com.fiap.pedido.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the downstream services, bound from {@code web.client.<service-name>.*}, and of the reactive HTTP
+ * clients, bound from {@code web.reactive.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "web")
+public class WebClientProperties {
+
+    private Map<String, Client> client = new HashMap<>();
+    private Reactive reactive = new Reactive();
+
+    public Client client(String serviceName) {
+        return client.getOrDefault(serviceName, new Client());
+    }
+
+    @Getter
+    @Setter
+    public static class Reactive {
+        /**
+         * Consumes orders through the non-blocking pipeline and calls the services with Reactor Netty.
+         */
+        private boolean enabled;
+        /**
+         * Event-loop threads shared by the HTTP clients of every service.
+         */
+        private int eventLoopThreads = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Client {
+        private String url;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        private Pool pool = new Pool();
+        private Cache cache = new Cache();
+        private Coalescing coalescing = new Coalescing();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private Bulkhead bulkhead = new Bulkhead();
+        private Retry retry = new Retry();
+        private Hedging hedging = new Hedging();
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxConnections = 50;
+        private Duration acquireTimeout = Duration.ofSeconds(1);
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private Duration idleTimeout = Duration.ofSeconds(30);
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled;
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+        /**
+         * Entries older than this are reloaded in the background on the next read; {@code null} disables it.
+         */
+        private Duration refreshAfter;
+    }
+
+    @Getter
+    @Setter
+    public static class Coalescing {
+        private boolean enabled;
+        /**
+         * How long the first lookup of a batch waits for others to join it.
+         */
+        private Duration window = Duration.ofMillis(5);
+        private int maxBatchSize = 100;
+        /**
+         * How long a lookup waits for its batch to be answered.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        /**
+         * Number of most recent calls the failure and slow-call rates are computed over.
+         */
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private float failureRateThreshold = 50;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        private float slowCallRateThreshold = 80;
+        /**
+         * How long calls are rejected before a few trial calls are let through again.
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        /**
+         * Calls in flight to the service at once, across every thread of the application.
+         */
+        private int maxConcurrentCalls = 25;
+        /**
+         * How long a call waits for a free slot before it is rejected.
+         */
+        private Duration maxWait = Duration.ofMillis(100);
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+        /**
+         * Attempts per call, the first one included; {@code 1} disables retries.
+         */
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private double backoffMultiplier = 2;
+        /**
+         * Each backoff is drawn at random within this fraction around its nominal value.
+         */
+        private double jitter = 0.5;
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        /**
+         * Sends a second, identical request when the first one is slower than usual; only for idempotent lookups.
+         */
+        private boolean enabled;
+        /**
+         * Latency percentile of recent requests after which the hedge is sent.
+         */
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(20);
+        /**
+         * Requests observed before the first hedge, so the percentile is meaningful.
+         */
+        private int minSamples = 100;
+        /**
+         * Hedges allowed per request on average, i.e. the extra load hedging may add.
+         */
+        private double maxExtraLoad = 0.05;
+        /**
+         * Hedges that may be sent back to back once the budget has been saved up.
+         */
+        private int maxBurst = 10;
+    }
+}
@@ -0,0 +1,89 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.configuration.OrderRetryTopology;
+import com.fiap.pedido.exception.TransientFailures;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Decides what happens to a message that could not be processed. Transient failures are republished to the next
+ * retry tier, which hands the message back to its queue once its delay expires; permanent failures, and transient
+ * ones that used up every tier, go to the dead-letter queue with the failure in their headers. The bean routes order
+ * messages and is the one injected by default; other queues get a router bean of their own over their topology.
+ */
+@Component
+@Primary
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class FailedMessageRouter {
+
+    static final String RETRY_COUNT_HEADER = "x-retry-count";
+    static final String EXCEPTION_CLASS_HEADER = "x-exception-class";
+    static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+    static final String EXCEPTION_STACKTRACE_HEADER = "x-exception-stacktrace";
+    static final String FAILED_AT_HEADER = "x-failed-at";
+    static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+
+    private static final int MAX_MESSAGE_LENGTH = 1_000;
+    private static final int MAX_STACKTRACE_LENGTH = 8_000;
+
+    RabbitTemplate rabbitTemplate;
+    OrderRetryTopology topology;
+
+    /**
+     * Republishes the message and returns the {@code order.messages} result to record. The caller acknowledges the
+     * original delivery only after this returns, so a failed publish leaves the message on its queue.
+     */
+    public String route(Message message, Exception failure) {
+        MessageProperties properties = message.getMessageProperties();
+        int retries = retryCount(properties);
+
+        if (TransientFailures.isTransient(failure) && retries < topology.tiers()) {
+            String routingKey = topology.retryRoutingKeys().get(retries);
+            properties.setHeader(RETRY_COUNT_HEADER, retries + 1);
+            rabbitTemplate.send(topology.retryExchange(), routingKey, message);
+            log.warn("Message from {} scheduled for retry {} of {} through {}: {}",
+                    topology.queueName(), retries + 1, topology.tiers(), routingKey, failure.getMessage());
+            return OrderPipelineMetrics.MESSAGE_RETRIED;
+        }
+
+        properties.setHeader(RETRY_COUNT_HEADER, retries);
+        properties.setHeader(EXCEPTION_CLASS_HEADER, failure.getClass().getName());
+        properties.setHeader(EXCEPTION_MESSAGE_HEADER, truncate(Objects.toString(failure.getMessage(), ""), MAX_MESSAGE_LENGTH));
+        properties.setHeader(EXCEPTION_STACKTRACE_HEADER, truncate(stackTraceOf(failure), MAX_STACKTRACE_LENGTH));
+        properties.setHeader(FAILED_AT_HEADER, Instant.now().toString());
+        properties.setHeader(ORIGINAL_QUEUE_HEADER, topology.queueName());
+        rabbitTemplate.send("", topology.deadLetterQueue(), message);
+        log.error("Message from {} moved to {} after {} retries: {}", topology.queueName(), topology.deadLetterQueue(),
+                retries, failure.getMessage());
+        return OrderPipelineMetrics.MESSAGE_DEAD_LETTERED;
+    }
+
+    private static int retryCount(MessageProperties properties) {
+        return properties.getHeader(RETRY_COUNT_HEADER) instanceof Number count ? count.intValue() : 0;
+    }
+
+    private static String stackTraceOf(Throwable failure) {
+        StringWriter writer = new StringWriter();
+        failure.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
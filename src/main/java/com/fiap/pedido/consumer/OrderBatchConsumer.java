@@ -0,0 +1,81 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.ProcessOrderUseCase;
+import com.rabbitmq.client.Channel;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "rabbitmq.listener.batch.enabled", havingValue = "true")
+public class OrderBatchConsumer {
+
+    OrderMessageReader orderMessageReader;
+    ProcessOrderUseCase processOrderUseCase;
+    @Qualifier("orderProcessingExecutor")
+    TaskExecutor orderProcessingExecutor;
+    FailedMessageRouter failedMessageRouter;
+    OrderPipelineMetrics metrics;
+
+    @RabbitListener(queues = "${rabbitmq.queue.name}", containerFactory = "batchOrderListenerContainerFactory")
+    public void receiveOrders(List<Message> messages, Channel channel) throws IOException {
+        log.info("Received a batch of {} order messages", messages.size());
+        List<CompletableFuture<String>> results = messages.stream()
+                .map(message -> CompletableFuture.supplyAsync(() -> process(message), orderProcessingExecutor))
+                .toList();
+
+        // acks are sent from the listener thread only, the channel must not be shared with the processing threads
+        for (int i = 0; i < messages.size(); i++) {
+            long deliveryTag = messages.get(i).getMessageProperties().getDeliveryTag();
+            String result = results.get(i).join();
+            if (OrderPipelineMetrics.MESSAGE_FAILED.equals(result)) {
+                channel.basicNack(deliveryTag, false, true);
+            } else {
+                channel.basicAck(deliveryTag, false);
+            }
+            metrics.recordMessage("batch", result);
+        }
+    }
+
+    /**
+     * Returns the {@code order.messages} result. Failed messages are republished by the {@link FailedMessageRouter}
+     * and then acknowledged; only when that publish fails is the message requeued, so it is never lost.
+     */
+    private String process(Message message) {
+        try {
+            Order order = orderMessageReader.read(message);
+            processOrderUseCase.execute(order);
+            return OrderPipelineMetrics.MESSAGE_PROCESSED;
+        } catch (Exception e) {
+            log.error("Error processing order message with delivery tag {}: {}",
+                    message.getMessageProperties().getDeliveryTag(), e.getMessage(), e);
+            return route(message, e);
+        }
+    }
+
+    private String route(Message message, Exception failure) {
+        try {
+            return failedMessageRouter.route(message, failure);
+        } catch (Exception e) {
+            log.error("Could not reroute order message with delivery tag {}, requeueing it: {}",
+                    message.getMessageProperties().getDeliveryTag(), e.getMessage(), e);
+            return OrderPipelineMetrics.MESSAGE_FAILED;
+        }
+    }
+}
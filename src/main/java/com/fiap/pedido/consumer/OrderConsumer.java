@@ -1,33 +1,48 @@
 package com.fiap.pedido.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
 import com.fiap.pedido.usecase.ProcessOrderUseCase;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 @Component
 @Slf4j
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnExpression("!${rabbitmq.listener.batch.enabled:false} and !${web.reactive.enabled:false}")
 public class OrderConsumer {
 
-    ObjectMapper objectMapper;
+    OrderMessageReader orderMessageReader;
     ProcessOrderUseCase processOrderUseCase;
+    FailedMessageRouter failedMessageRouter;
+    OrderPipelineMetrics metrics;
 
-
+    /**
+     * Failed messages are handed to the {@link FailedMessageRouter} before the delivery is acknowledged; if that
+     * publish fails the exception reaches the container, which puts the message back on the queue.
+     */
     @RabbitListener(queues = "${rabbitmq.queue.name}")
-    public void receiveOrder(String orderMessage) {
-        log.info("Deserializing the order message: {}", orderMessage);
+    public void receiveOrder(Message message) {
+        // the payload is only decoded into a String when it is going to be logged
+        if (log.isDebugEnabled()) {
+            log.debug("Received order message: {}", new String(message.getBody(), StandardCharsets.UTF_8));
+        }
         try {
-            Order order = objectMapper.readValue(orderMessage, Order.class);
+            Order order = orderMessageReader.read(message);
             processOrderUseCase.execute(order);
+            metrics.recordMessage("single", OrderPipelineMetrics.MESSAGE_PROCESSED);
         } catch (Exception e) {
             log.error("Error processing order message: {}", e.getMessage(), e);
+            metrics.recordMessage("single", failedMessageRouter.route(message, e));
         }
     }
 }
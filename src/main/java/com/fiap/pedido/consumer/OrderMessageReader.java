@@ -0,0 +1,34 @@
+package com.fiap.pedido.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fiap.pedido.domain.Order;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Reads an {@link Order} straight from the AMQP body bytes, without decoding the payload into a {@code String}
+ * first. The reader is bound to {@link Order} once and shared, as it is immutable and thread-safe. Deliberately not
+ * a {@code MessageConverter}: the order listeners call it themselves, and the converter Spring Boot wires into the
+ * {@code RabbitTemplate} and the listener containers stays the default one.
+ */
+@Component
+public class OrderMessageReader {
+
+    private final ObjectReader orderReader;
+
+    public OrderMessageReader(ObjectMapper objectMapper) {
+        this.orderReader = objectMapper.readerFor(Order.class);
+    }
+
+    public Order read(Message message) {
+        try {
+            return orderReader.readValue(message.getBody());
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to read order message", e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.domain.OutboxTask;
+import com.fiap.pedido.gateway.OutboxGateway;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.FulfillOrderStepUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Drains the order outbox: claims due tasks in batches, runs them through {@link FulfillOrderStepUseCase} and
+ * reschedules failed ones with exponential backoff until {@code order.outbox.max-attempts} is reached.
+ * <p>
+ * The tasks of a batch may run one after the other, so the lease taken by the claim can run out before the last ones
+ * start. Each task renews its lease right before it runs, and is skipped if another relay claimed it in the meantime:
+ * {@code order.outbox.lease} only has to cover a single step, not the whole batch.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "order.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxGateway outboxGateway;
+    private final FulfillOrderStepUseCase fulfillOrderStepUseCase;
+    private final TaskExecutor orderProcessingExecutor;
+    private final OrderPipelineMetrics metrics;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public OutboxRelay(OutboxGateway outboxGateway,
+                       FulfillOrderStepUseCase fulfillOrderStepUseCase,
+                       @Qualifier("orderProcessingExecutor") TaskExecutor orderProcessingExecutor,
+                       OrderPipelineMetrics metrics,
+                       @Value("${order.outbox.batch-size:100}") int batchSize,
+                       @Value("${order.outbox.lease:1m}") Duration lease,
+                       @Value("${order.outbox.max-attempts:8}") int maxAttempts,
+                       @Value("${order.outbox.initial-backoff:1s}") Duration initialBackoff,
+                       @Value("${order.outbox.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxGateway = outboxGateway;
+        this.fulfillOrderStepUseCase = fulfillOrderStepUseCase;
+        this.orderProcessingExecutor = orderProcessingExecutor;
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Keeps claiming while full batches come back, so a backlog is drained without waiting for the next poll.
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms:500}")
+    public void relay() {
+        List<OutboxTask> tasks;
+        do {
+            tasks = outboxGateway.claim(batchSize, lease);
+            tasks.stream()
+                    .map(task -> CompletableFuture.runAsync(() -> run(task), orderProcessingExecutor))
+                    .toList()
+                    .forEach(CompletableFuture::join);
+        } while (tasks.size() == batchSize);
+    }
+
+    private void run(OutboxTask claimed) {
+        Optional<OutboxTask> leased = renew(claimed);
+        if (leased.isEmpty()) {
+            return;
+        }
+        OutboxTask task = leased.get();
+        String type = task.type().name();
+        try {
+            fulfillOrderStepUseCase.execute(task);
+            metrics.recordOutboxTask(type, OrderPipelineMetrics.TASK_COMPLETED);
+        } catch (Exception e) {
+            int attempts = task.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("Giving up on {} of order {} after {} attempts", type, task.orderId(), attempts, e);
+                abandon(task);
+                metrics.recordOutboxTask(type, OrderPipelineMetrics.TASK_EXHAUSTED);
+                return;
+            }
+            Duration backoff = backoff(attempts);
+            log.warn("{} of order {} failed (attempt {}), retrying in {}: {}",
+                    type, task.orderId(), attempts, backoff, e.getMessage());
+            outboxGateway.reschedule(task.id(), attempts, Instant.now().plus(backoff), e.getMessage());
+            metrics.recordOutboxTask(type, OrderPipelineMetrics.TASK_RETRIED);
+        }
+    }
+
+    private Optional<OutboxTask> renew(OutboxTask task) {
+        try {
+            Optional<OutboxTask> leased = outboxGateway.renew(task, lease);
+            if (leased.isEmpty()) {
+                log.warn("Skipping {} of order {}: its lease expired and another relay claimed it",
+                        task.type(), task.orderId());
+            }
+            return leased;
+        } catch (Exception e) {
+            // the task becomes due again once its lease expires
+            log.warn("Could not renew the lease of {} of order {}: {}", task.type(), task.orderId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void abandon(OutboxTask task) {
+        try {
+            fulfillOrderStepUseCase.abandon(task);
+        } catch (Exception e) {
+            // the task becomes due again once its lease expires
+            log.error("Failed to abandon {} of order {}", task.type(), task.orderId(), e);
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,71 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderCursor;
+import com.fiap.pedido.domain.OrderPage;
+import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.usecase.ReconcilePaymentsUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Closes orders whose payment callback never arrived: pages through the orders still waiting on a payment for longer
+ * than {@code order.payment-reconciliation.stale-after} and reconciles each page with {@link ReconcilePaymentsUseCase}.
+ * Off unless enabled explicitly: the payment service has no batch status endpoint yet, and the local stand-in behind
+ * {@link com.fiap.pedido.gateway.PaymentGateway#retrievePaymentStatuses} answers with simulated statuses.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "order.payment-reconciliation.enabled", havingValue = "true")
+public class PaymentReconciler {
+
+    private final OrderGateway orderGateway;
+    private final ReconcilePaymentsUseCase reconcilePaymentsUseCase;
+    private final int pageSize;
+    private final Duration staleAfter;
+
+    public PaymentReconciler(OrderGateway orderGateway,
+                             ReconcilePaymentsUseCase reconcilePaymentsUseCase,
+                             @Value("${order.payment-reconciliation.page-size:200}") int pageSize,
+                             @Value("${order.payment-reconciliation.stale-after:5m}") Duration staleAfter) {
+        this.orderGateway = orderGateway;
+        this.reconcilePaymentsUseCase = reconcilePaymentsUseCase;
+        this.pageSize = pageSize;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Walks the pages by cursor rather than re-reading the first one, so payments that are still unsettled do not
+     * keep the run from reaching the rest. A failing page ends the run; the next one starts over.
+     */
+    @Scheduled(fixedDelayString = "${order.payment-reconciliation.interval-ms:60000}",
+            initialDelayString = "${order.payment-reconciliation.interval-ms:60000}")
+    public void reconcile() {
+        Instant createdBefore = Instant.now().minus(staleAfter);
+        OrderCursor cursor = null;
+        int closed = 0;
+        do {
+            OrderPage page = orderGateway.findPendingPayments(createdBefore, cursor, pageSize);
+            List<UUID> paymentIds = page.orders().stream().map(Order::getPaymentId).toList();
+            try {
+                closed += reconcilePaymentsUseCase.execute(paymentIds).closed();
+            } catch (Exception e) {
+                log.warn("Payment reconciliation stopped after closing {} orders: {}", closed, e.getMessage());
+                return;
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        if (closed > 0) {
+            log.info("Payment reconciliation closed {} orders", closed);
+        }
+    }
+}
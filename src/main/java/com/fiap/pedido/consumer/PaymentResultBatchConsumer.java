@@ -0,0 +1,124 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.exception.PaymentNotSettledException;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.ReconcilePaymentsUseCase;
+import com.rabbitmq.client.Channel;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Closes the orders of the payment results queued by {@code POST /payments/{id}}, a whole batch at a time through
+ * {@link ReconcilePaymentsUseCase}: one status request and one transaction per batch instead of per payment.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PaymentResultBatchConsumer {
+
+    static final String LISTENER = "payment-result";
+
+    ReconcilePaymentsUseCase reconcilePaymentsUseCase;
+    @Qualifier("paymentResultMessageRouter")
+    FailedMessageRouter failedMessageRouter;
+    OrderPipelineMetrics metrics;
+
+    /**
+     * Messages without a valid payment id are rejected to the dead-letter queue on their own. The others are acked
+     * once their order is closed, or handed to the {@link FailedMessageRouter}, so they are retried after the delay of
+     * the next retry tier instead of being redelivered at once:
+     * <ul>
+     *     <li>the whole batch when closing its orders fails (nothing was committed, and orders already closed are
+     *     skipped on the retry);</li>
+     *     <li>the results of payments the payment service has not settled yet, which would otherwise be acked with
+     *     their order still open.</li>
+     * </ul>
+     */
+    @RabbitListener(queues = "${rabbitmq.payment-queue.name}",
+            containerFactory = "paymentResultListenerContainerFactory")
+    public void receivePaymentResults(List<Message> messages, Channel channel) throws IOException {
+        List<PaymentResult> accepted = new ArrayList<>(messages.size());
+        Set<UUID> paymentIds = new LinkedHashSet<>();
+        for (Message message : messages) {
+            UUID paymentId = paymentIdOf(message);
+            if (paymentId == null) {
+                channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, false);
+                metrics.recordMessage(LISTENER, OrderPipelineMetrics.MESSAGE_DEAD_LETTERED);
+                continue;
+            }
+            accepted.add(new PaymentResult(message, paymentId));
+            paymentIds.add(paymentId);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Optional<Exception> batchFailure = Optional.empty();
+        Set<UUID> unsettled = Set.of();
+        try {
+            unsettled = reconcilePaymentsUseCase.execute(paymentIds).unsettled();
+        } catch (Exception e) {
+            log.error("Could not close the orders of {} payments: {}", paymentIds.size(), e.getMessage(), e);
+            batchFailure = Optional.of(e);
+        }
+
+        for (PaymentResult result : accepted) {
+            Optional<Exception> failure = batchFailure.isEmpty() && unsettled.contains(result.paymentId())
+                    ? Optional.of(new PaymentNotSettledException("Payment " + result.paymentId() + " is not settled"))
+                    : batchFailure;
+            String outcome = failure
+                    .map(e -> route(result.message(), e))
+                    .orElse(OrderPipelineMetrics.MESSAGE_PROCESSED);
+            long deliveryTag = result.message().getMessageProperties().getDeliveryTag();
+            if (OrderPipelineMetrics.MESSAGE_FAILED.equals(outcome)) {
+                channel.basicNack(deliveryTag, false, true);
+            } else {
+                channel.basicAck(deliveryTag, false);
+            }
+            metrics.recordMessage(LISTENER, outcome);
+        }
+    }
+
+    /**
+     * Only when republishing fails is the message requeued, so it is never lost.
+     */
+    private String route(Message message, Exception failure) {
+        try {
+            return failedMessageRouter.route(message, failure);
+        } catch (Exception e) {
+            log.error("Could not reroute payment result message with delivery tag {}, requeueing it: {}",
+                    message.getMessageProperties().getDeliveryTag(), e.getMessage(), e);
+            return OrderPipelineMetrics.MESSAGE_FAILED;
+        }
+    }
+
+    private static UUID paymentIdOf(Message message) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8).trim();
+        try {
+            return UUID.fromString(body);
+        } catch (IllegalArgumentException e) {
+            log.error("Rejecting payment result message with delivery tag {}: invalid payment id '{}'",
+                    message.getMessageProperties().getDeliveryTag(), body);
+            return null;
+        }
+    }
+
+    private record PaymentResult(Message message, UUID paymentId) {
+    }
+}
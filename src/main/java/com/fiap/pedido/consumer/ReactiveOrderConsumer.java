@@ -0,0 +1,50 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.reactive.ReactiveProcessOrderUseCase;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Order listener of the reactive mode. The listener thread only starts the pipeline; the message is acknowledged
+ * when the returned {@link Mono} completes, so up to the prefetch count of orders are in flight per consumer while
+ * their service calls share a few event-loop threads.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnExpression("${web.reactive.enabled:false} and !${rabbitmq.listener.batch.enabled:false}")
+public class ReactiveOrderConsumer {
+
+    OrderMessageReader orderMessageReader;
+    ReactiveProcessOrderUseCase processOrderUseCase;
+    FailedMessageRouter failedMessageRouter;
+    OrderPipelineMetrics metrics;
+
+    /**
+     * Failed messages are rerouted like in {@link OrderConsumer}; if that publish fails the returned {@link Mono}
+     * fails and the container requeues the message.
+     */
+    @RabbitListener(queues = "${rabbitmq.queue.name}", containerFactory = "reactiveOrderListenerContainerFactory")
+    public Mono<Void> receiveOrder(Message message) {
+        return Mono.fromCallable(() -> orderMessageReader.read(message))
+                .flatMap(processOrderUseCase::execute)
+                .doOnSuccess(ignored -> metrics.recordMessage("reactive", OrderPipelineMetrics.MESSAGE_PROCESSED))
+                .onErrorResume(Exception.class, e -> {
+                    log.error("Error processing order message: {}", e.getMessage(), e);
+                    return Mono.fromCallable(() -> failedMessageRouter.route(message, e))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .doOnNext(result -> metrics.recordMessage("reactive", result))
+                            .then();
+                });
+    }
+}
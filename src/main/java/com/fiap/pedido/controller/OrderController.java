@@ -1,19 +1,33 @@
 package com.fiap.pedido.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fiap.pedido.controller.json.OrderDTO;
+import com.fiap.pedido.controller.json.OrderPageDTO;
+import com.fiap.pedido.domain.OrderCursor;
+import com.fiap.pedido.domain.OrderFilter;
+import com.fiap.pedido.domain.OrderPage;
 import com.fiap.pedido.mapper.OrderMapper;
+import com.fiap.pedido.usecase.ExportOrdersUseCase;
 import com.fiap.pedido.usecase.RetrieveAllOrdersUseCase;
 import com.fiap.pedido.usecase.RetrieveOrderByIdUseCase;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.UUID;
 
 @RestController
@@ -24,13 +38,45 @@ public class OrderController {
 
     RetrieveAllOrdersUseCase retrieveAllOrdersUseCase;
     RetrieveOrderByIdUseCase retrieveOrderByIdUseCase;
+    ExportOrdersUseCase exportOrdersUseCase;
     OrderMapper mapper;
+    ObjectMapper objectMapper;
 
+    /**
+     * One page of orders, oldest first. Filters: {@code status}, {@code customerId}, {@code from} and {@code to}
+     * (ISO-8601 instants). Pass the returned {@code nextCursor} as {@code cursor} to read the following page.
+     */
     @GetMapping
-    public ResponseEntity<List<OrderDTO>> getAllOrders() {
-        return ResponseEntity.ok(
-                retrieveAllOrdersUseCase.execute().stream().map(mapper::mapToOrderDTO).toList()
-        );
+    public ResponseEntity<OrderPageDTO> getAllOrders(OrderFilter filter,
+                                                     @RequestParam(name = "cursor", required = false) String cursor,
+                                                     @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        OrderCursor after = cursor != null ? OrderCursor.decode(cursor) : null;
+        OrderPage page = retrieveAllOrdersUseCase.execute(filter, after, limit);
+        return ResponseEntity.ok(new OrderPageDTO(
+                page.orders().stream().map(mapper::mapToOrderDTO).toList(),
+                page.nextCursor() != null ? page.nextCursor().encode() : null
+        ));
+    }
+
+    /**
+     * Selected with {@code Accept: application/x-ndjson}: every matching order as newline-delimited JSON, written while rows are read from the database.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(OrderFilter filter) {
+        ObjectWriter writer = objectMapper.writerFor(OrderDTO.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = responseStream -> {
+            OutputStream out = new BufferedOutputStream(responseStream);
+            exportOrdersUseCase.execute(filter, order -> {
+                try {
+                    writer.writeValue(out, mapper.mapToOrderDTO(order));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -1,6 +1,6 @@
 package com.fiap.pedido.controller;
 
-import com.fiap.pedido.usecase.ProcessOrderPaymentUseCase;
+import com.fiap.pedido.usecase.EnqueuePaymentResultUseCase;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -18,12 +18,15 @@ import java.util.UUID;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class PaymentController {
 
-    ProcessOrderPaymentUseCase processOrderPaymentUseCase;
+    EnqueuePaymentResultUseCase enqueuePaymentResultUseCase;
 
+    /**
+     * The order is closed asynchronously, together with the other payments of its batch.
+     */
     @PostMapping("{id}")
     public ResponseEntity<Void> processPayment(@PathVariable("id") UUID paymentId) {
-        processOrderPaymentUseCase.execute(paymentId);
-        return ResponseEntity.ok().build();
+        enqueuePaymentResultUseCase.execute(paymentId);
+        return ResponseEntity.accepted().build();
     }
 
 }
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,5 +24,6 @@ public class OrderDTO implements Serializable {
     PaymentDTO payment;
     OrderStatus status;
     List<ItemDTO> items;
+    Instant createdAt;
 
 }
@@ -0,0 +1,22 @@
+package com.fiap.pedido.controller.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderPageDTO implements Serializable {
+
+    List<OrderDTO> items;
+    String nextCursor;
+
+}
@@ -5,6 +5,7 @@ import lombok.experimental.FieldDefaults;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,5 +26,6 @@ public class Order implements Serializable {
     UUID paymentId;
     PaymentStatus paymentStatus;
     BigDecimal paymentAmount;
+    Instant createdAt;
 
 }
@@ -0,0 +1,15 @@
+package com.fiap.pedido.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Optional criteria for listing orders; null fields are not applied. {@code from} is inclusive and {@code to} is
+ * exclusive.
+ */
+public record OrderFilter(OrderStatus status, UUID customerId, Instant from, Instant to) {
+
+    public static OrderFilter none() {
+        return new OrderFilter(null, null, null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.fiap.pedido.domain;
+
+import java.util.List;
+
+/**
+ * One page of orders; {@code nextCursor} is null on the last page.
+ */
+public record OrderPage(List<Order> orders, OrderCursor nextCursor) {
+}
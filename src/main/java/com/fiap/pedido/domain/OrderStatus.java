@@ -1,5 +1,12 @@
 package com.fiap.pedido.domain;
 
 public enum OrderStatus {
-    ABERTO, FECHADO_COM_SUCESSO, FECHADO_SEM_ESTOQUE, FECHADO_SEM_CREDITO, CANCELADO
+    ABERTO, FECHADO_COM_SUCESSO, FECHADO_SEM_ESTOQUE, FECHADO_SEM_CREDITO, CANCELADO;
+
+    /**
+     * Status an open order is closed with once its payment ends in {@code paymentStatus}.
+     */
+    public static OrderStatus closedBy(PaymentStatus paymentStatus) {
+        return PaymentStatus.FAILED.equals(paymentStatus) ? FECHADO_SEM_CREDITO : FECHADO_COM_SUCESSO;
+    }
 }
@@ -0,0 +1,11 @@
+package com.fiap.pedido.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Pending downstream step of an order, see {@link OutboxTaskType}. {@code attempts} counts the failed runs so far;
+ * {@code leasedUntil} is the end of the lease this copy of the task was claimed or renewed with.
+ */
+public record OutboxTask(UUID id, UUID orderId, OutboxTaskType type, int attempts, Instant leasedUntil) {
+}
@@ -0,0 +1,8 @@
+package com.fiap.pedido.domain;
+
+/**
+ * Downstream steps of an order, in the order they run.
+ */
+public enum OutboxTaskType {
+    DEDUCT_STOCK, INIT_PAYMENT
+}
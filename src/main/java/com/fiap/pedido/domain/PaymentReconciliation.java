@@ -0,0 +1,15 @@
+package com.fiap.pedido.domain;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Outcome of reconciling a set of payments: how many orders were closed, and the payments the payment service has
+ * not settled yet (or did not report), whose orders are still open.
+ */
+public record PaymentReconciliation(int closed, Set<UUID> unsettled) {
+
+    public static PaymentReconciliation none() {
+        return new PaymentReconciliation(0, Set.of());
+    }
+}
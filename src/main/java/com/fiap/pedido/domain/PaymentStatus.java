@@ -1,5 +1,9 @@
 package com.fiap.pedido.domain;
 
 public enum PaymentStatus {
-    PENDING, IN_PROGRESS, COMPLETED, FAILED
+    PENDING, IN_PROGRESS, COMPLETED, FAILED;
+
+    public boolean isSettled() {
+        return this == COMPLETED || this == FAILED;
+    }
 }
@@ -0,0 +1,10 @@
+package com.fiap.pedido.exception;
+
+/**
+ * The payment service has not settled the payment yet, so its order cannot be closed now but can be later.
+ */
+public class PaymentNotSettledException extends RuntimeException {
+    public PaymentNotSettledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.fiap.pedido.exception;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tells failures worth retrying later (a service or the database is unavailable, slow, throttling or behind an
+ * open circuit, a local pool is saturated, or a payment is not settled yet) from permanent ones (invalid order,
+ * unknown customer or product), looking through the whole cause chain.
+ */
+public final class TransientFailures {
+
+    private TransientFailures() {
+    }
+
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OrderException) {
+                return false;
+            }
+            if (cause instanceof HttpServerErrorException
+                    || cause instanceof HttpClientErrorException.TooManyRequests
+                    || cause instanceof ResourceAccessException
+                    || cause instanceof WebClientRequestException
+                    || cause instanceof WebClientResponseException response && isRetryableStatus(response)
+                    || cause instanceof TimeoutException
+                    || cause instanceof RejectedExecutionException
+                    || cause instanceof PaymentNotSettledException
+                    || cause instanceof CallNotPermittedException
+                    || cause instanceof BulkheadFullException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRetryableStatus(WebClientResponseException response) {
+        return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+    }
+}
@@ -1,17 +1,62 @@
 package com.fiap.pedido.gateway;
 
 import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderCursor;
+import com.fiap.pedido.domain.OrderFilter;
+import com.fiap.pedido.domain.OrderPage;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.PaymentStatus;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface OrderGateway {
+    /**
+     * Inserts a new order with a single insert. When an order with the same id already exists, or is inserted
+     * concurrently, the insert fails with a {@link org.springframework.dao.DataIntegrityViolationException} and the
+     * surrounding transaction is rolled back.
+     */
+    Optional<Order> create(Order order);
+
     Optional<Order> save(Order order);
 
+    boolean exists(UUID orderId);
+
+    /**
+     * Hands the id of every stored order to {@code action} as it is read, without holding them in memory.
+     */
+    void forEachOrderId(Consumer<UUID> action);
+
     Optional<Order> findOrderByOrderId(UUID orderId);
     Optional<Order> findOrderByPaymentId(UUID orderId);
 
-    List<Order> findAll();
+    /**
+     * Closes the still pending orders of the settled payments in {@code paymentStatuses}, each with the status
+     * matching its payment, in one transaction: a single locking select by payment id and one update per resulting
+     * status. Orders already closed, or being closed concurrently, are skipped. Returns the orders this call closed.
+     */
+    List<Order> closePendingPayments(Map<UUID, PaymentStatus> paymentStatuses);
+
+    /**
+     * Returns up to {@code limit} orders created before {@code createdBefore} that are still {@link OrderStatus#ABERTO}
+     * with a payment {@link PaymentStatus#IN_PROGRESS}, following {@code after} (or from the start when null), oldest
+     * first.
+     */
+    OrderPage findPendingPayments(Instant createdBefore, OrderCursor after, int limit);
+
+    /**
+     * Returns up to {@code limit} orders following {@code after} (or from the start when null), oldest first.
+     */
+    OrderPage findAll(OrderFilter filter, OrderCursor after, int limit);
+
+    /**
+     * Hands every matching order to {@code action} as it is read, without holding the result set in memory.
+     * Must be called inside a transaction.
+     */
+    void forEach(OrderFilter filter, Consumer<Order> action);
 
 }
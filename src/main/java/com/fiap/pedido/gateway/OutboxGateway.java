@@ -0,0 +1,39 @@
+package com.fiap.pedido.gateway;
+
+import com.fiap.pedido.domain.OutboxTask;
+import com.fiap.pedido.domain.OutboxTaskType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OutboxGateway {
+
+    /**
+     * Adds a task due immediately. Joins the caller's transaction, so the task is only visible if the caller commits.
+     */
+    void enqueue(UUID orderId, OutboxTaskType type);
+
+    /**
+     * Claims up to {@code limit} due tasks by pushing them {@code lease} into the future. A task that is neither
+     * advanced, completed nor rescheduled within the lease (the relay died) becomes due again.
+     */
+    List<OutboxTask> claim(int limit, Duration lease);
+
+    /**
+     * Pushes the lease of a claimed task to {@code lease} from now, only if the task still holds the lease it was
+     * claimed with. Empty when it does not: the lease expired and another relay claimed the task, or it is done.
+     */
+    Optional<OutboxTask> renew(OutboxTask task, Duration lease);
+
+    /**
+     * Replaces the task by the next step of the same order in a single statement.
+     */
+    void advance(UUID taskId, OutboxTaskType next);
+
+    void reschedule(UUID taskId, int attempts, Instant nextAttemptAt, String lastError);
+
+    void complete(UUID taskId);
+}
@@ -3,6 +3,8 @@ package com.fiap.pedido.gateway;
 import com.fiap.pedido.domain.Order;
 import com.fiap.pedido.domain.PaymentStatus;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +13,9 @@ public interface PaymentGateway {
     Optional<UUID> processPayment(Order order);
 
     PaymentStatus retrievePaymentStatus(UUID paymentId);
+
+    /**
+     * Statuses of several payments in a single call. Payments the payment service does not know are left out.
+     */
+    Map<UUID, PaymentStatus> retrievePaymentStatuses(Collection<UUID> paymentIds);
 }
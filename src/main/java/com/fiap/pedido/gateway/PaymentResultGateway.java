@@ -0,0 +1,11 @@
+package com.fiap.pedido.gateway;
+
+import java.util.UUID;
+
+public interface PaymentResultGateway {
+
+    /**
+     * Queues the payment for a batched close of its order. Returns once the broker holds the message.
+     */
+    void enqueue(UUID paymentId);
+}
@@ -0,0 +1,11 @@
+package com.fiap.pedido.gateway;
+
+import com.fiap.pedido.domain.Customer;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveCustomerGateway {
+
+    Mono<Customer> findById(UUID customerId);
+}
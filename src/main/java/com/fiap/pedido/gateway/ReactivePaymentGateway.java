@@ -0,0 +1,18 @@
+package com.fiap.pedido.gateway;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.PaymentStatus;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ReactivePaymentGateway {
+
+    Mono<UUID> processPayment(Order order);
+
+    Mono<PaymentStatus> retrievePaymentStatus(UUID paymentId);
+
+    Mono<Map<UUID, PaymentStatus>> retrievePaymentStatuses(Collection<UUID> paymentIds);
+}
@@ -0,0 +1,10 @@
+package com.fiap.pedido.gateway;
+
+import com.fiap.pedido.domain.Product;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveProductGateway {
+    Mono<List<Product>> findAllProductsBySkus(List<String> skus);
+}
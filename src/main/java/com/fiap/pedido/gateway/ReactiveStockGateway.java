@@ -0,0 +1,12 @@
+package com.fiap.pedido.gateway;
+
+import com.fiap.pedido.domain.Item;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ReactiveStockGateway {
+    Mono<Void> deductStock(UUID orderId, List<Item> items);
+    Mono<Void> returnStock(List<Item> items);
+}
@@ -3,8 +3,14 @@ package com.fiap.pedido.gateway;
 import com.fiap.pedido.domain.Item;
 
 import java.util.List;
+import java.util.UUID;
 
 public interface StockGateway {
-    void deductStock(List<Item> items);
+
+    /**
+     * Keyed by the order id, so the outbox relay can repeat a deduction whose outcome is unknown.
+     */
+    void deductStock(UUID orderId, List<Item> items);
+
     void returnStock(List<Item> items);
 }
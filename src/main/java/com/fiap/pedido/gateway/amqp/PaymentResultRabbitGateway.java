@@ -0,0 +1,29 @@
+package com.fiap.pedido.gateway.amqp;
+
+import com.fiap.pedido.gateway.PaymentResultGateway;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Publishes payment ids to the payment result queue as plain text bodies, through the template's default converter.
+ */
+@Component
+public class PaymentResultRabbitGateway implements PaymentResultGateway {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String queueName;
+
+    public PaymentResultRabbitGateway(RabbitTemplate rabbitTemplate,
+                                      @Value("${rabbitmq.payment-queue.name}") String queueName) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.queueName = queueName;
+    }
+
+    @Override
+    public void enqueue(UUID paymentId) {
+        rabbitTemplate.convertAndSend("", queueName, paymentId.toString());
+    }
+}
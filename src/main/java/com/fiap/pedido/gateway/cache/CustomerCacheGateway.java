@@ -0,0 +1,48 @@
+package com.fiap.pedido.gateway.cache;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.domain.Customer;
+import com.fiap.pedido.gateway.CustomerGateway;
+import com.fiap.pedido.gateway.web.CustomerWebClientGateway;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps recently used customers in memory in front of the customer service. Unknown customers are not cached.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "web.client.fiap-cliente-service.cache.enabled", havingValue = "true")
+public class CustomerCacheGateway implements CustomerGateway {
+
+    private final LoadingCache<UUID, Customer> customers;
+
+    public CustomerCacheGateway(CustomerWebClientGateway customerWebClientGateway,
+                                WebClientProperties webClientProperties,
+                                MeterRegistry meterRegistry) {
+        WebClientProperties.Cache cache = webClientProperties.client(HttpClientConfiguration.CUSTOMER_SERVICE).getCache();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(cache.getMaxSize())
+                .expireAfterWrite(cache.getTtl())
+                .recordStats();
+        if (cache.getRefreshAfter() != null) {
+            builder.refreshAfterWrite(cache.getRefreshAfter());
+        }
+        this.customers = builder.build(customerId -> customerWebClientGateway.findById(customerId).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, customers, "customers");
+    }
+
+    @Override
+    public Optional<Customer> findById(UUID customerId) {
+        return Optional.ofNullable(customers.get(customerId));
+    }
+}
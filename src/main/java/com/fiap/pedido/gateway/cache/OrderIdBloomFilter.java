@@ -0,0 +1,73 @@
+package com.fiap.pedido.gateway.cache;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter of order ids. {@link #mightContain} never answers false for an id that was added, and
+ * answers true for an id that was not with about the configured probability while the filter holds no more than the
+ * expected number of ids. Bits are only ever set, so it is safe to use from any thread without locking.
+ */
+final class OrderIdBloomFilter {
+
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    OrderIdBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long insertions = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = (int) Math.clamp(Math.round((double) bitCount / insertions * ln2), 1, MAX_HASHES);
+    }
+
+    void add(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(id, h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.accumulateAndGet(word, mask, (current, added) -> current | added);
+            }
+        }
+    }
+
+    boolean mightContain(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(id, h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // both halves are mixed in: time-ordered ids share most of their high bits
+    private static long hash1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+    }
+
+    private static long hash2(UUID id, long hash1) {
+        // odd, so the probe sequence does not collapse onto a few bits
+        return mix(hash1 ^ id.getLeastSignificantBits()) | 1;
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
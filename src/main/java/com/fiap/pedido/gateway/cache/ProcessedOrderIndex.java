@@ -0,0 +1,108 @@
+package com.fiap.pedido.gateway.cache;
+
+import com.fiap.pedido.gateway.OrderGateway;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tells whether an order id was already taken from the queue. The orders primary key is the durable record; two
+ * in-memory fronts answer most lookups without a query:
+ * <ul>
+ *     <li>a Bloom filter of every stored id, loaded once the application is ready and kept up to date with the
+ *     orders processed here, answers "definitely new" for a new order;</li>
+ *     <li>a bounded set of known ids answers redeliveries of recent orders.</li>
+ * </ul>
+ * Only ids the filter might contain are looked up in the database. The filter does not see orders stored by other
+ * instances after it was loaded: such a redelivery is processed again and then rejected by the primary key on
+ * insert, which callers confirm with {@link #isStored}.
+ */
+@Slf4j
+@Component
+public class ProcessedOrderIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final OrderGateway orderGateway;
+    private final Cache<UUID, Boolean> processedOrders;
+    private final OrderIdBloomFilter knownOrderIds;
+    private volatile boolean loaded;
+
+    public ProcessedOrderIndex(OrderGateway orderGateway,
+                               @Value("${order.idempotency.cache-size:100000}") long cacheSize,
+                               @Value("${order.idempotency.expected-orders:1000000}") long expectedOrders,
+                               MeterRegistry meterRegistry) {
+        this.orderGateway = orderGateway;
+        this.processedOrders = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        this.knownOrderIds = new OrderIdBloomFilter(expectedOrders, FALSE_POSITIVE_RATE);
+        CaffeineCacheMetrics.monitor(meterRegistry, processedOrders, "processed-orders");
+    }
+
+    /**
+     * Loads the ids of the stored orders into the filter. Until it is done, and if it fails, every id the recent set
+     * does not know is looked up in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            AtomicLong count = new AtomicLong();
+            orderGateway.forEachOrderId(orderId -> {
+                knownOrderIds.add(orderId);
+                count.incrementAndGet();
+            });
+            loaded = true;
+            log.info("Loaded {} order ids into the processed-order filter", count.get());
+        } catch (RuntimeException e) {
+            log.warn("Could not load the processed-order filter, checking every order in the database: {}",
+                    e.getMessage());
+        }
+    }
+
+    public boolean isProcessed(UUID orderId) {
+        if (orderId == null) {
+            return false;
+        }
+        if (processedOrders.getIfPresent(orderId) != null) {
+            return true;
+        }
+        if (loaded && !knownOrderIds.mightContain(orderId)) {
+            return false;
+        }
+        return isStored(orderId);
+    }
+
+    /**
+     * Asks the database, whatever the filter says. Used after an insert failed on the primary key, to tell an order
+     * stored by a concurrent delivery from any other integrity violation.
+     */
+    public boolean isStored(UUID orderId) {
+        if (orderId == null) {
+            return false;
+        }
+        boolean exists = orderGateway.exists(orderId);
+        if (exists) {
+            markProcessed(orderId);
+        }
+        return exists;
+    }
+
+    /**
+     * Records an order id once its order row is committed.
+     */
+    public void markProcessed(UUID orderId) {
+        knownOrderIds.add(orderId);
+        processedOrders.put(orderId, Boolean.TRUE);
+    }
+}
@@ -0,0 +1,36 @@
+package com.fiap.pedido.gateway.cache;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code DELETE /actuator/productcache} drops every cached product and {@code DELETE /actuator/productcache/{sku}}
+ * a single one, e.g. after a price change in the product service.
+ */
+@Component
+@Endpoint(id = "productcache")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "web.client.fiap-produto-service.cache.enabled", havingValue = "true")
+public class ProductCacheEndpoint {
+
+    ProductCacheGateway productCacheGateway;
+
+    @DeleteOperation
+    public void invalidateAll() {
+        productCacheGateway.invalidateAll();
+    }
+
+    @DeleteOperation
+    public void invalidate(@Selector String sku) {
+        productCacheGateway.invalidate(List.of(sku));
+    }
+}
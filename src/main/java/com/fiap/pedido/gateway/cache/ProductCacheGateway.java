@@ -0,0 +1,77 @@
+package com.fiap.pedido.gateway.cache;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.domain.Product;
+import com.fiap.pedido.gateway.ProductGateway;
+import com.fiap.pedido.gateway.web.ProductWebClientGateway;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps products in memory by SKU in front of the product service. Only the SKUs missing from the cache are
+ * requested, in a single call, and unknown SKUs are not cached.
+ */
+@Component
+@Primary
+@Slf4j
+@ConditionalOnProperty(name = "web.client.fiap-produto-service.cache.enabled", havingValue = "true")
+public class ProductCacheGateway implements ProductGateway {
+
+    private final ProductWebClientGateway productWebClientGateway;
+    private final Cache<String, Product> products;
+
+    public ProductCacheGateway(ProductWebClientGateway productWebClientGateway,
+                               WebClientProperties webClientProperties,
+                               MeterRegistry meterRegistry) {
+        this.productWebClientGateway = productWebClientGateway;
+        WebClientProperties.Cache cache = webClientProperties.client(HttpClientConfiguration.PRODUCT_SERVICE).getCache();
+        this.products = Caffeine.newBuilder()
+                .maximumSize(cache.getMaxSize())
+                .expireAfterWrite(cache.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "products");
+    }
+
+    @Override
+    public List<Product> findAllProductsBySkus(List<String> skus) {
+        Set<String> requestedSkus = new LinkedHashSet<>(skus);
+        Map<String, Product> found = new HashMap<>(products.getAllPresent(requestedSkus));
+
+        List<String> missingSkus = requestedSkus.stream().filter(sku -> !found.containsKey(sku)).toList();
+        if (!missingSkus.isEmpty()) {
+            log.debug("Product cache miss for skus {}", missingSkus);
+            productWebClientGateway.findAllProductsBySkus(missingSkus).forEach(product -> {
+                products.put(product.getSku(), product);
+                found.put(product.getSku(), product);
+            });
+        }
+
+        return requestedSkus.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    public void invalidate(Collection<String> skus) {
+        log.info("Invalidating cached products {}", skus);
+        products.invalidateAll(skus);
+    }
+
+    public void invalidateAll() {
+        log.info("Invalidating all cached products");
+        products.invalidateAll();
+    }
+}
@@ -1,30 +1,105 @@
 package com.fiap.pedido.gateway.database.jpa;
 
 import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderCursor;
+import com.fiap.pedido.domain.OrderFilter;
+import com.fiap.pedido.domain.OrderPage;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.PaymentStatus;
 import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderEntity;
 import com.fiap.pedido.gateway.database.jpa.repository.OrderRepository;
+import com.fiap.pedido.gateway.database.jpa.repository.OrderSpecifications;
 import com.fiap.pedido.mapper.OrderMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class OrderJpaGateway implements OrderGateway {
 
+    private static final int STREAM_FETCH_SIZE = 500;
+
     OrderRepository orderRepository;
     OrderMapper orderMapper;
+    EntityManager entityManager;
 
     @Override
+    public Optional<Order> create(Order order) {
+        // persist instead of save: a merge would first select the order. No existence check either: the primary key
+        // is the duplicate check, so a new order costs the insert alone
+        OrderEntity orderEntity = orderMapper.map(order);
+        try {
+            entityManager.persist(orderEntity);
+            // an order that already exists, or is being inserted concurrently, fails here rather than at commit
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            throw translate(order, e);
+        }
+        return Optional.of(orderMapper.map(orderEntity));
+    }
+
+    /**
+     * The failed flush has already marked the transaction rollback-only, so a duplicate cannot be answered with an
+     * empty result here: it is surfaced as a {@link DataIntegrityViolationException} for the caller to handle once the
+     * transaction is rolled back.
+     */
+    private static RuntimeException translate(Order order, PersistenceException failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                return new DataIntegrityViolationException("Order " + order.getOrderId() + " already exists",
+                        failure);
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * Updates the managed entity instead of merging a freshly mapped one, so Hibernate's dirty checking only writes
+     * the changed columns and item rows. A status change touches the orders row alone.
+     */
+    @Override
+    @Transactional
     public Optional<Order> save(Order order) {
-        return Optional.of(orderRepository.save(orderMapper.map(order)))
-                .map(orderMapper::map);
+        OrderEntity orderEntity = orderRepository.findByOrderId(order.getOrderId())
+                .map(managed -> {
+                    orderMapper.update(order, managed);
+                    return managed;
+                })
+                .orElseGet(() -> orderRepository.save(orderMapper.map(order)));
+        return Optional.of(orderMapper.map(orderEntity));
+    }
+
+    @Override
+    public boolean exists(UUID orderId) {
+        return orderRepository.existsById(orderId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachOrderId(Consumer<UUID> action) {
+        try (Stream<UUID> orderIds = orderRepository.streamOrderIds()) {
+            orderIds.forEach(action);
+        }
     }
 
     @Override
@@ -39,8 +114,87 @@ public class OrderJpaGateway implements OrderGateway {
     }
 
     @Override
-    public List<Order> findAll() {
-        return orderRepository.findAll().stream().map(orderMapper::map).toList();
+    @Transactional
+    public List<Order> closePendingPayments(Map<UUID, PaymentStatus> paymentStatuses) {
+        if (paymentStatuses.isEmpty()) {
+            return List.of();
+        }
+        // mapped (items included) before the updates, which detach the locked entities
+        List<Order> orders = orderRepository.findByPaymentIdInAndStatusAndPaymentStatus(paymentStatuses.keySet(),
+                        OrderStatus.ABERTO.name(), PaymentStatus.IN_PROGRESS.name())
+                .stream()
+                .map(orderMapper::map)
+                .toList();
+        orders.forEach(order -> {
+            PaymentStatus paymentStatus = paymentStatuses.get(order.getPaymentId());
+            order.setPaymentStatus(paymentStatus);
+            order.setStatus(OrderStatus.closedBy(paymentStatus));
+        });
+
+        orders.stream()
+                .collect(Collectors.groupingBy(Order::getPaymentStatus,
+                        Collectors.mapping(Order::getOrderId, Collectors.toList())))
+                .forEach((paymentStatus, orderIds) -> orderRepository.updateStatusByOrderIds(orderIds,
+                        OrderStatus.closedBy(paymentStatus).name(), paymentStatus.name()));
+        return orders;
+    }
+
+    @Override
+    public OrderPage findPendingPayments(Instant createdBefore, OrderCursor after, int limit) {
+        Specification<OrderEntity> specification = OrderSpecifications
+                .matching(new OrderFilter(OrderStatus.ABERTO, null, null, createdBefore))
+                .and(OrderSpecifications.withPaymentStatus(PaymentStatus.IN_PROGRESS));
+        return page(specification, after, limit);
+    }
+
+    @Override
+    public OrderPage findAll(OrderFilter filter, OrderCursor after, int limit) {
+        return page(OrderSpecifications.matching(filter), after, limit);
+    }
+
+    private OrderPage page(Specification<OrderEntity> specification, OrderCursor after, int limit) {
+        if (after != null) {
+            specification = specification.and(OrderSpecifications.after(after));
+        }
+        // one extra row tells whether there is a next page without a count query
+        List<Order> orders = orderRepository.findBy(specification, query -> query
+                        .sortBy(OrderSpecifications.KEYSET_ORDER)
+                        .limit(limit + 1)
+                        .all())
+                .stream()
+                .map(orderMapper::map)
+                .toList();
+
+        if (orders.size() <= limit) {
+            return new OrderPage(orders, null);
+        }
+        List<Order> page = orders.subList(0, limit);
+        return new OrderPage(page, OrderCursor.of(page.getLast()));
+    }
+
+    @Override
+    public void forEach(OrderFilter filter, Consumer<Order> action) {
+        Specification<OrderEntity> specification = OrderSpecifications.matching(filter);
+        List<OrderEntity> chunk = new ArrayList<>(STREAM_FETCH_SIZE);
+        try (Stream<OrderEntity> entities = orderRepository.streamAll(specification, STREAM_FETCH_SIZE)) {
+            entities.forEach(entity -> {
+                chunk.add(entity);
+                if (chunk.size() == STREAM_FETCH_SIZE) {
+                    emit(chunk, action);
+                }
+            });
+        }
+        emit(chunk, action);
+    }
+
+    /**
+     * Mapping the first order of the chunk loads the items of the whole chunk in one query (batch fetching), then
+     * the chunk is detached to keep the persistence context from growing with the export.
+     */
+    private void emit(List<OrderEntity> chunk, Consumer<Order> action) {
+        chunk.forEach(entity -> action.accept(orderMapper.map(entity)));
+        chunk.forEach(entityManager::detach);
+        chunk.clear();
     }
 
 }
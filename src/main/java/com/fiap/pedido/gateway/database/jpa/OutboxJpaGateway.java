@@ -0,0 +1,85 @@
+package com.fiap.pedido.gateway.database.jpa;
+
+import com.fiap.pedido.domain.OutboxTask;
+import com.fiap.pedido.domain.OutboxTaskType;
+import com.fiap.pedido.gateway.OutboxGateway;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderOutboxEntity;
+import com.fiap.pedido.gateway.database.jpa.repository.OrderOutboxRepository;
+import com.fiap.pedido.mapper.OutboxTaskMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxJpaGateway implements OutboxGateway {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    OrderOutboxRepository outboxRepository;
+    OutboxTaskMapper outboxTaskMapper;
+
+    @Override
+    @Transactional
+    public void enqueue(UUID orderId, OutboxTaskType type) {
+        outboxRepository.save(new OrderOutboxEntity(UUID.randomUUID(), orderId, type.name(), 0, Instant.now(), null, null));
+    }
+
+    @Override
+    @Transactional
+    public List<OutboxTask> claim(int limit, Duration lease) {
+        Instant now = Instant.now();
+        List<OrderOutboxEntity> due = outboxRepository.findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(now,
+                Limit.of(limit));
+        Instant leasedUntil = leaseEnd(now, lease);
+        due.forEach(task -> task.setNextAttemptAt(leasedUntil));
+        return due.stream().map(outboxTaskMapper::map).toList();
+    }
+
+    @Override
+    @Transactional
+    public Optional<OutboxTask> renew(OutboxTask task, Duration lease) {
+        Instant leasedUntil = leaseEnd(Instant.now(), lease);
+        if (outboxRepository.renewLease(task.id(), task.leasedUntil(), leasedUntil) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new OutboxTask(task.id(), task.orderId(), task.type(), task.attempts(), leasedUntil));
+    }
+
+    @Override
+    @Transactional
+    public void advance(UUID taskId, OutboxTaskType next) {
+        outboxRepository.advance(taskId, next.name(), Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public void reschedule(UUID taskId, int attempts, Instant nextAttemptAt, String lastError) {
+        String error = lastError != null && lastError.length() > MAX_ERROR_LENGTH
+                ? lastError.substring(0, MAX_ERROR_LENGTH)
+                : lastError;
+        outboxRepository.reschedule(taskId, attempts, nextAttemptAt, error);
+    }
+
+    @Override
+    @Transactional
+    public void complete(UUID taskId) {
+        outboxRepository.deleteTask(taskId);
+    }
+
+    // the lease end identifies the claim on renewal: milliseconds survive the precision of any timestamp column
+    private static Instant leaseEnd(Instant now, Duration lease) {
+        return now.plus(lease).truncatedTo(ChronoUnit.MILLIS);
+    }
+}
@@ -3,13 +3,18 @@ package com.fiap.pedido.gateway.database.jpa.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
 @Table(name = "orders")
+@DynamicUpdate
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -23,12 +28,18 @@ public class OrderEntity {
     String customerName;
     String customerCpf;
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "order_id")
+    // the item rows already write order_id, so Hibernate skips the extra update (and the nulling on removal) of the FK
+    @JoinColumn(name = "order_id", insertable = false, updatable = false)
+    // items of up to a full page (or export chunk) of orders are loaded by a single query
+    @BatchSize(size = 500)
     List<OrderItemEntity> items;
     String cardNumber;
     String status;
     UUID paymentId;
     String paymentStatus;
     BigDecimal paymentAmount;
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    Instant createdAt;
 
 }
\ No newline at end of file
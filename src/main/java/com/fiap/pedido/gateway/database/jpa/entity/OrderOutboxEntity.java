@@ -0,0 +1,34 @@
+package com.fiap.pedido.gateway.database.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "order_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderOutboxEntity {
+
+    @Id
+    UUID id;
+    @Column(nullable = false)
+    UUID orderId;
+    @Column(nullable = false)
+    String type;
+    int attempts;
+    @Column(nullable = false)
+    Instant nextAttemptAt;
+    String lastError;
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    Instant createdAt;
+
+}
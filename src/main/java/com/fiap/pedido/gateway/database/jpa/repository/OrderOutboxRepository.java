@@ -0,0 +1,61 @@
+package com.fiap.pedido.gateway.database.jpa.repository;
+
+import com.fiap.pedido.gateway.database.jpa.entity.OrderOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEntity, UUID> {
+
+    /**
+     * Due tasks, locked with {@code FOR UPDATE SKIP LOCKED} so concurrent relays never claim the same task.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OrderOutboxEntity> findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(Instant now, Limit limit);
+
+    /**
+     * Compare-and-set on the lease end: a task claimed again by another relay after its lease expired is not renewed.
+     */
+    @Modifying
+    @Query("""
+            update OrderOutboxEntity t
+               set t.nextAttemptAt = :leasedUntil
+             where t.id = :id and t.nextAttemptAt = :claimedUntil
+            """)
+    int renewLease(@Param("id") UUID id, @Param("claimedUntil") Instant claimedUntil,
+                   @Param("leasedUntil") Instant leasedUntil);
+
+    @Modifying
+    @Query("""
+            update OrderOutboxEntity t
+               set t.type = :type, t.attempts = 0, t.nextAttemptAt = :nextAttemptAt, t.lastError = null
+             where t.id = :id
+            """)
+    int advance(@Param("id") UUID id, @Param("type") String type, @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Modifying
+    @Query("""
+            update OrderOutboxEntity t
+               set t.attempts = :attempts, t.nextAttemptAt = :nextAttemptAt, t.lastError = :lastError
+             where t.id = :id
+            """)
+    int reschedule(@Param("id") UUID id, @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") Instant nextAttemptAt, @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("delete from OrderOutboxEntity t where t.id = :id")
+    int deleteTask(@Param("id") UUID id);
+}
@@ -1,15 +1,61 @@
 package com.fiap.pedido.gateway.database.jpa.repository;
 
 import com.fiap.pedido.gateway.database.jpa.entity.OrderEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<OrderEntity, UUID> {
+public interface OrderRepository extends JpaRepository<OrderEntity, UUID>, JpaSpecificationExecutor<OrderEntity>,
+        OrderRepositoryCustom {
+    @EntityGraph(attributePaths = "items")
     Optional<OrderEntity> findByOrderId(UUID orderId);
 
+    @EntityGraph(attributePaths = "items")
     Optional<OrderEntity> findByPaymentId(UUID paymentId);
+
+    /**
+     * Every order id, read from a JDBC cursor. Must be consumed inside a transaction, and the stream must be closed.
+     */
+    @Query("select o.orderId from OrderEntity o")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UUID> streamOrderIds();
+
+    /**
+     * Orders of the given payments, locked with {@code FOR UPDATE SKIP LOCKED} so an order being closed concurrently
+     * (by a payment result or the reconciler) is left to it. Items are not fetched here: the lock cannot cover the
+     * outer join.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OrderEntity> findByPaymentIdInAndStatusAndPaymentStatus(Collection<UUID> paymentIds, String status,
+                                                                 String paymentStatus);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update OrderEntity o
+               set o.status = :status, o.paymentStatus = :paymentStatus
+             where o.orderId in :orderIds
+            """)
+    int updateStatusByOrderIds(@Param("orderIds") Collection<UUID> orderIds,
+                               @Param("status") String status,
+                               @Param("paymentStatus") String paymentStatus);
 }
@@ -0,0 +1,15 @@
+package com.fiap.pedido.gateway.database.jpa.repository;
+
+import com.fiap.pedido.gateway.database.jpa.entity.OrderEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Streams the matching orders in keyset order from a JDBC cursor that fetches {@code fetchSize} rows at a time.
+     * Must be called and consumed inside a transaction, and the stream must be closed.
+     */
+    Stream<OrderEntity> streamAll(Specification<OrderEntity> specification, int fetchSize);
+}
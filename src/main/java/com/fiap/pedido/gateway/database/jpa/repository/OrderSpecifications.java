@@ -0,0 +1,54 @@
+package com.fiap.pedido.gateway.database.jpa.repository;
+
+import com.fiap.pedido.domain.OrderCursor;
+import com.fiap.pedido.domain.OrderFilter;
+import com.fiap.pedido.domain.PaymentStatus;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OrderSpecifications {
+
+    /**
+     * Stable ordering of every listing, backed by the (created_at, order_id) index.
+     */
+    public static final Sort KEYSET_ORDER = Sort.by("createdAt", "orderId");
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<OrderEntity> matching(OrderFilter filter) {
+        List<Specification<OrderEntity>> specifications = new ArrayList<>();
+        if (filter.status() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get("status"), filter.status().name()));
+        }
+        if (filter.customerId() != null) {
+            specifications.add((root, query, cb) -> cb.equal(root.get("customerId"), filter.customerId()));
+        }
+        if (filter.from() != null) {
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), filter.from()));
+        }
+        if (filter.to() != null) {
+            specifications.add((root, query, cb) -> cb.lessThan(root.get("createdAt"), filter.to()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    public static Specification<OrderEntity> withPaymentStatus(PaymentStatus paymentStatus) {
+        return (root, query, cb) -> cb.equal(root.get("paymentStatus"), paymentStatus.name());
+    }
+
+    /**
+     * Orders strictly after the cursor: {@code created_at > :createdAt OR (created_at = :createdAt AND order_id > :orderId)}.
+     */
+    public static Specification<OrderEntity> after(OrderCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("createdAt"), cursor.createdAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.greaterThan(root.get("orderId"), cursor.orderId())));
+    }
+}
@@ -12,6 +12,8 @@ import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -35,4 +37,9 @@ public class PaymentWebClientGateway implements PaymentGateway {
     public PaymentStatus retrievePaymentStatus(UUID paymentId) {
         return paymentWebClient.retrievePaymentStatus(paymentId);
     }
+
+    @Override
+    public Map<UUID, PaymentStatus> retrievePaymentStatuses(Collection<UUID> paymentIds) {
+        return paymentWebClient.retrievePaymentStatuses(paymentIds);
+    }
 }
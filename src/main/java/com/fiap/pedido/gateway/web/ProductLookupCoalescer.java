@@ -0,0 +1,155 @@
+package com.fiap.pedido.gateway.web;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.exception.DataEnrichmentException;
+import com.fiap.pedido.gateway.web.client.ProductWebClient;
+import com.fiap.pedido.gateway.web.json.ProductResponseDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Gathers the SKU lookups of concurrent orders for a short window, or until the batch is full, and answers them
+ * with one deduplicated {@code /products/skus} call. Each waiting order receives only the products it asked for.
+ * Off by default: at low load the window is pure added latency, so enable it only where lookups overlap.
+ */
+@Component
+@Slf4j
+public class ProductLookupCoalescer {
+
+    private final ProductWebClient productWebClient;
+    private final WebClientProperties.Coalescing settings;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService dispatcher;
+
+    private final Object lock = new Object();
+    private List<PendingLookup> pending = new ArrayList<>();
+    private Set<String> pendingSkus = new HashSet<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public ProductLookupCoalescer(ProductWebClient productWebClient, WebClientProperties webClientProperties) {
+        this.productWebClient = productWebClient;
+        this.settings = webClientProperties.client(HttpClientConfiguration.PRODUCT_SERVICE).getCoalescing();
+        if (settings.isEnabled()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("product-lookup-coalescer").daemon().factory());
+            this.dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            this.scheduler = null;
+            this.dispatcher = null;
+        }
+    }
+
+    public List<ProductResponseDTO> findAllProductsBySkus(List<String> skus) {
+        if (!settings.isEnabled()) {
+            return productWebClient.findAllProductsBySkus(skus);
+        }
+
+        PendingLookup lookup = new PendingLookup(List.copyOf(skus), new CompletableFuture<>());
+        List<PendingLookup> fullBatch = null;
+        synchronized (lock) {
+            pending.add(lookup);
+            pendingSkus.addAll(skus);
+            if (pendingSkus.size() >= settings.getMaxBatchSize()) {
+                fullBatch = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, settings.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return lookup.await(settings.getTimeout());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            dispatcher.shutdown();
+        }
+    }
+
+    private void flush() {
+        List<PendingLookup> batch;
+        synchronized (lock) {
+            scheduledFlush = null;
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatcher.execute(() -> dispatch(batch));
+        }
+    }
+
+    private List<PendingLookup> drain() {
+        List<PendingLookup> batch = pending;
+        pending = new ArrayList<>();
+        pendingSkus = new HashSet<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<PendingLookup> batch) {
+        List<String> skus = batch.stream().flatMap(lookup -> lookup.skus().stream()).distinct().toList();
+        log.debug("Looking up {} distinct skus for {} coalesced requests", skus.size(), batch.size());
+        try {
+            Map<String, ProductResponseDTO> productsBySku = new HashMap<>();
+            for (int from = 0; from < skus.size(); from += settings.getMaxBatchSize()) {
+                List<String> chunk = skus.subList(from, Math.min(from + settings.getMaxBatchSize(), skus.size()));
+                productWebClient.findAllProductsBySkus(chunk)
+                        .forEach(product -> productsBySku.putIfAbsent(product.getSku(), product));
+            }
+            batch.forEach(lookup -> lookup.complete(productsBySku));
+        } catch (Throwable e) {
+            // every failure must reach the waiters, which would otherwise block until their timeout
+            batch.forEach(lookup -> lookup.result().completeExceptionally(e));
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private record PendingLookup(List<String> skus, CompletableFuture<List<ProductResponseDTO>> result) {
+
+        void complete(Map<String, ProductResponseDTO> productsBySku) {
+            result.complete(skus.stream().distinct().map(productsBySku::get).filter(Objects::nonNull).toList());
+        }
+
+        List<ProductResponseDTO> await(Duration timeout) {
+            try {
+                return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                // the batch failure is shared by every waiter: each one gets its own exception, so callers adding
+                // suppressed failures to it do not leak them into other orders
+                throw new DataEnrichmentException("Product lookup of skus " + skus + " failed", e.getCause());
+            } catch (TimeoutException e) {
+                throw new ResourceAccessException("Timed out waiting for product lookup of skus " + skus);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResourceAccessException("Interrupted while waiting for product lookup of skus " + skus);
+            }
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.fiap.pedido.gateway.web;
 
 import com.fiap.pedido.domain.Product;
 import com.fiap.pedido.gateway.ProductGateway;
-import com.fiap.pedido.gateway.web.client.ProductWebClient;
 import com.fiap.pedido.mapper.OrderItemMapper;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -18,13 +17,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductWebClientGateway implements ProductGateway {
 
-    ProductWebClient productWebClient;
+    ProductLookupCoalescer productLookupCoalescer;
     OrderItemMapper orderItemMapper;
 
     @Override
     public List<Product> findAllProductsBySkus(List<String> skus) {
-        log.info("Find all products by skus {}", skus);
-        return productWebClient.findAllProductsBySkus(skus)
+        log.debug("Find all products by skus {}", skus);
+        return productLookupCoalescer.findAllProductsBySkus(skus)
                 .stream()
                 .map(orderItemMapper::map)
                 .toList();
@@ -0,0 +1,230 @@
+package com.fiap.pedido.gateway.web;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests for the idempotent customer and product lookups, configured under
+ * {@code web.client.<service-name>.hedging}. When a request has not answered within the recent latency percentile,
+ * an identical request is sent and the first successful response wins; the other request is cancelled.
+ * <p>
+ * Hedges draw from a budget refilled by {@code max-extra-load} per request, so hedging adds at most that fraction of
+ * extra requests even when the service is slow for everyone. The outcome of each hedged request is counted in
+ * {@code http.client.hedges}.
+ */
+@Component
+@Slf4j
+public class RequestHedging {
+
+    public static final String HEDGE_WON = "won";
+    public static final String HEDGE_LOST = "lost";
+    public static final String HEDGE_SKIPPED = "skipped";
+
+    private static final List<String> SERVICES = List.of(HttpClientConfiguration.CUSTOMER_SERVICE,
+            HttpClientConfiguration.PRODUCT_SERVICE);
+
+    private final Map<String, Hedger> hedgers = new HashMap<>();
+    private final ExecutorService executor;
+
+    public RequestHedging(WebClientProperties properties, MeterRegistry meterRegistry) {
+        SERVICES.forEach(serviceName -> {
+            WebClientProperties.Hedging settings = properties.client(serviceName).getHedging();
+            if (settings.isEnabled()) {
+                hedgers.put(serviceName, new Hedger(serviceName, settings, meterRegistry));
+            }
+        });
+        this.executor = hedgers.isEmpty() ? null : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the request on the caller thread when hedging is disabled for the service or there are not enough
+     * latency samples yet; otherwise on virtual threads, the caller waiting for the winner.
+     */
+    public <T> T call(String serviceName, Supplier<T> request) {
+        Hedger hedger = hedgers.get(serviceName);
+        if (hedger == null) {
+            return request.get();
+        }
+        return hedger.call(request);
+    }
+
+    private final class Hedger {
+
+        private static final long TOKEN = 1_000;
+        private static final int PRIMARY = 0;
+        private static final int HEDGE = 1;
+
+        private final String serviceName;
+        private final WebClientProperties.Hedging settings;
+        private final Timer latency;
+        private final Counter won;
+        private final Counter lost;
+        private final Counter skipped;
+        // budget in thousandths of a hedge
+        private final AtomicLong budget = new AtomicLong();
+
+        private Hedger(String serviceName, WebClientProperties.Hedging settings, MeterRegistry meterRegistry) {
+            this.serviceName = serviceName;
+            this.settings = settings;
+            this.latency = Timer.builder("http.client.hedging.latency")
+                    .description("Latency of single requests, the hedge delay is taken from its percentile")
+                    .tag("client_name", serviceName)
+                    .publishPercentiles(settings.getPercentile())
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+            this.won = hedges(meterRegistry, HEDGE_WON);
+            this.lost = hedges(meterRegistry, HEDGE_LOST);
+            this.skipped = hedges(meterRegistry, HEDGE_SKIPPED);
+        }
+
+        private Counter hedges(MeterRegistry meterRegistry, String result) {
+            return Counter.builder("http.client.hedges")
+                    .tag("client_name", serviceName)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        <T> T call(Supplier<T> request) {
+            deposit();
+            long delayNanos = hedgeDelayNanos();
+            if (delayNanos <= 0) {
+                return timed(request);
+            }
+
+            Race<T> race = new Race<>();
+            Future<?> primary = race.start(PRIMARY, request);
+            try {
+                return race.winner.get(delayNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (!withdraw()) {
+                    skipped.increment();
+                    return race.await();
+                }
+                log.debug("Hedging request to {} after {} ms", serviceName, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+                Future<?> hedge = race.start(HEDGE, request);
+                T result = race.await();
+                boolean hedgeWon = race.firstToSucceed == HEDGE;
+                (hedgeWon ? won : lost).increment();
+                (hedgeWon ? primary : hedge).cancel(true);
+                return result;
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                primary.cancel(true);
+                throw new IllegalStateException("Interrupted while waiting for " + serviceName, e);
+            }
+        }
+
+        private long hedgeDelayNanos() {
+            if (latency.count() < settings.getMinSamples()) {
+                return 0;
+            }
+            for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                if (value.value() > 0) {
+                    return Math.max((long) value.value(TimeUnit.NANOSECONDS), settings.getMinDelay().toNanos());
+                }
+            }
+            return 0;
+        }
+
+        private void deposit() {
+            long capacity = settings.getMaxBurst() * TOKEN;
+            long amount = (long) (settings.getMaxExtraLoad() * TOKEN);
+            budget.getAndUpdate(tokens -> Math.min(capacity, tokens + amount));
+        }
+
+        private boolean withdraw() {
+            return budget.getAndUpdate(tokens -> tokens >= TOKEN ? tokens - TOKEN : tokens) >= TOKEN;
+        }
+
+        private <T> T timed(Supplier<T> request) {
+            long start = System.nanoTime();
+            T result = request.get();
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        }
+
+        /**
+         * First successful attempt wins; the race fails only when every attempt has failed, with the first failure.
+         */
+        private final class Race<T> {
+
+            private final CompletableFuture<T> winner = new CompletableFuture<>();
+            private final AtomicInteger running = new AtomicInteger();
+            private volatile RuntimeException firstFailure;
+            private volatile int firstToSucceed = -1;
+
+            Future<?> start(int attempt, Supplier<T> request) {
+                running.incrementAndGet();
+                return executor.submit(() -> {
+                    try {
+                        succeed(attempt, timed(request));
+                    } catch (RuntimeException e) {
+                        fail(e);
+                    }
+                });
+            }
+
+            private synchronized void succeed(int attempt, T result) {
+                if (!winner.isDone()) {
+                    firstToSucceed = attempt;
+                    winner.complete(result);
+                }
+            }
+
+            private void fail(RuntimeException failure) {
+                synchronized (this) {
+                    if (firstFailure == null) {
+                        firstFailure = failure;
+                    }
+                }
+                if (running.decrementAndGet() == 0) {
+                    winner.completeExceptionally(firstFailure);
+                }
+            }
+
+            T await() {
+                try {
+                    return winner.join();
+                } catch (CompletionException e) {
+                    throw unwrap(e.getCause());
+                }
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable failure) {
+        return failure instanceof RuntimeException runtime ? runtime : new IllegalStateException(failure);
+    }
+}
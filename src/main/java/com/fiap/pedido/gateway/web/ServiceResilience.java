@@ -0,0 +1,131 @@
+package com.fiap.pedido.gateway.web;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.exception.TransientFailures;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker, bulkhead and retry of each downstream service, configured under
+ * {@code web.client.<service-name>.circuit-breaker|bulkhead|retry} and published as {@code resilience4j.*} metrics.
+ * <p>
+ * A call is retried around the circuit breaker, which wraps the bulkhead: an open circuit or a full bulkhead fails
+ * at once, without retries, and the failure is classified as transient so the order is retried later through the
+ * retry queues. Only transient failures count against the circuit; a 4xx answer means the service is healthy.
+ */
+@Component
+public class ServiceResilience {
+
+    private static final List<String> SERVICES = List.of(HttpClientConfiguration.CUSTOMER_SERVICE,
+            HttpClientConfiguration.PRODUCT_SERVICE, HttpClientConfiguration.STOCK_SERVICE,
+            HttpClientConfiguration.PAYMENT_SERVICE);
+
+    private final WebClientProperties properties;
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+    private final RetryRegistry retries = RetryRegistry.ofDefaults();
+
+    public ServiceResilience(WebClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retries).bindTo(meterRegistry);
+        // created up front so the circuit state of every service is exported before its first call
+        SERVICES.forEach(serviceName -> {
+            circuitBreaker(serviceName);
+            bulkhead(serviceName);
+            retry(serviceName);
+        });
+    }
+
+    public <T> T call(String serviceName, Supplier<T> call) {
+        Supplier<T> limited = Bulkhead.decorateSupplier(bulkhead(serviceName), call);
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreaker(serviceName), limited);
+        return Retry.decorateSupplier(retry(serviceName), guarded).get();
+    }
+
+    public void run(String serviceName, Runnable call) {
+        call(serviceName, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Same protection for the reactive clients; the bulkhead counts subscriptions in flight instead of threads.
+     */
+    public <T> Mono<T> decorate(String serviceName, Mono<T> call) {
+        return call.transformDeferred(BulkheadOperator.of(bulkhead(serviceName)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker(serviceName)))
+                .transformDeferred(RetryOperator.of(retry(serviceName)));
+    }
+
+    CircuitBreaker circuitBreaker(String serviceName) {
+        return circuitBreakers.circuitBreaker(serviceName, () -> {
+            WebClientProperties.CircuitBreaker settings = properties.client(serviceName).getCircuitBreaker();
+            return CircuitBreakerConfig.custom()
+                    .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                    .slidingWindowSize(settings.getSlidingWindowSize())
+                    .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                    .failureRateThreshold(settings.getFailureRateThreshold())
+                    .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+                    .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                    .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                    .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                    .recordException(TransientFailures::isTransient)
+                    .ignoreExceptions(BulkheadFullException.class)
+                    .build();
+        });
+    }
+
+    Bulkhead bulkhead(String serviceName) {
+        return bulkheads.bulkhead(serviceName, () -> {
+            WebClientProperties.Bulkhead settings = properties.client(serviceName).getBulkhead();
+            return BulkheadConfig.custom()
+                    .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                    .maxWaitDuration(settings.getMaxWait())
+                    .build();
+        });
+    }
+
+    Retry retry(String serviceName) {
+        return retries.retry(serviceName, () -> {
+            WebClientProperties.Retry settings = properties.client(serviceName).getRetry();
+            return RetryConfig.custom()
+                    .maxAttempts(settings.getMaxAttempts())
+                    .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                            settings.getInitialBackoff(), settings.getBackoffMultiplier(), settings.getJitter()))
+                    .retryOnException(ServiceResilience::isRetryable)
+                    .build();
+        });
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        return !(failure instanceof CallNotPermittedException)
+                && !(failure instanceof BulkheadFullException)
+                && TransientFailures.isTransient(failure);
+    }
+}
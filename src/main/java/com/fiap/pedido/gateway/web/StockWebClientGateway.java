@@ -7,6 +7,7 @@ import com.fiap.pedido.mapper.OrderItemMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.UUID;
 
 @Component
 public class StockWebClientGateway implements StockGateway {
@@ -19,8 +20,8 @@ public class StockWebClientGateway implements StockGateway {
         this.orderItemMapper = orderItemMapper;
     }
 
-    public void deductStock(List<Item> items) {
-        stockWebClient.deductStock(orderItemMapper.map(items));
+    public void deductStock(UUID orderId, List<Item> items) {
+        stockWebClient.deductStock(orderId, orderItemMapper.map(items));
     }
 
     public void returnStock(List<Item> items) {
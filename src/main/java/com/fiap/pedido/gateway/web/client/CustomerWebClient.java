@@ -1,6 +1,10 @@
 package com.fiap.pedido.gateway.web.client;
 
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.gateway.web.RequestHedging;
+import com.fiap.pedido.gateway.web.ServiceResilience;
 import com.fiap.pedido.gateway.web.json.CustomerResponseDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -14,13 +18,20 @@ public class CustomerWebClient {
     private String url;
 
     private final RestTemplate restTemplate;
+    private final ServiceResilience resilience;
+    private final RequestHedging hedging;
 
-    public CustomerWebClient(RestTemplate restTemplate) {
+    public CustomerWebClient(@Qualifier("customerRestTemplate") RestTemplate restTemplate,
+                             ServiceResilience resilience,
+                             RequestHedging hedging) {
         this.restTemplate = restTemplate;
+        this.resilience = resilience;
+        this.hedging = hedging;
     }
 
     public CustomerResponseDTO findCustomerById(UUID customerId) {
-        String endpoint = String.format("%s/customers/%s", url, customerId);
-        return restTemplate.getForObject(endpoint, CustomerResponseDTO.class);
+        return resilience.call(HttpClientConfiguration.CUSTOMER_SERVICE, () -> hedging.call(
+                HttpClientConfiguration.CUSTOMER_SERVICE,
+                () -> restTemplate.getForObject(url + "/customers/{customerId}", CustomerResponseDTO.class, customerId)));
     }
 }
@@ -1,42 +1,82 @@
 package com.fiap.pedido.gateway.web.client;
 
+import com.fiap.pedido.configuration.HttpClientConfiguration;
 import com.fiap.pedido.domain.PaymentStatus;
+import com.fiap.pedido.gateway.web.ServiceResilience;
 import com.fiap.pedido.gateway.web.json.PaymentDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 @Slf4j
 public class PaymentWebClient {
 
+    /**
+     * Carries the order id on payment creation, so a payment initialisation retried after the payment was already
+     * created (a lost response, or the order could not be saved) gets the existing payment back instead of charging
+     * twice. That the payment service deduplicates on this header is an assumption still to be confirmed with its
+     * owners: nothing in this service verifies it, and until it is confirmed a retried creation may charge twice.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Value("${web.client.fiap-pagamento-service.url}")
     private String url;
 
     private final RestTemplate restTemplate;
+    private final ServiceResilience resilience;
 
-    public PaymentWebClient(RestTemplate restTemplate) {
+    public PaymentWebClient(@Qualifier("paymentRestTemplate") RestTemplate restTemplate,
+                            ServiceResilience resilience) {
         this.restTemplate = restTemplate;
+        this.resilience = resilience;
     }
 
     public PaymentDTO processPayment(PaymentDTO paymentDTO) {
-        return restTemplate.postForObject(url + "/payments", paymentDTO, PaymentDTO.class);
+        HttpHeaders headers = new HttpHeaders();
+        if (paymentDTO != null && paymentDTO.getOrderId() != null) {
+            headers.set(IDEMPOTENCY_KEY_HEADER, paymentDTO.getOrderId().toString());
+        }
+        HttpEntity<PaymentDTO> request = new HttpEntity<>(paymentDTO, headers);
+        return resilience.call(HttpClientConfiguration.PAYMENT_SERVICE,
+                () -> restTemplate.postForObject(url + "/payments", request, PaymentDTO.class));
     }
 
     public PaymentStatus retrievePaymentStatus(UUID paymentId) {
         log.info("Retrieving payment status for ID: {}", paymentId);
 
-        int randomValue = new java.util.Random().nextInt(100);
-
-        if (randomValue < 80) {
+        PaymentStatus status = simulatedStatus();
+        if (PaymentStatus.COMPLETED.equals(status)) {
             log.info("Payment {} processed successfully", paymentId);
-            return PaymentStatus.COMPLETED;
         } else {
             log.warn("Payment {} failed", paymentId);
-            return PaymentStatus.FAILED;
         }
+        return status;
+    }
+
+    /**
+     * Local stand-in for a batch status endpoint of the payment service, simulated like
+     * {@link #retrievePaymentStatus(UUID)}.
+     */
+    public Map<UUID, PaymentStatus> retrievePaymentStatuses(Collection<UUID> paymentIds) {
+        log.info("Retrieving payment status for {} payments", paymentIds.size());
+
+        Map<UUID, PaymentStatus> statuses = new LinkedHashMap<>();
+        paymentIds.forEach(paymentId -> statuses.put(paymentId, simulatedStatus()));
+        return statuses;
+    }
+
+    private PaymentStatus simulatedStatus() {
+        return ThreadLocalRandom.current().nextInt(100) < 80 ? PaymentStatus.COMPLETED : PaymentStatus.FAILED;
     }
 }
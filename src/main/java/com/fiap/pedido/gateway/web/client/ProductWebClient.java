@@ -1,6 +1,10 @@
 package com.fiap.pedido.gateway.web.client;
 
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.gateway.web.RequestHedging;
+import com.fiap.pedido.gateway.web.ServiceResilience;
 import com.fiap.pedido.gateway.web.json.ProductResponseDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -14,9 +18,15 @@ public class ProductWebClient {
     private String url;
 
     private final RestTemplate restTemplate;
+    private final ServiceResilience resilience;
+    private final RequestHedging hedging;
 
-    public ProductWebClient(RestTemplate restTemplate) {
+    public ProductWebClient(@Qualifier("productRestTemplate") RestTemplate restTemplate,
+                            ServiceResilience resilience,
+                            RequestHedging hedging) {
         this.restTemplate = restTemplate;
+        this.resilience = resilience;
+        this.hedging = hedging;
     }
 
     public List<ProductResponseDTO> findAllProductsBySkus(List<String> skus) {
@@ -25,7 +35,9 @@ public class ProductWebClient {
         queryParams.deleteCharAt(queryParams.length() - 1);
 
         String endpoint = String.format("%s/products/skus?%s", url, queryParams);
-        ProductResponseDTO[] products = restTemplate.getForObject(endpoint, ProductResponseDTO[].class);
+        ProductResponseDTO[] products = resilience.call(HttpClientConfiguration.PRODUCT_SERVICE, () -> hedging.call(
+                HttpClientConfiguration.PRODUCT_SERVICE,
+                () -> restTemplate.getForObject(endpoint, ProductResponseDTO[].class)));
         return List.of(products != null ? products : new ProductResponseDTO[0]);
     }
 }
@@ -1,32 +1,54 @@
 package com.fiap.pedido.gateway.web.client;
 
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.gateway.web.ServiceResilience;
 import com.fiap.pedido.gateway.web.json.StockDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.UUID;
 
 @Component
 public class StockWebClient {
 
+    /**
+     * Carries the order id on stock deduction, so the outbox relay can repeat a deduction whose response was lost
+     * instead of returning stock it may never have taken. That the stock service deduplicates on this header is an
+     * assumption still to be confirmed with its owners: until then a repeated deduction may be applied twice.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Value("${web.client.fiap-estoque-service.url}")
     private String url;
 
     private final RestTemplate restTemplate;
+    private final ServiceResilience resilience;
 
-    public StockWebClient(RestTemplate restTemplate) {
+    public StockWebClient(@Qualifier("stockRestTemplate") RestTemplate restTemplate,
+                          ServiceResilience resilience) {
         this.restTemplate = restTemplate;
+        this.resilience = resilience;
     }
 
-    public void deductStock(List<StockDTO> stocks) {
+    public void deductStock(UUID orderId, List<StockDTO> stocks) {
         String endpoint = String.format("%s/stocks/deduct", url);
-        restTemplate.postForObject(endpoint, stocks, Void.class);
+        HttpHeaders headers = new HttpHeaders();
+        if (orderId != null) {
+            headers.set(IDEMPOTENCY_KEY_HEADER, orderId.toString());
+        }
+        HttpEntity<List<StockDTO>> request = new HttpEntity<>(stocks, headers);
+        resilience.run(HttpClientConfiguration.STOCK_SERVICE,
+                () -> restTemplate.postForObject(endpoint, request, Void.class));
     }
 
     public void returnStock(List<StockDTO> stocks) {
         String endpoint = String.format("%s/stocks/reverse", url);
-        restTemplate.postForObject(endpoint, stocks, Void.class);
+        resilience.run(HttpClientConfiguration.STOCK_SERVICE, () -> restTemplate.postForObject(endpoint, stocks, Void.class));
     }
 
 }
@@ -0,0 +1,47 @@
+package com.fiap.pedido.gateway.web.reactive;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.PaymentStatus;
+import com.fiap.pedido.gateway.PaymentGateway;
+import com.fiap.pedido.gateway.ReactivePaymentGateway;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link PaymentGateway} of the outbox relay, the payment callbacks and the payment reconciler in reactive mode,
+ * backed by the Reactor Netty client of the payment service. None of them runs on an event loop, so waiting here is
+ * safe.
+ */
+@Component
+@Primary
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+public class BlockingPaymentGateway implements PaymentGateway {
+
+    ReactivePaymentGateway reactivePaymentGateway;
+
+    @Override
+    public Optional<UUID> processPayment(Order order) {
+        return reactivePaymentGateway.processPayment(order).blockOptional();
+    }
+
+    @Override
+    public PaymentStatus retrievePaymentStatus(UUID paymentId) {
+        return reactivePaymentGateway.retrievePaymentStatus(paymentId).block();
+    }
+
+    @Override
+    public Map<UUID, PaymentStatus> retrievePaymentStatuses(Collection<UUID> paymentIds) {
+        return reactivePaymentGateway.retrievePaymentStatuses(paymentIds).block();
+    }
+}
@@ -0,0 +1,38 @@
+package com.fiap.pedido.gateway.web.reactive;
+
+import com.fiap.pedido.domain.Item;
+import com.fiap.pedido.gateway.ReactiveStockGateway;
+import com.fiap.pedido.gateway.StockGateway;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link StockGateway} of the outbox relay in reactive mode, so its calls share the Reactor Netty pool of the
+ * stock service. The relay runs on its own threads, never on an event loop, so waiting here is safe.
+ */
+@Component
+@Primary
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+public class BlockingStockGateway implements StockGateway {
+
+    ReactiveStockGateway reactiveStockGateway;
+
+    @Override
+    public void deductStock(UUID orderId, List<Item> items) {
+        reactiveStockGateway.deductStock(orderId, items).block();
+    }
+
+    @Override
+    public void returnStock(List<Item> items) {
+        reactiveStockGateway.returnStock(items).block();
+    }
+}
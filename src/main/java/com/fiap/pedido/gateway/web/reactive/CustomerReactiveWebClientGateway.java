@@ -0,0 +1,41 @@
+package com.fiap.pedido.gateway.web.reactive;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.domain.Customer;
+import com.fiap.pedido.gateway.ReactiveCustomerGateway;
+import com.fiap.pedido.gateway.web.ServiceResilience;
+import com.fiap.pedido.gateway.web.json.CustomerResponseDTO;
+import com.fiap.pedido.mapper.CustomerMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+public class CustomerReactiveWebClientGateway implements ReactiveCustomerGateway {
+
+    private final WebClient webClient;
+    private final CustomerMapper customerMapper;
+    private final ServiceResilience resilience;
+
+    public CustomerReactiveWebClientGateway(@Qualifier("customerServiceWebClient") WebClient webClient,
+                                            CustomerMapper customerMapper,
+                                            ServiceResilience resilience) {
+        this.webClient = webClient;
+        this.customerMapper = customerMapper;
+        this.resilience = resilience;
+    }
+
+    @Override
+    public Mono<Customer> findById(UUID customerId) {
+        return resilience.decorate(HttpClientConfiguration.CUSTOMER_SERVICE, webClient.get()
+                        .uri("/customers/{customerId}", customerId)
+                        .retrieve()
+                        .bodyToMono(CustomerResponseDTO.class))
+                .map(customerMapper::map);
+    }
+}
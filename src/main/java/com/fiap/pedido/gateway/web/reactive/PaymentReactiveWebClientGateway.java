@@ -0,0 +1,69 @@
+package com.fiap.pedido.gateway.web.reactive;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.PaymentStatus;
+import com.fiap.pedido.gateway.ReactivePaymentGateway;
+import com.fiap.pedido.gateway.web.ServiceResilience;
+import com.fiap.pedido.gateway.web.client.PaymentWebClient;
+import com.fiap.pedido.gateway.web.json.PaymentDTO;
+import com.fiap.pedido.mapper.OrderMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+public class PaymentReactiveWebClientGateway implements ReactivePaymentGateway {
+
+    private final WebClient webClient;
+    private final PaymentWebClient paymentWebClient;
+    private final OrderMapper orderMapper;
+    private final ServiceResilience resilience;
+
+    public PaymentReactiveWebClientGateway(@Qualifier("paymentServiceWebClient") WebClient webClient,
+                                           PaymentWebClient paymentWebClient,
+                                           OrderMapper orderMapper,
+                                           ServiceResilience resilience) {
+        this.webClient = webClient;
+        this.paymentWebClient = paymentWebClient;
+        this.orderMapper = orderMapper;
+        this.resilience = resilience;
+    }
+
+    @Override
+    public Mono<UUID> processPayment(Order order) {
+        return Mono.fromSupplier(() -> orderMapper.mapToPaymentDTO(order))
+                .flatMap(payment -> resilience.decorate(HttpClientConfiguration.PAYMENT_SERVICE, webClient.post()
+                        .uri("/payments")
+                        .headers(headers -> {
+                            if (payment.getOrderId() != null) {
+                                headers.set(PaymentWebClient.IDEMPOTENCY_KEY_HEADER, payment.getOrderId().toString());
+                            }
+                        })
+                        .bodyValue(payment)
+                        .retrieve()
+                        .bodyToMono(PaymentDTO.class)))
+                .mapNotNull(PaymentDTO::getId);
+    }
+
+    /**
+     * The payment service has no status endpoint yet; the statuses are still decided by {@link PaymentWebClient},
+     * which does not perform any I/O.
+     */
+    @Override
+    public Mono<PaymentStatus> retrievePaymentStatus(UUID paymentId) {
+        return Mono.fromSupplier(() -> paymentWebClient.retrievePaymentStatus(paymentId));
+    }
+
+    @Override
+    public Mono<Map<UUID, PaymentStatus>> retrievePaymentStatuses(Collection<UUID> paymentIds) {
+        return Mono.fromSupplier(() -> paymentWebClient.retrievePaymentStatuses(paymentIds));
+    }
+}
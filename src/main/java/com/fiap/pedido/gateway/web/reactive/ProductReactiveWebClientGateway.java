@@ -0,0 +1,42 @@
+package com.fiap.pedido.gateway.web.reactive;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.domain.Product;
+import com.fiap.pedido.gateway.ReactiveProductGateway;
+import com.fiap.pedido.gateway.web.ServiceResilience;
+import com.fiap.pedido.gateway.web.json.ProductResponseDTO;
+import com.fiap.pedido.mapper.OrderItemMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+public class ProductReactiveWebClientGateway implements ReactiveProductGateway {
+
+    private final WebClient webClient;
+    private final OrderItemMapper orderItemMapper;
+    private final ServiceResilience resilience;
+
+    public ProductReactiveWebClientGateway(@Qualifier("productServiceWebClient") WebClient webClient,
+                                           OrderItemMapper orderItemMapper,
+                                           ServiceResilience resilience) {
+        this.webClient = webClient;
+        this.orderItemMapper = orderItemMapper;
+        this.resilience = resilience;
+    }
+
+    @Override
+    public Mono<List<Product>> findAllProductsBySkus(List<String> skus) {
+        return resilience.decorate(HttpClientConfiguration.PRODUCT_SERVICE, webClient.get()
+                        .uri(uri -> uri.path("/products/skus").queryParam("sku", skus).build())
+                        .retrieve()
+                        .bodyToFlux(ProductResponseDTO.class)
+                        .collectList())
+                .map(products -> products.stream().map(orderItemMapper::map).toList());
+    }
+}
@@ -0,0 +1,58 @@
+package com.fiap.pedido.gateway.web.reactive;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.domain.Item;
+import com.fiap.pedido.gateway.ReactiveStockGateway;
+import com.fiap.pedido.gateway.web.ServiceResilience;
+import com.fiap.pedido.gateway.web.client.StockWebClient;
+import com.fiap.pedido.mapper.OrderItemMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+public class StockReactiveWebClientGateway implements ReactiveStockGateway {
+
+    private final WebClient webClient;
+    private final OrderItemMapper orderItemMapper;
+    private final ServiceResilience resilience;
+
+    public StockReactiveWebClientGateway(@Qualifier("stockServiceWebClient") WebClient webClient,
+                                         OrderItemMapper orderItemMapper,
+                                         ServiceResilience resilience) {
+        this.webClient = webClient;
+        this.orderItemMapper = orderItemMapper;
+        this.resilience = resilience;
+    }
+
+    @Override
+    public Mono<Void> deductStock(UUID orderId, List<Item> items) {
+        return post("/stocks/deduct", orderId, items);
+    }
+
+    @Override
+    public Mono<Void> returnStock(List<Item> items) {
+        return post("/stocks/reverse", null, items);
+    }
+
+    private Mono<Void> post(String path, UUID idempotencyKey, List<Item> items) {
+        return Mono.fromSupplier(() -> orderItemMapper.map(items))
+                .flatMap(stocks -> resilience.decorate(HttpClientConfiguration.STOCK_SERVICE, webClient.post()
+                        .uri(path)
+                        .headers(headers -> {
+                            if (idempotencyKey != null) {
+                                headers.set(StockWebClient.IDEMPOTENCY_KEY_HEADER, idempotencyKey.toString());
+                            }
+                        })
+                        .bodyValue(stocks)
+                        .retrieve()
+                        .toBodilessEntity()))
+                .then();
+    }
+}
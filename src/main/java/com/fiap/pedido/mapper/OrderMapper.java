@@ -12,7 +12,11 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Mapper(componentModel = "spring")
 public interface OrderMapper {
@@ -22,6 +26,11 @@ public interface OrderMapper {
 
     Order map(OrderEntity orderEntity);
 
+    @Mapping(target = "orderId", ignore = true)
+    @Mapping(target = "items", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    void update(Order order, @MappingTarget OrderEntity orderEntity);
+
     PaymentDTO mapToPaymentDTO(Order order);
 
     @Mapping(source = "orderId", target = "id")
@@ -37,20 +46,38 @@ public interface OrderMapper {
     @Mapping(target = "paymentId", source = "id")
     Order map(PaymentDTO paymentDTO);
 
+    /**
+     * Applies the order items onto the entity items in place: rows are matched by sku, so unchanged rows stay
+     * untouched, changed rows get a column update and only new or removed skus are inserted or deleted.
+     */
     @AfterMapping
     default void mapItems(Order order, @MappingTarget OrderEntity orderEntity) {
-        if (order.getItems() != null) {
-            List<OrderItemEntity> itemEntities = new ArrayList<>();
-            for (Item item : order.getItems()) {
-                OrderItemEntity itemEntity = new OrderItemEntity();
+        if (order.getItems() == null) {
+            return;
+        }
+        List<OrderItemEntity> itemEntities = orderEntity.getItems();
+        if (itemEntities == null) {
+            itemEntities = new ArrayList<>(order.getItems().size());
+            orderEntity.setItems(itemEntities);
+        }
+        Map<String, OrderItemEntity> itemEntitiesBySku = HashMap.newHashMap(itemEntities.size());
+        itemEntities.forEach(itemEntity -> itemEntitiesBySku.put(itemEntity.getSku(), itemEntity));
+
+        Set<String> skus = HashSet.newHashSet(order.getItems().size());
+        for (Item item : order.getItems()) {
+            skus.add(item.getSku());
+            OrderItemEntity itemEntity = itemEntitiesBySku.get(item.getSku());
+            if (itemEntity == null) {
+                itemEntity = new OrderItemEntity();
                 itemEntity.setSku(item.getSku());
                 itemEntity.setOrderId(order.getOrderId());
-                itemEntity.setName(item.getName());
-                itemEntity.setQuantity(item.getQuantity());
-                itemEntity.setPrice(item.getPrice());
                 itemEntities.add(itemEntity);
+                itemEntitiesBySku.put(item.getSku(), itemEntity);
             }
-            orderEntity.setItems(itemEntities);
+            itemEntity.setName(item.getName());
+            itemEntity.setQuantity(item.getQuantity());
+            itemEntity.setPrice(item.getPrice());
         }
+        itemEntities.removeIf(itemEntity -> !skus.contains(itemEntity.getSku()));
     }
 }
\ No newline at end of file
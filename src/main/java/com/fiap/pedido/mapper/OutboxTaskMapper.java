@@ -0,0 +1,14 @@
+package com.fiap.pedido.mapper;
+
+import com.fiap.pedido.domain.OutboxTask;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderOutboxEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface OutboxTaskMapper {
+
+    @Mapping(target = "leasedUntil", source = "nextAttemptAt")
+    OutboxTask map(OrderOutboxEntity outboxEntity);
+
+}
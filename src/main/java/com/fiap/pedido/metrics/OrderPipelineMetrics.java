@@ -0,0 +1,114 @@
+package com.fiap.pedido.metrics;
+
+import com.fiap.pedido.domain.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Meters of the order pipeline, exported through {@code /actuator/prometheus}:
+ * <ul>
+ *     <li>{@code order.stage}: duration of each processing stage, tagged with its outcome and exception</li>
+ *     <li>{@code order.enrichment}: duration of each enrichment strategy</li>
+ *     <li>{@code order.outcome}: orders leaving the pipeline, tagged with the resulting {@link OrderStatus}</li>
+ *     <li>{@code order.messages}: messages taken from the order and payment result queues, tagged with the listener
+ *     and the result</li>
+ *     <li>{@code order.outbox.tasks}: outbox tasks run by the relay, tagged with the task type and the result</li>
+ * </ul>
+ */
+@Component
+public class OrderPipelineMetrics {
+
+    public static final String STAGE_VALIDATE = "validate";
+    public static final String STAGE_CREATE = "create";
+    public static final String STAGE_ENRICH = "enrich";
+    public static final String STAGE_DEDUCT_STOCK = "deduct-stock";
+    public static final String STAGE_INIT_PAYMENT = "init-payment";
+    public static final String STAGE_RETURN_STOCK = "return-stock";
+    public static final String STAGE_COMPENSATION = "compensation";
+
+    public static final String OUTCOME_REJECTED = "REJECTED";
+    public static final String OUTCOME_DUPLICATE = "DUPLICATE";
+
+    public static final String MESSAGE_PROCESSED = "processed";
+    public static final String MESSAGE_FAILED = "failed";
+    public static final String MESSAGE_RETRIED = "retried";
+    public static final String MESSAGE_DEAD_LETTERED = "dead-lettered";
+
+    public static final String TASK_COMPLETED = "completed";
+    public static final String TASK_RETRIED = "retried";
+    public static final String TASK_EXHAUSTED = "exhausted";
+
+    private final MeterRegistry meterRegistry;
+
+    public OrderPipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordStage(String stage, Runnable action) {
+        record("order.stage", Tags.of("stage", stage), action);
+    }
+
+    public void recordEnrichment(String strategy, Runnable action) {
+        record("order.enrichment", Tags.of("strategy", strategy), action);
+    }
+
+    /**
+     * Times the stage from subscription until the returned {@link Mono} completes, for the reactive pipeline.
+     */
+    public <T> Mono<T> recordStage(String stage, Mono<T> action) {
+        return record("order.stage", Tags.of("stage", stage), action);
+    }
+
+    public <T> Mono<T> recordEnrichment(String strategy, Mono<T> action) {
+        return record("order.enrichment", Tags.of("strategy", strategy), action);
+    }
+
+    public void recordOutcome(OrderStatus status) {
+        recordOutcome(status != null ? status.name() : "NONE");
+    }
+
+    public void recordOutcome(String status) {
+        meterRegistry.counter("order.outcome", "status", status).increment();
+    }
+
+    public void recordMessage(String listener, String result) {
+        meterRegistry.counter("order.messages", "listener", listener, "result", result).increment();
+    }
+
+    public void recordOutboxTask(String type, String result) {
+        meterRegistry.counter("order.outbox.tasks", "type", type, "result", result).increment();
+    }
+
+    private void record(String name, Tags tags, Runnable action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            action.run();
+        } catch (RuntimeException | Error e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            stop(sample, name, tags, exception);
+        }
+    }
+
+    private <T> Mono<T> record(String name, Tags tags, Mono<T> action) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return action
+                    .doOnSuccess(ignored -> stop(sample, name, tags, "none"))
+                    .doOnError(e -> stop(sample, name, tags, e.getClass().getSimpleName()));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String name, Tags tags, String exception) {
+        sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", "none".equals(exception) ? "success" : "failure")
+                .tag("exception", exception)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,52 @@
+package com.fiap.pedido.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Backlog of the order queue, read from the broker on every scrape. A growing {@code order.queue.messages} means the
+ * consumers are falling behind the producers.
+ */
+@Component
+@Slf4j
+public class OrderQueueMetrics implements MeterBinder {
+
+    private final AmqpAdmin amqpAdmin;
+    private final String queueName;
+
+    public OrderQueueMetrics(AmqpAdmin amqpAdmin, @Value("${rabbitmq.queue.name}") String queueName) {
+        this.amqpAdmin = amqpAdmin;
+        this.queueName = queueName;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("order.queue.messages", this, metrics -> metrics.read(QueueInformation::getMessageCount))
+                .description("Messages ready to be delivered from the order queue")
+                .tag("queue", queueName)
+                .register(registry);
+        Gauge.builder("order.queue.consumers", this, metrics -> metrics.read(QueueInformation::getConsumerCount))
+                .description("Consumers attached to the order queue")
+                .tag("queue", queueName)
+                .register(registry);
+    }
+
+    private double read(ToIntFunction<QueueInformation> value) {
+        try {
+            QueueInformation queueInformation = amqpAdmin.getQueueInfo(queueName);
+            return queueInformation != null ? value.applyAsInt(queueInformation) : Double.NaN;
+        } catch (AmqpException e) {
+            log.debug("Could not read the state of queue {}: {}", queueName, e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.fiap.pedido.usecase;
 
 import com.fiap.pedido.domain.Order;
 import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.OutboxTaskType;
 import com.fiap.pedido.domain.PaymentStatus;
 import com.fiap.pedido.exception.OrderException;
 import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.OutboxGateway;
 import com.fiap.pedido.usecase.validation.ValidateOrderStrategy;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
@@ -17,25 +19,54 @@ import java.util.List;
 public class CreateOrderUseCase {
 
     private final OrderGateway orderGateway;
+    private final OutboxGateway outboxGateway;
     private final List<ValidateOrderStrategy> validateOrderStrategies;
 
-    public CreateOrderUseCase(OrderGateway orderGateway, List<ValidateOrderStrategy> validateOrderStrategies) {
+    public CreateOrderUseCase(OrderGateway orderGateway, OutboxGateway outboxGateway,
+                              List<ValidateOrderStrategy> validateOrderStrategies) {
         this.orderGateway = orderGateway;
+        this.outboxGateway = outboxGateway;
         this.validateOrderStrategies = validateOrderStrategies;
     }
 
+    public void validate(Order order) {
+        validateOrderStrategies.forEach(strategy -> strategy.validate(order));
+    }
+
+    /**
+     * Inserts the open order together with its first downstream step, in one transaction. Either both exist or
+     * neither does, so a message that fails before this point can simply be delivered again.
+     */
     @Transactional
     public Order execute(Order order) {
-        validateOrderStrategies.forEach(strategy -> strategy.validate(order));
+        validate(order);
 
         order.setStatus(OrderStatus.ABERTO);
         order.setPaymentStatus(PaymentStatus.PENDING);
 
-        log.info("Creating order {}", order);
+        log.info("Creating order {}", order.getOrderId());
+
+        Order created = insert(order);
+        outboxGateway.enqueue(order.getOrderId(), OutboxTaskType.DEDUCT_STOCK);
+        return created;
+    }
+
+    /**
+     * Records an order that was closed before reaching the outbox (e.g. unknown customer), without downstream steps.
+     */
+    @Transactional
+    public Order executeClosed(Order order, OrderStatus status) {
+        order.setStatus(status);
+
+        log.info("Creating closed order {} as {}", order.getOrderId(), status);
+
+        return insert(order);
+    }
 
-        return orderGateway.save(order)
+    private Order insert(Order order) {
+        return orderGateway.create(order)
                 .orElseThrow(() -> {
-                            log.error("Order could not be saved: {}", order);
+                            log.error("Order already exists or could not be saved: {}", order.getOrderId());
                             return new OrderException("Order could not be saved");
                         }
                 );
@@ -6,6 +6,7 @@ import com.fiap.pedido.gateway.StockGateway;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 @Component
 @Slf4j
@@ -18,14 +19,18 @@ public class DeductStockUseCase {
     }
 
     public void execute(Order order) {
-        log.info("Deducting stock for items: {}", order.getItems());
+        // the item list is only rendered at debug: logging it for every order costs more than the call it describes
+        log.info("Deducting stock for order {} ({} items)", order.getOrderId(),
+                order.getItems() == null ? 0 : order.getItems().size());
+        log.debug("Deducting stock for items: {}", order.getItems());
         try {
-            stockGateway.deductStock(order.getItems());
-        } catch (HttpClientErrorException.BadRequest e) {
-            log.error("Failed to deduct stock for items: {}, due to bad request: {}", order.getItems(), e.getMessage(), e);
+            stockGateway.deductStock(order.getOrderId(), order.getItems());
+        } catch (HttpClientErrorException.BadRequest | WebClientResponseException.BadRequest e) {
+            log.error("Failed to deduct stock for order {}, due to bad request: {}", order.getOrderId(), e.getMessage(),
+                    e);
             throw new InsufficientStockException(e.getMessage());
         } catch (Exception e) {
-            log.error("Failed to deduct stock for items: {}", order.getItems(), e);
+            log.error("Failed to deduct stock for order {}", order.getOrderId(), e);
             throw e;
         }
     }
@@ -0,0 +1,27 @@
+package com.fiap.pedido.usecase;
+
+import com.fiap.pedido.gateway.PaymentResultGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Accepts a payment callback without touching the order: the payment result queue is drained in batches by
+ * {@link ReconcilePaymentsUseCase}.
+ */
+@Component
+@Slf4j
+public class EnqueuePaymentResultUseCase {
+
+    private final PaymentResultGateway paymentResultGateway;
+
+    public EnqueuePaymentResultUseCase(PaymentResultGateway paymentResultGateway) {
+        this.paymentResultGateway = paymentResultGateway;
+    }
+
+    public void execute(UUID paymentId) {
+        log.debug("Queueing payment result for ID: {}", paymentId);
+        paymentResultGateway.enqueue(paymentId);
+    }
+}
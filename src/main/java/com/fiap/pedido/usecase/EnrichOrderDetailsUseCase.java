@@ -2,36 +2,129 @@ package com.fiap.pedido.usecase;
 
 import com.fiap.pedido.domain.Order;
 import com.fiap.pedido.exception.DataEnrichmentException;
-import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
 import com.fiap.pedido.usecase.load.EnrichOrderDataStrategy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 @Slf4j
 public class EnrichOrderDetailsUseCase {
 
-    private final OrderGateway orderGateway;
     private final List<EnrichOrderDataStrategy> strategies;
+    private final AsyncTaskExecutor enrichmentExecutor;
+    private final Duration timeout;
+    private final OrderPipelineMetrics metrics;
 
-    public EnrichOrderDetailsUseCase(OrderGateway orderGateway, List<EnrichOrderDataStrategy> strategies) {
-        this.orderGateway = orderGateway;
+    public EnrichOrderDetailsUseCase(List<EnrichOrderDataStrategy> strategies,
+                                     @Qualifier("enrichmentExecutor") AsyncTaskExecutor enrichmentExecutor,
+                                     @Value("${order.enrichment.timeout:10s}") Duration timeout,
+                                     OrderPipelineMetrics metrics) {
         this.strategies = strategies;
+        this.enrichmentExecutor = enrichmentExecutor;
+        this.timeout = timeout;
+        this.metrics = metrics;
     }
 
+    /**
+     * Enriches the order in memory only. The enriched fields are written by the next stage that persists the order
+     * (payment initialisation or the compensating status update), saving a full write per order.
+     */
     public void execute(Order order) {
         try {
-            strategies.forEach(strategy ->
-                    strategy.enrich(order)
-            );
-            orderGateway.save(order)
-                    .orElseThrow(() -> new DataEnrichmentException("Failed to update order with enriched data"));
+            enrich(order);
         } catch (Exception e) {
             log.error("Failed to enrich order details for order {}: {}", order.getOrderId(), e.getMessage());
             throw new DataEnrichmentException("Failed to enrich order details", e);
         }
     }
 
+    /**
+     * Runs every strategy concurrently. Strategies write disjoint fields of the order and the completion of all
+     * tasks happens-before this method returns, so the caller sees every enriched field. Strategies still running
+     * when the timeout expires are cancelled, interrupting their threads.
+     */
+    private void enrich(Order order) throws Exception {
+        List<Future<?>> tasks = new ArrayList<>(strategies.size());
+        try {
+            for (EnrichOrderDataStrategy strategy : strategies) {
+                String name = ClassUtils.getUserClass(strategy).getSimpleName();
+                tasks.add(enrichmentExecutor.submit(
+                        () -> metrics.recordEnrichment(name, () -> strategy.enrich(order))));
+            }
+        } catch (TaskRejectedException e) {
+            // a saturated pool fails the order transiently rather than running the strategy without a timeout
+            cancel(tasks);
+            throw e;
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (Future<?> task : tasks) {
+                await(task, deadline);
+            }
+        } catch (TimeoutException e) {
+            cancel(tasks);
+            DataEnrichmentException timedOut = new DataEnrichmentException(
+                    "Order enrichment timed out after " + timeout.toMillis() + " ms", e);
+            failuresOf(tasks).forEach(timedOut::addSuppressed);
+            throw timedOut;
+        } catch (InterruptedException e) {
+            cancel(tasks);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+
+        List<Throwable> failures = failuresOf(tasks);
+        if (!failures.isEmpty()) {
+            throw aggregateFailures(order, failures, tasks.size());
+        }
+    }
+
+    /**
+     * Waits for the task until the deadline. A failed task returns normally: its failure is collected once every
+     * task is done, so a failing strategy does not hide the others.
+     */
+    private static void await(Future<?> task, long deadline) throws InterruptedException, TimeoutException {
+        try {
+            task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // collected by failuresOf
+        }
+    }
+
+    private static void cancel(List<Future<?>> tasks) {
+        tasks.forEach(task -> task.cancel(true));
+    }
+
+    private Exception aggregateFailures(Order order, List<Throwable> failures, int taskCount) {
+        log.error("{} of {} enrichment strategies failed for order {}", failures.size(), taskCount, order.getOrderId());
+
+        Throwable first = failures.getFirst();
+        failures.stream().skip(1).filter(failure -> failure != first).forEach(first::addSuppressed);
+        return first instanceof Exception exception
+                ? exception
+                : new DataEnrichmentException(first.getMessage(), first);
+    }
+
+    private static List<Throwable> failuresOf(List<Future<?>> tasks) {
+        return tasks.stream()
+                .filter(task -> task.state() == Future.State.FAILED)
+                .map(Future::exceptionNow)
+                .toList();
+    }
+
 }
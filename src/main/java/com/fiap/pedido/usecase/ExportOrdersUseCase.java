@@ -0,0 +1,28 @@
+package com.fiap.pedido.usecase;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderFilter;
+import com.fiap.pedido.gateway.OrderGateway;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+
+@Component
+public class ExportOrdersUseCase {
+
+    private final OrderGateway gateway;
+
+    public ExportOrdersUseCase(OrderGateway gateway) {
+        this.gateway = gateway;
+    }
+
+    /**
+     * Reads the matching orders from a database cursor and hands each one to {@code sink} as it arrives. The
+     * transaction stays open until the last order has been written.
+     */
+    @Transactional(readOnly = true)
+    public void execute(OrderFilter filter, Consumer<Order> sink) {
+        gateway.forEach(filter, sink);
+    }
+}
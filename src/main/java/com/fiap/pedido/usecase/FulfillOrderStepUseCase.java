@@ -0,0 +1,113 @@
+package com.fiap.pedido.usecase;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.OutboxTask;
+import com.fiap.pedido.domain.OutboxTaskType;
+import com.fiap.pedido.exception.InsufficientFundsException;
+import com.fiap.pedido.exception.InsufficientStockException;
+import com.fiap.pedido.exception.PaymentException;
+import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.OutboxGateway;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Runs one downstream step of an order taken from the outbox. Business rejections (no stock, no credit) close the
+ * order and complete the task. Other stock failures propagate for the relay to retry later: the deduction is keyed
+ * by the order id, so a retry after a lost response is not applied twice, and no stock is returned that may never
+ * have been taken. Payment failures other than a rejection propagate too, rather than closing an order whose payment
+ * may exist; its outcome is recorded once the payment result closes it.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class FulfillOrderStepUseCase {
+
+    OrderGateway orderGateway;
+    OutboxGateway outboxGateway;
+    UpdateOrderUseCase updateOrderUseCase;
+    DeductStockUseCase deductStockUseCase;
+    ReturnStockUseCase returnStockUseCase;
+    InitPaymentUseCase initPaymentUseCase;
+    OrderPipelineMetrics metrics;
+
+    public void execute(OutboxTask task) {
+        Optional<Order> openOrder = findOpenOrder(task);
+        if (openOrder.isEmpty()) {
+            outboxGateway.complete(task.id());
+            return;
+        }
+        Order order = openOrder.get();
+        switch (task.type()) {
+            case DEDUCT_STOCK -> deductStock(task, order);
+            case INIT_PAYMENT -> initPayment(task, order);
+        }
+    }
+
+    /**
+     * Gives up on a task whose retries are exhausted: the order is cancelled, as the synchronous pipeline did for
+     * unexpected failures, and stock already deducted for it is returned. The stock of an exhausted
+     * {@code DEDUCT_STOCK} task is left alone: an attempt may have been applied under the order id, and returning stock
+     * that was never taken would create stock out of nothing. Likewise a payment an exhausted {@code INIT_PAYMENT}
+     * attempt may have created under the order id is not looked up here; the relay logs the order it gave up on.
+     */
+    public void abandon(OutboxTask task) {
+        findOpenOrder(task).ifPresent(order -> {
+            if (OutboxTaskType.INIT_PAYMENT.equals(task.type())) {
+                returnStock(order);
+            }
+            close(order, OrderStatus.CANCELADO, "retries of " + task.type() + " exhausted");
+        });
+        outboxGateway.complete(task.id());
+    }
+
+    private void deductStock(OutboxTask task, Order order) {
+        try {
+            metrics.recordStage(OrderPipelineMetrics.STAGE_DEDUCT_STOCK, () -> deductStockUseCase.execute(order));
+        } catch (InsufficientStockException e) {
+            close(order, OrderStatus.FECHADO_SEM_ESTOQUE, e.getMessage());
+            outboxGateway.complete(task.id());
+            return;
+        }
+        // should this fail, the task stays DEDUCT_STOCK and repeats the deduction under the same order id
+        outboxGateway.advance(task.id(), OutboxTaskType.INIT_PAYMENT);
+    }
+
+    private void initPayment(OutboxTask task, Order order) {
+        try {
+            metrics.recordStage(OrderPipelineMetrics.STAGE_INIT_PAYMENT, () -> initPaymentUseCase.execute(order));
+        } catch (InsufficientFundsException | PaymentException e) {
+            returnStock(order);
+            close(order, OrderStatus.FECHADO_SEM_CREDITO, e.getMessage());
+        }
+        outboxGateway.complete(task.id());
+    }
+
+    private void returnStock(Order order) {
+        metrics.recordStage(OrderPipelineMetrics.STAGE_RETURN_STOCK, () -> returnStockUseCase.execute(order));
+    }
+
+    private Optional<Order> findOpenOrder(OutboxTask task) {
+        Optional<Order> order = orderGateway.findOrderByOrderId(task.orderId())
+                .filter(found -> OrderStatus.ABERTO.equals(found.getStatus()));
+        if (order.isEmpty()) {
+            log.warn("Skipping {} of order {}: the order is missing or no longer open", task.type(), task.orderId());
+        }
+        return order;
+    }
+
+    private void close(Order order, OrderStatus status, String errorMessage) {
+        log.error("Error for order {}: {}", order.getOrderId(), errorMessage);
+        order.setStatus(status);
+        metrics.recordStage(OrderPipelineMetrics.STAGE_COMPENSATION, () -> updateOrderUseCase.execute(order));
+        metrics.recordOutcome(status);
+    }
+}
@@ -7,8 +7,12 @@ import com.fiap.pedido.exception.PaymentException;
 import com.fiap.pedido.gateway.OrderGateway;
 import com.fiap.pedido.gateway.PaymentGateway;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.util.UUID;
 
@@ -24,29 +28,52 @@ public class InitPaymentUseCase {
         this.orderGateway = orderGateway;
     }
 
+    /**
+     * Only a rejection by the payment service fails the payment: a 4xx answer, or an answer without a payment id.
+     * Any other failure, a read timeout or a 5xx that may come after the payment was created included, propagates
+     * untouched so the outbox relay retries the step under the same Idempotency-Key, instead of closing an order
+     * whose payment may exist. Once the payment exists the order is saved outside of that handling: should the save
+     * fail, the relay retries the step in the same way. Both retries are only safe if the payment service deduplicates
+     * on that key, which is assumed and not yet verified with the payment service.
+     */
     public void execute(Order order) {
         log.info("Processing payment for order: {}", order.getOrderId());
+        UUID paymentId;
         try {
-            UUID paymentId = paymentGateway.processPayment(order)
+            paymentId = paymentGateway.processPayment(order)
                     .orElseThrow(() -> new PaymentException(
                             "Missing payment identifier for order: " + order.getOrderId())
                     );
-            order.setPaymentId(paymentId);
-            order.setPaymentStatus(PaymentStatus.IN_PROGRESS);
-        } catch (HttpClientErrorException.BadRequest e) {
-            handlePaymentFailure(order, new InsufficientFundsException(e.getMessage()));
-        } catch (Exception e) {
-            handlePaymentFailure(order, new PaymentException(e.getMessage()));
-        } finally {
-            orderGateway.save(order);
+        } catch (HttpClientErrorException.BadRequest | WebClientResponseException.BadRequest e) {
+            throw handlePaymentFailure(order, new InsufficientFundsException(e.getMessage()));
+        } catch (PaymentException e) {
+            throw handlePaymentFailure(order, e);
+        } catch (RuntimeException e) {
+            if (isRejection(e)) {
+                throw handlePaymentFailure(order, new PaymentException(e.getMessage()));
+            }
+            throw e;
         }
 
+        order.setPaymentId(paymentId);
+        order.setPaymentStatus(PaymentStatus.IN_PROGRESS);
+        orderGateway.save(order);
     }
 
-    private void handlePaymentFailure(Order order, RuntimeException exception) {
-        order.setPaymentStatus(PaymentStatus.FAILED);
-        throw exception;
+    // 408 and 429 ask for the request to be repeated rather than reject the payment
+    private static boolean isRejection(RuntimeException e) {
+        HttpStatusCode status = e instanceof RestClientResponseException response ? response.getStatusCode()
+                : e instanceof WebClientResponseException response ? response.getStatusCode()
+                : null;
+        return status != null && status.is4xxClientError()
+                && !status.isSameCodeAs(HttpStatus.REQUEST_TIMEOUT)
+                && !status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
     }
 
+    private RuntimeException handlePaymentFailure(Order order, RuntimeException exception) {
+        order.setPaymentStatus(PaymentStatus.FAILED);
+        orderGateway.save(order);
+        return exception;
+    }
 
 }
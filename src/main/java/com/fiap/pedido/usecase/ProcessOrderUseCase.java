@@ -2,16 +2,22 @@ package com.fiap.pedido.usecase;
 
 import com.fiap.pedido.domain.Order;
 import com.fiap.pedido.domain.OrderStatus;
-import com.fiap.pedido.exception.InsufficientFundsException;
-import com.fiap.pedido.exception.InsufficientStockException;
 import com.fiap.pedido.exception.OrderException;
-import com.fiap.pedido.exception.PaymentException;
+import com.fiap.pedido.exception.TransientFailures;
+import com.fiap.pedido.gateway.cache.ProcessedOrderIndex;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
+/**
+ * Validates and enriches a consumed order, then stores it with its first outbox step (see
+ * {@link FulfillOrderStepUseCase}) in a single write. Nothing is written before that write, so transient failures
+ * are rethrown and the message is simply delivered again later.
+ */
 @Component
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -19,35 +25,48 @@ import org.springframework.stereotype.Component;
 public class ProcessOrderUseCase {
 
     CreateOrderUseCase createOrderUseCase;
-    UpdateOrderUseCase updateOrderUseCase;
-    DeductStockUseCase deductStockUseCase;
-    ReturnStockUseCase returnStockUseCase;
-    InitPaymentUseCase initPaymentUseCase;
     EnrichOrderDetailsUseCase enrichOrderDetailsUseCase;
+    ProcessedOrderIndex processedOrderIndex;
+    OrderPipelineMetrics metrics;
 
     public void execute(Order order) {
-        log.info("Processing order {}", order);
+        // redeliveries are dropped before validation or any call to another service
+        if (processedOrderIndex.isProcessed(order.getOrderId())) {
+            log.info("Skipping order {}: already processed", order.getOrderId());
+            metrics.recordOutcome(OrderPipelineMetrics.OUTCOME_DUPLICATE);
+            return;
+        }
+        log.info("Processing order {}", order.getOrderId());
+        log.debug("Order details: {}", order);
 
         try {
-            createOrderUseCase.execute(order);
-            enrichOrderDetailsUseCase.execute(order);
-            deductStockUseCase.execute(order);
-            initPaymentUseCase.execute(order);
+            metrics.recordStage(OrderPipelineMetrics.STAGE_VALIDATE, () -> createOrderUseCase.validate(order));
+            metrics.recordStage(OrderPipelineMetrics.STAGE_ENRICH, () -> enrichOrderDetailsUseCase.execute(order));
+            metrics.recordStage(OrderPipelineMetrics.STAGE_CREATE, () -> createOrderUseCase.execute(order));
+            processedOrderIndex.markProcessed(order.getOrderId());
         } catch (OrderException e) {
           log.error(e.getMessage());
-        } catch (InsufficientStockException e) {
-            handleError(order, OrderStatus.FECHADO_SEM_ESTOQUE, e.getMessage());
-        } catch (InsufficientFundsException | PaymentException e) {
-            returnStockUseCase.execute(order);
-            handleError(order, OrderStatus.FECHADO_SEM_CREDITO, e.getMessage());
-        } catch (Exception e) {
+          metrics.recordOutcome(OrderPipelineMetrics.OUTCOME_REJECTED);
+        } catch (DataIntegrityViolationException e) {
+            // checked here, after the failed insert was rolled back: a concurrent delivery of the same order won it
+            if (!processedOrderIndex.isStored(order.getOrderId())) {
+                handleError(order, OrderStatus.CANCELADO, e.getMessage());
+                return;
+            }
+            log.info("Skipping order {}: created by a concurrent delivery", order.getOrderId());
+            metrics.recordOutcome(OrderPipelineMetrics.OUTCOME_DUPLICATE);
+        } catch (RuntimeException e) {
+            if (TransientFailures.isTransient(e)) {
+                throw e;
+            }
             handleError(order, OrderStatus.CANCELADO, e.getMessage());
         }
     }
 
     private void handleError(Order order, OrderStatus status, String errorMessage) {
         log.error("Error for order {}: {}", order.getOrderId(), errorMessage);
-        order.setStatus(status);
-        updateOrderUseCase.execute(order);
+        metrics.recordStage(OrderPipelineMetrics.STAGE_COMPENSATION, () -> createOrderUseCase.executeClosed(order, status));
+        processedOrderIndex.markProcessed(order.getOrderId());
+        metrics.recordOutcome(status);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.fiap.pedido.usecase;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.PaymentReconciliation;
+import com.fiap.pedido.domain.PaymentStatus;
+import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.PaymentGateway;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Closes the orders of many payments at once: one status request to the payment service and one set-based
+ * transition in the database, instead of a lookup, a read and an update per payment.
+ */
+@Component
+@Slf4j
+public class ReconcilePaymentsUseCase {
+
+    private final PaymentGateway paymentGateway;
+    private final OrderGateway orderGateway;
+    private final ReturnStockUseCase returnStockUseCase;
+    private final OrderPipelineMetrics metrics;
+
+    public ReconcilePaymentsUseCase(PaymentGateway paymentGateway, OrderGateway orderGateway,
+                                    ReturnStockUseCase returnStockUseCase, OrderPipelineMetrics metrics) {
+        this.paymentGateway = paymentGateway;
+        this.orderGateway = orderGateway;
+        this.returnStockUseCase = returnStockUseCase;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Payments that are not settled yet, or that the payment service did not report, are left open and returned for
+     * the caller to retry. The stock of orders closed without credit is returned once the transition is committed.
+     */
+    public PaymentReconciliation execute(Collection<UUID> paymentIds) {
+        if (paymentIds.isEmpty()) {
+            return PaymentReconciliation.none();
+        }
+        Map<UUID, PaymentStatus> statuses = paymentGateway.retrievePaymentStatuses(paymentIds);
+        Map<UUID, PaymentStatus> settled = statuses.entrySet().stream()
+                .filter(entry -> entry.getValue() != null && entry.getValue().isSettled())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Set<UUID> unsettled = paymentIds.stream()
+                .filter(paymentId -> !settled.containsKey(paymentId))
+                .collect(Collectors.toUnmodifiableSet());
+        if (settled.isEmpty()) {
+            return new PaymentReconciliation(0, unsettled);
+        }
+
+        List<Order> closed = orderGateway.closePendingPayments(settled);
+        closed.forEach(order -> {
+            if (OrderStatus.FECHADO_SEM_CREDITO.equals(order.getStatus())) {
+                returnStockUseCase.execute(order);
+            }
+            metrics.recordOutcome(order.getStatus());
+        });
+        log.info("Closed {} of {} orders with settled payments", closed.size(), settled.size());
+        return new PaymentReconciliation(closed.size(), unsettled);
+    }
+}
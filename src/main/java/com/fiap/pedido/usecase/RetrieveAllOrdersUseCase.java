@@ -1,22 +1,26 @@
 package com.fiap.pedido.usecase;
 
-import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderCursor;
+import com.fiap.pedido.domain.OrderFilter;
+import com.fiap.pedido.domain.OrderPage;
 import com.fiap.pedido.gateway.OrderGateway;
 import org.springframework.stereotype.Component;
-
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 public class RetrieveAllOrdersUseCase {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final OrderGateway gateway;
 
     public RetrieveAllOrdersUseCase(OrderGateway gateway) {
         this.gateway = gateway;
     }
 
-    public List<Order> execute() {
-        return gateway.findAll();
+    @Transactional(readOnly = true)
+    public OrderPage execute(OrderFilter filter, OrderCursor after, int limit) {
+        return gateway.findAll(filter, after, Math.clamp(limit, 1, MAX_PAGE_SIZE));
     }
 
 }
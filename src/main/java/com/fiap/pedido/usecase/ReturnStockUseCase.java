@@ -20,11 +20,13 @@ public class ReturnStockUseCase {
 
     public void execute(Order order) {
         List<Item> orderItems = order.getItems();
-        log.info("Returning stock for items: {}", orderItems);
+        log.info("Returning stock for order {} ({} items)", order.getOrderId(),
+                orderItems == null ? 0 : orderItems.size());
+        log.debug("Returning stock for items: {}", orderItems);
         try {
             stockGateway.returnStock(orderItems);
         } catch (Exception e) {
-            log.error("Failed to return stock for items: {}", orderItems, e);
+            log.error("Failed to return stock for order {}", order.getOrderId(), e);
         }
     }
 
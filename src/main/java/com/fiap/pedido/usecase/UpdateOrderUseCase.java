@@ -19,7 +19,7 @@ public class UpdateOrderUseCase {
 
     @Transactional
     public Order execute(Order order) {
-        log.info("Updating Order {}", order.toString());
+        log.info("Updating Order {}", order.getOrderId());
         orderGateway.findOrderByOrderId(order.getOrderId())
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
@@ -19,8 +19,11 @@ public class EnrichCustomerDetails implements EnrichOrderDataStrategy {
 
     @Override
     public void enrich(Order order) {
-        log.info("Loading Customer Details for Order {}", order.toString());
-        Customer customer = retrieveCustomerByIdUseCase.execute(order.getCustomerId());
+        log.info("Loading Customer Details for Order {}", order.getOrderId());
+        apply(order, retrieveCustomerByIdUseCase.execute(order.getCustomerId()));
+    }
+
+    public void apply(Order order, Customer customer) {
         order.setCustomerCpf(customer.getCpf());
         order.setCustomerName(customer.getFullName());
     }
@@ -12,7 +12,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -24,31 +28,63 @@ public class EnrichProductDetails implements EnrichOrderDataStrategy {
 
     @Override
     public void enrich(Order order) {
-        log.info("Loading Product Details for Order {}", order.toString());
-        List<String> skus = order.getItems().stream().map(Item::getSku).toList();
-        List<Product> products = retrieveAllProductsBySkuUseCase.execute(skus);
+        log.info("Loading Product Details for Order {}", order.getOrderId());
+        apply(order, retrieveAllProductsBySkuUseCase.execute(skusOf(order)));
+    }
+
+    public List<String> skusOf(Order order) {
+        return order.getItems().stream().map(Item::getSku).distinct().toList();
+    }
 
-        if (skus.size() != products.size()) {
-            List<String> skusFound = products.stream().map(Product::getSku).toList();
-            List<String> skusNotFound = skus.stream().filter(sku -> !skusFound.contains(sku)).toList();
+    /**
+     * Copies the product details onto the items of the order and sets its payment amount. Repeated lines of a sku
+     * are merged first, so the amount is charged for exactly the quantities that are stored. Shared with the
+     * reactive pipeline, which looks the products up itself.
+     */
+    public void apply(Order order, List<Product> products) {
+        Map<String, Product> productsBySku = indexBySku(products);
+
+        List<String> skusNotFound = order.getItems().stream()
+                .map(Item::getSku)
+                .filter(sku -> !productsBySku.containsKey(sku))
+                .distinct()
+                .toList();
+        if (!skusNotFound.isEmpty()) {
             throw new ProductException("Invalid sku(s): " + String.join(", ", skusNotFound));
         }
 
-        products.forEach(product -> order
-                .getItems()
-                .stream()
-                .filter(item -> item.getSku().equals(product.getSku()))
-                .findFirst()
-                .ifPresent(item -> {
-                    item.setId(product.getId());
-                    item.setName(product.getName());
-                    item.setPrice(product.getPrice());
-                }));
+        mergeRepeatedSkus(order);
+        order.getItems().forEach(item -> {
+            Product product = productsBySku.get(item.getSku());
+            item.setId(product.getId());
+            item.setName(product.getName());
+            item.setPrice(product.getPrice());
+        });
         calculatePaymentAmount(order);
     }
 
+    /**
+     * Folds repeated lines of a sku into its first line, summing the quantities: items are stored as one row per sku.
+     */
+    private void mergeRepeatedSkus(Order order) {
+        Map<String, Item> itemsBySku = LinkedHashMap.newLinkedHashMap(order.getItems().size());
+        order.getItems().forEach(item -> itemsBySku.merge(item.getSku(), item, (first, repeated) -> {
+            first.setQuantity(first.getQuantity() + repeated.getQuantity());
+            return first;
+        }));
+        if (itemsBySku.size() < order.getItems().size()) {
+            order.setItems(new ArrayList<>(itemsBySku.values()));
+        }
+    }
+
+    private Map<String, Product> indexBySku(List<Product> products) {
+        Map<String, Product> productsBySku = HashMap.newHashMap(products.size());
+        products.forEach(product -> productsBySku.putIfAbsent(product.getSku(), product));
+        return productsBySku;
+    }
+
     private void calculatePaymentAmount(Order order) {
-        log.info("Calculating Payment Amount for Order {}", order.toString());
+        log.info("Calculating Payment Amount for Order {}", order.getOrderId());
         BigDecimal totalAmount = order.getItems().stream()
                 .map(item -> item.getPrice() != null
                         ? item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()))
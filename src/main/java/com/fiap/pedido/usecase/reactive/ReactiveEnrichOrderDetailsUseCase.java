@@ -0,0 +1,84 @@
+package com.fiap.pedido.usecase.reactive;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.exception.CustomerException;
+import com.fiap.pedido.exception.DataEnrichmentException;
+import com.fiap.pedido.gateway.ReactiveCustomerGateway;
+import com.fiap.pedido.gateway.ReactiveProductGateway;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.load.EnrichCustomerDetails;
+import com.fiap.pedido.usecase.load.EnrichProductDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking counterpart of {@link com.fiap.pedido.usecase.EnrichOrderDetailsUseCase}: the customer and the
+ * products are requested at the same time on the HTTP event loops and copied onto the order by the same
+ * strategies, without holding a thread while the services answer.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+public class ReactiveEnrichOrderDetailsUseCase {
+
+    private final ReactiveCustomerGateway customerGateway;
+    private final ReactiveProductGateway productGateway;
+    private final EnrichCustomerDetails enrichCustomerDetails;
+    private final EnrichProductDetails enrichProductDetails;
+    private final Duration timeout;
+    private final OrderPipelineMetrics metrics;
+
+    public ReactiveEnrichOrderDetailsUseCase(ReactiveCustomerGateway customerGateway,
+                                             ReactiveProductGateway productGateway,
+                                             EnrichCustomerDetails enrichCustomerDetails,
+                                             EnrichProductDetails enrichProductDetails,
+                                             @Value("${order.enrichment.timeout:10s}") Duration timeout,
+                                             OrderPipelineMetrics metrics) {
+        this.customerGateway = customerGateway;
+        this.productGateway = productGateway;
+        this.enrichCustomerDetails = enrichCustomerDetails;
+        this.enrichProductDetails = enrichProductDetails;
+        this.timeout = timeout;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Both lookups write disjoint fields of the order and complete before the returned {@link Mono} does, so the
+     * next stage sees every enriched field. The first failure cancels the other lookup.
+     */
+    public Mono<Order> execute(Order order) {
+        return Mono.when(
+                        metrics.recordEnrichment(EnrichCustomerDetails.class.getSimpleName(), enrichCustomer(order)),
+                        metrics.recordEnrichment(EnrichProductDetails.class.getSimpleName(), enrichProducts(order)))
+                .timeout(timeout)
+                .onErrorMap(e -> {
+                    log.error("Failed to enrich order details for order {}: {}", order.getOrderId(), e.getMessage());
+                    Throwable cause = e instanceof TimeoutException
+                            ? new DataEnrichmentException("Order enrichment timed out after " + timeout.toMillis() + " ms", e)
+                            : e;
+                    return new DataEnrichmentException("Failed to enrich order details", cause);
+                })
+                .thenReturn(order);
+    }
+
+    private Mono<Void> enrichCustomer(Order order) {
+        return customerGateway.findById(order.getCustomerId())
+                .switchIfEmpty(Mono.error(() -> new CustomerException(
+                        "Failed to retrieve customer with ID: " + order.getCustomerId())))
+                .doOnNext(customer -> enrichCustomerDetails.apply(order, customer))
+                .then();
+    }
+
+    private Mono<Void> enrichProducts(Order order) {
+        return Mono.fromSupplier(() -> enrichProductDetails.skusOf(order))
+                .flatMap(productGateway::findAllProductsBySkus)
+                .doOnNext(products -> enrichProductDetails.apply(order, products))
+                .then();
+    }
+}
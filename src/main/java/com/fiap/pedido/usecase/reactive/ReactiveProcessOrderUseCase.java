@@ -0,0 +1,88 @@
+package com.fiap.pedido.usecase.reactive;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.exception.OrderException;
+import com.fiap.pedido.exception.TransientFailures;
+import com.fiap.pedido.gateway.cache.ProcessedOrderIndex;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.CreateOrderUseCase;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking counterpart of {@link com.fiap.pedido.usecase.ProcessOrderUseCase}, with the same stages and
+ * outcomes. Service calls run on the HTTP event loops; the database work (duplicate check and the single write)
+ * still uses JDBC and is moved to the bounded elastic scheduler so it never blocks an event loop.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@ConditionalOnProperty(name = "web.reactive.enabled", havingValue = "true")
+public class ReactiveProcessOrderUseCase {
+
+    CreateOrderUseCase createOrderUseCase;
+    ReactiveEnrichOrderDetailsUseCase enrichOrderDetailsUseCase;
+    ProcessedOrderIndex processedOrderIndex;
+    OrderPipelineMetrics metrics;
+
+    public Mono<Void> execute(Order order) {
+        return blocking(() -> processedOrderIndex.isProcessed(order.getOrderId()))
+                .flatMap(processed -> processed ? skip(order) : process(order));
+    }
+
+    private Mono<Void> skip(Order order) {
+        log.info("Skipping order {}: already processed", order.getOrderId());
+        metrics.recordOutcome(OrderPipelineMetrics.OUTCOME_DUPLICATE);
+        return Mono.empty();
+    }
+
+    private Mono<Void> process(Order order) {
+        log.info("Processing order {}", order.getOrderId());
+        log.debug("Order details: {}", order);
+
+        return metrics.recordStage(OrderPipelineMetrics.STAGE_VALIDATE, Mono.fromRunnable(() -> createOrderUseCase.validate(order)))
+                .then(metrics.recordStage(OrderPipelineMetrics.STAGE_ENRICH, Mono.defer(() -> enrichOrderDetailsUseCase.execute(order))))
+                .then(metrics.recordStage(OrderPipelineMetrics.STAGE_CREATE, blocking(() -> createOrderUseCase.execute(order))))
+                .doOnSuccess(created -> processedOrderIndex.markProcessed(order.getOrderId()))
+                .then()
+                .onErrorResume(OrderException.class, e -> {
+                    log.error(e.getMessage());
+                    metrics.recordOutcome(OrderPipelineMetrics.OUTCOME_REJECTED);
+                    return Mono.empty();
+                })
+                // a concurrent delivery of the same order won the insert, which has been rolled back by now
+                .onErrorResume(DataIntegrityViolationException.class, e ->
+                        blocking(() -> processedOrderIndex.isStored(order.getOrderId()))
+                                .flatMap(processed -> processed
+                                        ? skip(order)
+                                        : handleError(order, OrderStatus.CANCELADO, e.getMessage())))
+                .onErrorResume(e -> e instanceof RuntimeException && !TransientFailures.isTransient(e),
+                        e -> handleError(order, OrderStatus.CANCELADO, e.getMessage()));
+    }
+
+    private Mono<Void> handleError(Order order, OrderStatus status, String errorMessage) {
+        log.error("Error for order {}: {}", order.getOrderId(), errorMessage);
+        return metrics.recordStage(OrderPipelineMetrics.STAGE_COMPENSATION,
+                        blocking(() -> createOrderUseCase.executeClosed(order, status)))
+                .doOnSuccess(closed -> {
+                    processedOrderIndex.markProcessed(order.getOrderId());
+                    metrics.recordOutcome(status);
+                })
+                .then();
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,6 @@
+-- V2__add_orders_created_at.sql
+
+ALTER TABLE orders ADD COLUMN created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+-- keyset pagination and export walk the table in (created_at, order_id) order
+CREATE INDEX idx_orders_created_at_order_id ON orders (created_at, order_id);
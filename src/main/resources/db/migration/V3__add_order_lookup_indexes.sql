@@ -0,0 +1,11 @@
+-- V3__add_order_lookup_indexes.sql
+
+-- payment callbacks look orders up (and close them) by payment_id; a payment belongs to a single order
+CREATE UNIQUE INDEX ux_orders_payment_id ON orders (payment_id);
+
+-- filtered listings: equality on the filter column, then the keyset order of V2
+CREATE INDEX idx_orders_customer_id_created_at ON orders (customer_id, created_at, order_id);
+CREATE INDEX idx_orders_status_created_at ON orders (status, created_at, order_id);
+
+-- the primary key leads with sku, so it cannot serve item fetches by order
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
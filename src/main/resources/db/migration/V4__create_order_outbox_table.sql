@@ -0,0 +1,14 @@
+-- V4__create_order_outbox_table.sql
+
+-- pending downstream steps of an order, written in the same transaction as the order and drained by the relay
+CREATE TABLE order_outbox (
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL REFERENCES orders(order_id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_order_outbox_next_attempt_at ON order_outbox (next_attempt_at);
@@ -0,0 +1,118 @@
+package com.fiap.pedido.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.function.Resolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientConfigurationTest {
+
+    private HttpClientConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+        WebClientProperties properties = new WebClientProperties();
+        properties.getClient().put(HttpClientConfiguration.PAYMENT_SERVICE,
+                client(Duration.ofMillis(300), Duration.ofMillis(1500), 7, Duration.ofMillis(250)));
+        properties.getClient().put(HttpClientConfiguration.STOCK_SERVICE,
+                client(Duration.ofMillis(800), Duration.ofSeconds(4), 3, Duration.ofMillis(600)));
+        configuration = new HttpClientConfiguration(properties, new RestTemplateBuilder(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        configuration.destroy();
+    }
+
+    @Test
+    void paymentRestTemplate_ShouldUseThePaymentServiceTimeoutsAndPool() {
+        RestTemplate restTemplate = configuration.paymentRestTemplate();
+
+        assertRequestConfig(restTemplate, 1500, 250);
+        assertConnectionManager(restTemplate, 7, 300, 1500);
+    }
+
+    @Test
+    void stockRestTemplate_ShouldNotShareThePaymentServiceSettings() {
+        RestTemplate restTemplate = configuration.stockRestTemplate();
+
+        assertRequestConfig(restTemplate, 4000, 600);
+        assertConnectionManager(restTemplate, 3, 800, 4000);
+    }
+
+    @Test
+    void customerRestTemplate_WhenServiceIsNotConfigured_ShouldUseTheDefaults() {
+        RestTemplate restTemplate = configuration.customerRestTemplate();
+
+        WebClientProperties.Client defaults = new WebClientProperties.Client();
+        assertRequestConfig(restTemplate, defaults.getReadTimeout().toMillis(),
+                defaults.getPool().getAcquireTimeout().toMillis());
+        assertConnectionManager(restTemplate, defaults.getPool().getMaxConnections(),
+                defaults.getConnectTimeout().toMillis(), defaults.getReadTimeout().toMillis());
+    }
+
+    @Test
+    void destroy_ShouldShutDownEveryConnectionPool() {
+        RestTemplate paymentRestTemplate = configuration.paymentRestTemplate();
+        RestTemplate stockRestTemplate = configuration.stockRestTemplate();
+
+        configuration.destroy();
+
+        assertThrows(IllegalStateException.class,
+                () -> paymentRestTemplate.getForObject("http://localhost:1/payments", String.class));
+        assertThrows(IllegalStateException.class,
+                () -> stockRestTemplate.getForObject("http://localhost:1/stock", String.class));
+    }
+
+    private static void assertRequestConfig(RestTemplate restTemplate, long responseTimeoutMillis,
+                                            long acquireTimeoutMillis) {
+        RequestConfig requestConfig = ((Configurable) httpClient(restTemplate)).getConfig();
+        assertEquals(responseTimeoutMillis, requestConfig.getResponseTimeout().toMilliseconds());
+        assertEquals(acquireTimeoutMillis, requestConfig.getConnectionRequestTimeout().toMilliseconds());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertConnectionManager(RestTemplate restTemplate, int maxConnections,
+                                                long connectTimeoutMillis, long socketTimeoutMillis) {
+        PoolingHttpClientConnectionManager connectionManager = (PoolingHttpClientConnectionManager)
+                ReflectionTestUtils.getField(httpClient(restTemplate), "connManager");
+        assertNotNull(connectionManager);
+        assertEquals(maxConnections, connectionManager.getMaxTotal());
+        assertEquals(maxConnections, connectionManager.getDefaultMaxPerRoute());
+
+        Resolver<Object, ConnectionConfig> resolver = (Resolver<Object, ConnectionConfig>)
+                ReflectionTestUtils.getField(connectionManager, "connectionConfigResolver");
+        assertNotNull(resolver);
+        ConnectionConfig connectionConfig = resolver.resolve(null);
+        assertEquals(connectTimeoutMillis, connectionConfig.getConnectTimeout().toMilliseconds());
+        assertEquals(socketTimeoutMillis, connectionConfig.getSocketTimeout().toMilliseconds());
+    }
+
+    private static HttpClient httpClient(RestTemplate restTemplate) {
+        return ((HttpComponentsClientHttpRequestFactory) restTemplate.getRequestFactory()).getHttpClient();
+    }
+
+    private static WebClientProperties.Client client(Duration connectTimeout, Duration readTimeout,
+                                                     int maxConnections, Duration acquireTimeout) {
+        WebClientProperties.Client client = new WebClientProperties.Client();
+        client.setConnectTimeout(connectTimeout);
+        client.setReadTimeout(readTimeout);
+        client.getPool().setMaxConnections(maxConnections);
+        client.getPool().setAcquireTimeout(acquireTimeout);
+        return client;
+    }
+}
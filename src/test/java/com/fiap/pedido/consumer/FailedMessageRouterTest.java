@@ -0,0 +1,115 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.configuration.OrderRetryTopology;
+import com.fiap.pedido.exception.DataEnrichmentException;
+import com.fiap.pedido.exception.OrderException;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FailedMessageRouterTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private FailedMessageRouter failedMessageRouter;
+
+    private Message message;
+
+    @BeforeEach
+    void setUp() {
+        failedMessageRouter = new FailedMessageRouter(rabbitTemplate, new OrderRetryTopology("order-queue",
+                "order-queue.retry", List.of("order-queue.retry.1", "order-queue.retry.2"), "order-queue.dlq"));
+
+        message = new Message("{\"orderId\":\"1\"}".getBytes(), new MessageProperties());
+    }
+
+    @Test
+    void route_WithTransientFailure_ShouldPublishToFirstRetryTier() {
+        RuntimeException failure = new DataEnrichmentException("Failed to enrich order details",
+                new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        String result = failedMessageRouter.route(message, failure);
+
+        assertEquals(OrderPipelineMetrics.MESSAGE_RETRIED, result);
+        assertEquals(1, (Integer) message.getMessageProperties().getHeader(FailedMessageRouter.RETRY_COUNT_HEADER));
+        verify(rabbitTemplate, times(1)).send("order-queue.retry", "order-queue.retry.1", message);
+        verifyNoMoreInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void route_WithTransientFailureAlreadyRetried_ShouldPublishToNextRetryTier() {
+        message.getMessageProperties().setHeader(FailedMessageRouter.RETRY_COUNT_HEADER, 1);
+
+        String result = failedMessageRouter.route(message, new ResourceAccessException("Read timed out"));
+
+        assertEquals(OrderPipelineMetrics.MESSAGE_RETRIED, result);
+        assertEquals(2, (Integer) message.getMessageProperties().getHeader(FailedMessageRouter.RETRY_COUNT_HEADER));
+        verify(rabbitTemplate, times(1)).send("order-queue.retry", "order-queue.retry.2", message);
+    }
+
+    @Test
+    void route_WithTransientFailureAfterLastTier_ShouldDeadLetterMessage() {
+        message.getMessageProperties().setHeader(FailedMessageRouter.RETRY_COUNT_HEADER, 2L);
+
+        String result = failedMessageRouter.route(message, new ResourceAccessException("Read timed out"));
+
+        assertEquals(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED, result);
+        assertEquals(2, (Integer) message.getMessageProperties().getHeader(FailedMessageRouter.RETRY_COUNT_HEADER));
+        verify(rabbitTemplate, times(1)).send("", "order-queue.dlq", message);
+        verify(rabbitTemplate, never()).send(eq("order-queue.retry"), anyString(), any(Message.class));
+    }
+
+    @Test
+    void route_WithPermanentFailure_ShouldDeadLetterWithFailureHeaders() {
+        OrderException failure = new OrderException("Order items cannot be null or empty");
+
+        String result = failedMessageRouter.route(message, failure);
+
+        assertEquals(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED, result);
+        MessageProperties properties = message.getMessageProperties();
+        assertEquals(OrderException.class.getName(), properties.getHeader(FailedMessageRouter.EXCEPTION_CLASS_HEADER));
+        assertEquals("Order items cannot be null or empty", properties.getHeader(FailedMessageRouter.EXCEPTION_MESSAGE_HEADER));
+        assertTrue(properties.<String>getHeader(FailedMessageRouter.EXCEPTION_STACKTRACE_HEADER)
+                .startsWith(OrderException.class.getName()));
+        assertEquals("order-queue", properties.getHeader(FailedMessageRouter.ORIGINAL_QUEUE_HEADER));
+        assertNotNull(properties.getHeader(FailedMessageRouter.FAILED_AT_HEADER));
+        assertEquals(0, (Integer) properties.getHeader(FailedMessageRouter.RETRY_COUNT_HEADER));
+        verify(rabbitTemplate, times(1)).send("", "order-queue.dlq", message);
+    }
+
+    @Test
+    void route_WithLongFailureMessage_ShouldTruncateHeaders() {
+        String longMessage = "x".repeat(5_000);
+
+        failedMessageRouter.route(message, new IllegalStateException(longMessage));
+
+        MessageProperties properties = message.getMessageProperties();
+        assertEquals(1_000, properties.<String>getHeader(FailedMessageRouter.EXCEPTION_MESSAGE_HEADER).length());
+        assertTrue(properties.<String>getHeader(FailedMessageRouter.EXCEPTION_STACKTRACE_HEADER).length() <= 8_000);
+    }
+
+    @Test
+    void route_WithFailureWithoutMessage_ShouldDeadLetterWithEmptyMessageHeader() {
+        failedMessageRouter.route(message, new IllegalStateException());
+
+        assertEquals("", message.getMessageProperties().getHeader(FailedMessageRouter.EXCEPTION_MESSAGE_HEADER));
+    }
+}
@@ -0,0 +1,174 @@
+package com.fiap.pedido.consumer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.ProcessOrderUseCase;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchConsumerTest {
+
+    @Mock
+    private OrderMessageReader orderMessageReader;
+
+    @Mock
+    private ProcessOrderUseCase processOrderUseCase;
+
+    @Mock
+    private FailedMessageRouter failedMessageRouter;
+
+    @Mock
+    private Channel channel;
+
+    private OrderBatchConsumer orderBatchConsumer;
+
+    @BeforeEach
+    void setUp() {
+        orderBatchConsumer = new OrderBatchConsumer(orderMessageReader, processOrderUseCase, new SyncTaskExecutor(),
+                failedMessageRouter, new OrderPipelineMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void receiveOrders_ShouldProcessAndAckEveryMessage() throws Exception {
+        Message first = createMessage("{\"orderId\":\"1\"}", 1L);
+        Message second = createMessage("{\"orderId\":\"2\"}", 2L);
+        Order firstOrder = createOrder();
+        Order secondOrder = createOrder();
+        when(orderMessageReader.read(first)).thenReturn(firstOrder);
+        when(orderMessageReader.read(second)).thenReturn(secondOrder);
+
+        orderBatchConsumer.receiveOrders(List.of(first, second), channel);
+
+        verify(processOrderUseCase, times(1)).execute(firstOrder);
+        verify(processOrderUseCase, times(1)).execute(secondOrder);
+        verify(channel, times(1)).basicAck(1L, false);
+        verify(channel, times(1)).basicAck(2L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void receiveOrders_WithPoisonMessage_ShouldDeadLetterOnlyThatMessage() throws Exception {
+        Message valid = createMessage("{\"orderId\":\"1\"}", 1L);
+        Message poison = createMessage("{ invalid json }", 2L);
+        Order order = createOrder();
+        MessageConversionException malformed = new MessageConversionException("Failed to read order message",
+                new JsonParseException(null, "Malformed JSON"));
+        when(orderMessageReader.read(valid)).thenReturn(order);
+        when(orderMessageReader.read(poison)).thenThrow(malformed);
+        when(failedMessageRouter.route(poison, malformed)).thenReturn(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED);
+
+        orderBatchConsumer.receiveOrders(List.of(valid, poison), channel);
+
+        verify(processOrderUseCase, times(1)).execute(order);
+        verify(failedMessageRouter, never()).route(eq(valid), any());
+        verify(channel, times(1)).basicAck(1L, false);
+        verify(channel, times(1)).basicAck(2L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void receiveOrders_WhenProcessingFails_ShouldRerouteAndAckAndContinue() throws Exception {
+        Message failing = createMessage("{\"orderId\":\"1\"}", 1L);
+        Message valid = createMessage("{\"orderId\":\"2\"}", 2L);
+        Order failingOrder = createOrder();
+        Order validOrder = createOrder();
+        RuntimeException failure = new RuntimeException("Processing failed");
+        when(orderMessageReader.read(failing)).thenReturn(failingOrder);
+        when(orderMessageReader.read(valid)).thenReturn(validOrder);
+        doThrow(failure).when(processOrderUseCase).execute(failingOrder);
+        when(failedMessageRouter.route(failing, failure)).thenReturn(OrderPipelineMetrics.MESSAGE_RETRIED);
+
+        orderBatchConsumer.receiveOrders(List.of(failing, valid), channel);
+
+        verify(processOrderUseCase, times(1)).execute(validOrder);
+        verify(channel, times(1)).basicAck(1L, false);
+        verify(channel, times(1)).basicAck(2L, false);
+    }
+
+    @Test
+    void receiveOrders_WhenFailedMessageCannotBeRerouted_ShouldNackWithRequeue() throws Exception {
+        Message failing = createMessage("{\"orderId\":\"1\"}", 1L);
+        Order failingOrder = createOrder();
+        RuntimeException failure = new RuntimeException("Processing failed");
+        when(orderMessageReader.read(failing)).thenReturn(failingOrder);
+        doThrow(failure).when(processOrderUseCase).execute(failingOrder);
+        when(failedMessageRouter.route(failing, failure))
+                .thenThrow(new AmqpConnectException(new IOException("Broker unavailable")));
+
+        orderBatchConsumer.receiveOrders(List.of(failing), channel);
+
+        verify(channel, times(1)).basicNack(1L, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void receiveOrders_WithVirtualThreadExecutor_ShouldProcessOrdersConcurrently() throws Exception {
+        orderBatchConsumer = new OrderBatchConsumer(orderMessageReader, processOrderUseCase,
+                new VirtualThreadTaskExecutor("order-processing-test-"), failedMessageRouter, new OrderPipelineMetrics(new SimpleMeterRegistry()));
+        Message first = createMessage("{\"orderId\":\"1\"}", 1L);
+        Message second = createMessage("{\"orderId\":\"2\"}", 2L);
+        when(orderMessageReader.read(first)).thenReturn(createOrder());
+        when(orderMessageReader.read(second)).thenReturn(createOrder());
+
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothInFlight.countDown();
+            if (!bothInFlight.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Orders were not processed concurrently");
+            }
+            return null;
+        }).when(processOrderUseCase).execute(any(Order.class));
+
+        orderBatchConsumer.receiveOrders(List.of(first, second), channel);
+
+        verify(channel, times(1)).basicAck(1L, false);
+        verify(channel, times(1)).basicAck(2L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void receiveOrders_WithEmptyBatch_ShouldDoNothing() throws Exception {
+        orderBatchConsumer.receiveOrders(List.of(), channel);
+
+        verify(processOrderUseCase, never()).execute(any(Order.class));
+        verifyNoInteractions(channel);
+    }
+
+    private Message createMessage(String body, long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        return new Message(body.getBytes(), properties);
+    }
+
+    private Order createOrder() {
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setCustomerId(UUID.randomUUID());
+        return order;
+    }
+}
@@ -1,12 +1,19 @@
 package com.fiap.pedido.consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.pedido.configuration.OrderRetryTopology;
 import com.fiap.pedido.domain.Order;
 import com.fiap.pedido.domain.OrderStatus;
 import com.fiap.pedido.domain.PaymentStatus;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
 import com.fiap.pedido.usecase.ProcessOrderUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
@@ -15,6 +22,8 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -24,13 +33,20 @@ class OrderConsumerIntegrationTest {
     @MockBean
     private ProcessOrderUseCase processOrderUseCase;
 
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private OrderRetryTopology orderRetryTopology;
+
     private OrderConsumer orderConsumer;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        orderConsumer = new OrderConsumer(objectMapper, processOrderUseCase);
+        orderConsumer = new OrderConsumer(new OrderMessageReader(objectMapper), processOrderUseCase,
+                new FailedMessageRouter(rabbitTemplate, orderRetryTopology), new OrderPipelineMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -38,7 +54,7 @@ class OrderConsumerIntegrationTest {
         Order testOrder = createTestOrder();
         String orderJson = objectMapper.writeValueAsString(testOrder);
 
-        orderConsumer.receiveOrder(orderJson);
+        orderConsumer.receiveOrder(createMessage(orderJson));
 
         verify(processOrderUseCase, times(1)).execute(any(Order.class));
     }
@@ -47,23 +63,27 @@ class OrderConsumerIntegrationTest {
     void consume_WithInvalidJson_ShouldHandleGracefully() {
         String invalidJson = "{ invalid json }";
 
-        orderConsumer.receiveOrder(invalidJson);
+        orderConsumer.receiveOrder(createMessage(invalidJson));
 
         verify(processOrderUseCase, never()).execute(any(Order.class));
     }
 
     @Test
     void consume_WithEmptyMessage_ShouldHandleGracefully() {
-        orderConsumer.receiveOrder("");
+        orderConsumer.receiveOrder(createMessage(""));
 
         verify(processOrderUseCase, never()).execute(any(Order.class));
     }
 
     @Test
-    void consume_WithNullMessage_ShouldHandleGracefully() {
-        orderConsumer.receiveOrder(null);
+    void consume_WithInvalidJson_ShouldMoveMessageToDeadLetterQueue() {
+        Message message = createMessage("{ invalid json }");
 
-        verify(processOrderUseCase, never()).execute(any(Order.class));
+        orderConsumer.receiveOrder(message);
+
+        verify(rabbitTemplate, times(1)).send(eq(""), eq("order-queue.dlq"), eq(message));
+        verify(rabbitTemplate, never()).send(eq("order-queue.retry"), any(String.class), any(Message.class));
+        assertEquals("order-queue", message.getMessageProperties().getHeader("x-original-queue"));
     }
 
     @Test
@@ -73,11 +93,15 @@ class OrderConsumerIntegrationTest {
 
         doThrow(new RuntimeException("Processing error")).when(processOrderUseCase).execute(any(Order.class));
 
-        orderConsumer.receiveOrder(orderJson);
+        orderConsumer.receiveOrder(createMessage(orderJson));
 
         verify(processOrderUseCase, times(1)).execute(any(Order.class));
     }
 
+    private Message createMessage(String body) {
+        return new Message(body.getBytes(), new MessageProperties());
+    }
+
     private Order createTestOrder() {
         Order order = new Order();
         order.setOrderId(UUID.randomUUID());
@@ -1,33 +1,45 @@
 package com.fiap.pedido.consumer;
 
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fiap.pedido.domain.Item;
 import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
 import com.fiap.pedido.usecase.ProcessOrderUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class OrderConsumerTest {
 
     @Mock
-    private ObjectMapper objectMapper;
+    private OrderMessageReader orderMessageReader;
 
     @Mock
     private ProcessOrderUseCase processOrderUseCase;
 
+    @Mock
+    private FailedMessageRouter failedMessageRouter;
+
     private OrderConsumer orderConsumer;
 
     private Order testOrder;
@@ -35,7 +47,8 @@ class OrderConsumerTest {
 
     @BeforeEach
     void setUp() {
-        orderConsumer = new OrderConsumer(objectMapper, processOrderUseCase);
+        orderConsumer = new OrderConsumer(orderMessageReader, processOrderUseCase, failedMessageRouter,
+                new OrderPipelineMetrics(new SimpleMeterRegistry()));
 
         Item item = new Item();
         item.setSku("SKU001");
@@ -55,59 +68,83 @@ class OrderConsumerTest {
 
     @Test
     void receiveOrder_ShouldProcessOrderSuccessfully() throws Exception {
-        when(objectMapper.readValue(validOrderMessage, Order.class)).thenReturn(testOrder);
+        when(orderMessageReader.read(messageWithBody(validOrderMessage))).thenReturn(testOrder);
         doNothing().when(processOrderUseCase).execute(testOrder);
 
-        assertDoesNotThrow(() -> orderConsumer.receiveOrder(validOrderMessage));
+        assertDoesNotThrow(() -> orderConsumer.receiveOrder(createMessage(validOrderMessage)));
 
-        verify(objectMapper, times(1)).readValue(validOrderMessage, Order.class);
+        verify(orderMessageReader, times(1)).read(messageWithBody(validOrderMessage));
         verify(processOrderUseCase, times(1)).execute(testOrder);
     }
 
     @Test
     void receiveOrder_WhenDeserializationFails_ShouldLogErrorAndNotCrash() throws Exception {
         RuntimeException deserializationException = new RuntimeException("Failed to parse order message");
-        when(objectMapper.readValue(validOrderMessage, Order.class)).thenThrow(deserializationException);
+        when(orderMessageReader.read(messageWithBody(validOrderMessage))).thenThrow(deserializationException);
+        when(failedMessageRouter.route(any(Message.class), any(Exception.class)))
+                .thenReturn(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED);
 
-        assertDoesNotThrow(() -> orderConsumer.receiveOrder(validOrderMessage));
+        assertDoesNotThrow(() -> orderConsumer.receiveOrder(createMessage(validOrderMessage)));
 
-        verify(objectMapper, times(1)).readValue(validOrderMessage, Order.class);
+        verify(orderMessageReader, times(1)).read(messageWithBody(validOrderMessage));
         verify(processOrderUseCase, never()).execute(any(Order.class));
     }
 
     @Test
     void receiveOrder_WhenProcessOrderUseCaseThrowsException_ShouldLogErrorAndNotCrash() throws Exception {
         RuntimeException processException = new RuntimeException("Processing failed");
-        when(objectMapper.readValue(validOrderMessage, Order.class)).thenReturn(testOrder);
+        when(orderMessageReader.read(messageWithBody(validOrderMessage))).thenReturn(testOrder);
         doThrow(processException).when(processOrderUseCase).execute(testOrder);
+        when(failedMessageRouter.route(any(Message.class), any(Exception.class)))
+                .thenReturn(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED);
 
-        assertDoesNotThrow(() -> orderConsumer.receiveOrder(validOrderMessage));
+        assertDoesNotThrow(() -> orderConsumer.receiveOrder(createMessage(validOrderMessage)));
 
-        verify(objectMapper, times(1)).readValue(validOrderMessage, Order.class);
+        verify(orderMessageReader, times(1)).read(messageWithBody(validOrderMessage));
         verify(processOrderUseCase, times(1)).execute(testOrder);
+        verify(failedMessageRouter, times(1)).route(any(Message.class), eq(processException));
+    }
+
+    @Test
+    void receiveOrder_WhenFailedMessageCannotBeRerouted_ShouldPropagateSoTheMessageIsRequeued() throws Exception {
+        RuntimeException processException = new RuntimeException("Processing failed");
+        AmqpConnectException publishException = new AmqpConnectException(new IOException("Broker unavailable"));
+        when(orderMessageReader.read(messageWithBody(validOrderMessage))).thenReturn(testOrder);
+        doThrow(processException).when(processOrderUseCase).execute(testOrder);
+        when(failedMessageRouter.route(any(Message.class), eq(processException))).thenThrow(publishException);
+
+        AmqpConnectException exception = assertThrows(AmqpConnectException.class,
+                () -> orderConsumer.receiveOrder(createMessage(validOrderMessage)));
+
+        assertEquals(publishException, exception);
     }
 
     @Test
     void receiveOrder_WithEmptyMessage_ShouldHandleGracefully() throws Exception {
         String emptyMessage = "";
         RuntimeException deserializationException = new RuntimeException("Failed to parse order message");
-        when(objectMapper.readValue(emptyMessage, Order.class)).thenThrow(deserializationException);
+        when(orderMessageReader.read(messageWithBody(emptyMessage))).thenThrow(deserializationException);
+        when(failedMessageRouter.route(any(Message.class), any(Exception.class)))
+                .thenReturn(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED);
 
-        assertDoesNotThrow(() -> orderConsumer.receiveOrder(emptyMessage));
+        assertDoesNotThrow(() -> orderConsumer.receiveOrder(createMessage(emptyMessage)));
 
-        verify(objectMapper, times(1)).readValue(emptyMessage, Order.class);
+        verify(orderMessageReader, times(1)).read(messageWithBody(emptyMessage));
         verify(processOrderUseCase, never()).execute(any(Order.class));
     }
 
     @Test
     void receiveOrder_WithInvalidJsonStructure_ShouldHandleGracefully() throws Exception {
         String invalidJson = "{invalid:json}";
-        JsonMappingException deserializationException = new JsonMappingException("Malformed JSON");
-        when(objectMapper.readValue(invalidJson, Order.class)).thenThrow(deserializationException);
+        MessageConversionException deserializationException = new MessageConversionException(
+                "Failed to read order message", new JsonMappingException("Malformed JSON"));
+        when(orderMessageReader.read(messageWithBody(invalidJson))).thenThrow(deserializationException);
+        when(failedMessageRouter.route(any(Message.class), any(Exception.class)))
+                .thenReturn(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED);
 
-        assertDoesNotThrow(() -> orderConsumer.receiveOrder(invalidJson));
+        assertDoesNotThrow(() -> orderConsumer.receiveOrder(createMessage(invalidJson)));
 
-        verify(objectMapper, times(1)).readValue(invalidJson, Order.class);
+        verify(orderMessageReader, times(1)).read(messageWithBody(invalidJson));
         verify(processOrderUseCase, never()).execute(any(Order.class));
     }
 
@@ -118,24 +155,32 @@ class OrderConsumerTest {
         partialOrder.setCustomerId(UUID.randomUUID());
 
         String partialMessage = "{\"orderId\":\"" + partialOrder.getOrderId() + "\"}";
-        when(objectMapper.readValue(partialMessage, Order.class)).thenReturn(partialOrder);
+        when(orderMessageReader.read(messageWithBody(partialMessage))).thenReturn(partialOrder);
         doNothing().when(processOrderUseCase).execute(partialOrder);
 
-        assertDoesNotThrow(() -> orderConsumer.receiveOrder(partialMessage));
+        assertDoesNotThrow(() -> orderConsumer.receiveOrder(createMessage(partialMessage)));
 
-        verify(objectMapper, times(1)).readValue(partialMessage, Order.class);
+        verify(orderMessageReader, times(1)).read(messageWithBody(partialMessage));
         verify(processOrderUseCase, times(1)).execute(partialOrder);
     }
 
     @Test
     void receiveOrder_WithComplexOrderData_ShouldProcessSuccessfully() throws Exception {
         String complexMessage = "{\"orderId\":\"" + testOrder.getOrderId() + "\",\"customerId\":\"" + testOrder.getCustomerId() + "\",\"items\":[{\"sku\":\"SKU001\",\"quantity\":2}]}";
-        when(objectMapper.readValue(complexMessage, Order.class)).thenReturn(testOrder);
+        when(orderMessageReader.read(messageWithBody(complexMessage))).thenReturn(testOrder);
         doNothing().when(processOrderUseCase).execute(testOrder);
 
-        assertDoesNotThrow(() -> orderConsumer.receiveOrder(complexMessage));
+        assertDoesNotThrow(() -> orderConsumer.receiveOrder(createMessage(complexMessage)));
 
-        verify(objectMapper, times(1)).readValue(complexMessage, Order.class);
+        verify(orderMessageReader, times(1)).read(messageWithBody(complexMessage));
         verify(processOrderUseCase, times(1)).execute(testOrder);
     }
+
+    private Message createMessage(String body) {
+        return new Message(body.getBytes(), new MessageProperties());
+    }
+
+    private static Message messageWithBody(String body) {
+        return argThat(message -> Arrays.equals(body.getBytes(), message.getBody()));
+    }
 }
@@ -0,0 +1,47 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.configuration.BeanConfiguration;
+import com.fiap.pedido.domain.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderMessageReaderTest {
+
+    private OrderMessageReader orderMessageReader;
+
+    @BeforeEach
+    void setUp() {
+        orderMessageReader = new OrderMessageReader(new BeanConfiguration().objectMapper());
+    }
+
+    @Test
+    void read_ShouldReadOrderFromBodyBytes() {
+        UUID orderId = UUID.randomUUID();
+        String body = "{\"orderId\":\"" + orderId + "\",\"items\":[{\"sku\":\"SKU001\",\"quantity\":2}]}";
+
+        Order order = orderMessageReader.read(
+                new Message(body.getBytes(StandardCharsets.UTF_8), new MessageProperties()));
+
+        assertEquals(orderId, order.getOrderId());
+        assertEquals(1, order.getItems().size());
+        assertEquals("SKU001", order.getItems().getFirst().getSku());
+    }
+
+    @Test
+    void read_WithInvalidJson_ShouldThrowMessageConversionException() {
+        Message message = new Message("{ invalid json }".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        MessageConversionException exception = assertThrows(MessageConversionException.class,
+                () -> orderMessageReader.read(message));
+
+        assertEquals("Failed to read order message", exception.getMessage());
+    }
+}
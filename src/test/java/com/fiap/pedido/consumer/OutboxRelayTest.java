@@ -0,0 +1,162 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.domain.OutboxTask;
+import com.fiap.pedido.domain.OutboxTaskType;
+import com.fiap.pedido.gateway.OutboxGateway;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.FulfillOrderStepUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxGateway outboxGateway;
+
+    @Mock
+    private FulfillOrderStepUseCase fulfillOrderStepUseCase;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxGateway, fulfillOrderStepUseCase, new SyncTaskExecutor(),
+                new OrderPipelineMetrics(meterRegistry), BATCH_SIZE, LEASE, MAX_ATTEMPTS,
+                Duration.ofSeconds(1), Duration.ofSeconds(3));
+    }
+
+    @Test
+    void relay_ShouldRunEveryClaimedTask() {
+        OutboxTask first = task(0);
+        OutboxTask renewed = renewed(first);
+        when(outboxGateway.claim(BATCH_SIZE, LEASE)).thenReturn(List.of(first));
+        when(outboxGateway.renew(first, LEASE)).thenReturn(Optional.of(renewed));
+
+        outboxRelay.relay();
+
+        verify(fulfillOrderStepUseCase, times(1)).execute(renewed);
+        verify(outboxGateway, never()).reschedule(any(), anyInt(), any(), any());
+        assertEquals(1.0, meterRegistry.get("order.outbox.tasks").tag("result", "completed").counter().count());
+    }
+
+    @Test
+    void relay_WhenBatchIsFull_ShouldKeepClaimingUntilTheOutboxIsDrained() {
+        when(outboxGateway.claim(BATCH_SIZE, LEASE))
+                .thenReturn(List.of(task(0), task(0)))
+                .thenReturn(List.of(task(0)));
+        renewEveryLease();
+
+        outboxRelay.relay();
+
+        verify(outboxGateway, times(2)).claim(BATCH_SIZE, LEASE);
+        verify(fulfillOrderStepUseCase, times(3)).execute(any(OutboxTask.class));
+    }
+
+    @Test
+    void relay_WhenLeaseWasTakenOverByAnotherRelay_ShouldSkipTheTask() {
+        OutboxTask first = task(0);
+        OutboxTask second = task(0);
+        when(outboxGateway.claim(BATCH_SIZE, LEASE)).thenReturn(List.of(first, second)).thenReturn(List.of());
+        when(outboxGateway.renew(first, LEASE)).thenReturn(Optional.empty());
+        when(outboxGateway.renew(second, LEASE)).thenReturn(Optional.of(second));
+
+        outboxRelay.relay();
+
+        verify(fulfillOrderStepUseCase, never()).execute(first);
+        verify(fulfillOrderStepUseCase, times(1)).execute(second);
+        verify(outboxGateway, never()).reschedule(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void relay_WhenLeaseCannotBeRenewed_ShouldLeaveTheTaskForItsLeaseToExpire() {
+        OutboxTask task = task(0);
+        when(outboxGateway.claim(BATCH_SIZE, LEASE)).thenReturn(List.of(task));
+        when(outboxGateway.renew(task, LEASE)).thenThrow(new RuntimeException("Database unavailable"));
+
+        assertDoesNotThrow(() -> outboxRelay.relay());
+
+        verifyNoInteractions(fulfillOrderStepUseCase);
+        verify(outboxGateway, never()).reschedule(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void relay_WhenTaskFails_ShouldRescheduleItWithBackoff() {
+        OutboxTask task = task(1);
+        when(outboxGateway.claim(BATCH_SIZE, LEASE)).thenReturn(List.of(task));
+        renewEveryLease();
+        doThrow(new RuntimeException("Stock service unavailable")).when(fulfillOrderStepUseCase).execute(task);
+        Instant before = Instant.now();
+
+        outboxRelay.relay();
+
+        verify(outboxGateway, times(1)).reschedule(eq(task.id()), eq(2),
+                argThat(nextAttemptAt -> !nextAttemptAt.isBefore(before.plusSeconds(2))),
+                eq("Stock service unavailable"));
+        verify(fulfillOrderStepUseCase, never()).abandon(any());
+        assertEquals(1.0, meterRegistry.get("order.outbox.tasks").tag("result", "retried").counter().count());
+    }
+
+    @Test
+    void relay_WhenRetriesAreExhausted_ShouldAbandonTheTask() {
+        OutboxTask task = task(MAX_ATTEMPTS - 1);
+        when(outboxGateway.claim(BATCH_SIZE, LEASE)).thenReturn(List.of(task));
+        renewEveryLease();
+        doThrow(new RuntimeException("Stock service unavailable")).when(fulfillOrderStepUseCase).execute(task);
+
+        outboxRelay.relay();
+
+        verify(fulfillOrderStepUseCase, times(1)).abandon(task);
+        verify(outboxGateway, never()).reschedule(any(), anyInt(), any(), anyString());
+        assertEquals(1.0, meterRegistry.get("order.outbox.tasks").tag("result", "exhausted").counter().count());
+    }
+
+    @Test
+    void backoff_ShouldDoubleEveryAttemptUpToTheMaximum() {
+        assertEquals(Duration.ofSeconds(1), outboxRelay.backoff(1));
+        assertEquals(Duration.ofSeconds(2), outboxRelay.backoff(2));
+        assertEquals(Duration.ofSeconds(3), outboxRelay.backoff(3));
+        assertEquals(Duration.ofSeconds(3), outboxRelay.backoff(40));
+    }
+
+    private void renewEveryLease() {
+        when(outboxGateway.renew(any(OutboxTask.class), eq(LEASE)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0, OutboxTask.class)));
+    }
+
+    private OutboxTask task(int attempts) {
+        return new OutboxTask(UUID.randomUUID(), UUID.randomUUID(), OutboxTaskType.DEDUCT_STOCK, attempts,
+                Instant.now().plus(LEASE));
+    }
+
+    private OutboxTask renewed(OutboxTask task) {
+        return new OutboxTask(task.id(), task.orderId(), task.type(), task.attempts(),
+                task.leasedUntil().plusSeconds(30));
+    }
+}
@@ -0,0 +1,99 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderCursor;
+import com.fiap.pedido.domain.OrderPage;
+import com.fiap.pedido.domain.PaymentReconciliation;
+import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.usecase.ReconcilePaymentsUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconcilerTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final Duration STALE_AFTER = Duration.ofMinutes(5);
+
+    @Mock
+    private OrderGateway orderGateway;
+
+    @Mock
+    private ReconcilePaymentsUseCase reconcilePaymentsUseCase;
+
+    private PaymentReconciler paymentReconciler;
+
+    @BeforeEach
+    void setUp() {
+        paymentReconciler = new PaymentReconciler(orderGateway, reconcilePaymentsUseCase, PAGE_SIZE, STALE_AFTER);
+    }
+
+    @Test
+    void reconcile_ShouldOnlyLookAtOrdersOlderThanStaleAfter() {
+        Instant before = Instant.now();
+        when(orderGateway.findPendingPayments(any(), isNull(), eq(PAGE_SIZE)))
+                .thenReturn(new OrderPage(List.of(), null));
+        when(reconcilePaymentsUseCase.execute(List.of())).thenReturn(PaymentReconciliation.none());
+
+        paymentReconciler.reconcile();
+
+        verify(orderGateway).findPendingPayments(argThat(createdBefore ->
+                !createdBefore.isAfter(Instant.now().minus(STALE_AFTER))
+                        && !createdBefore.isBefore(before.minus(STALE_AFTER))), isNull(), eq(PAGE_SIZE));
+    }
+
+    @Test
+    void reconcile_ShouldReconcileEveryPageWithOneCallPerPage() {
+        Order first = order();
+        Order second = order();
+        Order third = order();
+        OrderCursor cursor = OrderCursor.of(second);
+        when(orderGateway.findPendingPayments(any(), isNull(), eq(PAGE_SIZE)))
+                .thenReturn(new OrderPage(List.of(first, second), cursor));
+        when(orderGateway.findPendingPayments(any(), eq(cursor), eq(PAGE_SIZE)))
+                .thenReturn(new OrderPage(List.of(third), null));
+        when(reconcilePaymentsUseCase.execute(anyList())).thenReturn(PaymentReconciliation.none());
+
+        paymentReconciler.reconcile();
+
+        verify(reconcilePaymentsUseCase, times(1)).execute(List.of(first.getPaymentId(), second.getPaymentId()));
+        verify(reconcilePaymentsUseCase, times(1)).execute(List.of(third.getPaymentId()));
+    }
+
+    @Test
+    void reconcile_WhenPaymentServiceFails_ShouldStopTheRun() {
+        Order first = order();
+        when(orderGateway.findPendingPayments(any(), isNull(), eq(PAGE_SIZE)))
+                .thenReturn(new OrderPage(List.of(first, order()), OrderCursor.of(first)));
+        when(reconcilePaymentsUseCase.execute(anyList())).thenThrow(new ResourceAccessException("Connection refused"));
+
+        paymentReconciler.reconcile();
+
+        verify(orderGateway, times(1)).findPendingPayments(any(), any(), anyInt());
+        verify(reconcilePaymentsUseCase, times(1)).execute(anyList());
+    }
+
+    private Order order() {
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setPaymentId(UUID.randomUUID());
+        order.setCreatedAt(Instant.now().minus(Duration.ofHours(1)));
+        return order;
+    }
+}
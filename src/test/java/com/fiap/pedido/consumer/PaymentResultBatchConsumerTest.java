@@ -0,0 +1,208 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.configuration.OrderRetryTopology;
+import com.fiap.pedido.domain.PaymentReconciliation;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.ReconcilePaymentsUseCase;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentResultBatchConsumerTest {
+
+    @Mock
+    private ReconcilePaymentsUseCase reconcilePaymentsUseCase;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel channel;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PaymentResultBatchConsumer paymentResultBatchConsumer;
+
+    @BeforeEach
+    void setUp() {
+        paymentResultBatchConsumer = new PaymentResultBatchConsumer(reconcilePaymentsUseCase,
+                new FailedMessageRouter(rabbitTemplate, new OrderRetryTopology("payment-result-queue",
+                        "payment-result-queue.retry",
+                        List.of("payment-result-queue.retry.1", "payment-result-queue.retry.2"),
+                        "payment-result-queue.dlq")),
+                new OrderPipelineMetrics(meterRegistry));
+    }
+
+    @Test
+    void receivePaymentResults_ShouldCloseTheWholeBatchInOneCallAndAckEveryMessage() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(reconcilePaymentsUseCase.execute(Set.of(first, second)))
+                .thenReturn(new PaymentReconciliation(2, Set.of()));
+
+        paymentResultBatchConsumer.receivePaymentResults(List.of(
+                createMessage(first.toString(), 1L),
+                createMessage(second.toString(), 2L),
+                createMessage(first.toString(), 3L)), channel);
+
+        verify(reconcilePaymentsUseCase, times(1)).execute(Set.of(first, second));
+        verify(channel, times(1)).basicAck(1L, false);
+        verify(channel, times(1)).basicAck(2L, false);
+        verify(channel, times(1)).basicAck(3L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        assertEquals(3.0, messages(OrderPipelineMetrics.MESSAGE_PROCESSED));
+    }
+
+    @Test
+    void receivePaymentResults_WithInvalidPaymentId_ShouldDeadLetterOnlyThatMessage() throws Exception {
+        UUID paymentId = UUID.randomUUID();
+        when(reconcilePaymentsUseCase.execute(Set.of(paymentId))).thenReturn(new PaymentReconciliation(1, Set.of()));
+
+        paymentResultBatchConsumer.receivePaymentResults(List.of(
+                createMessage(paymentId.toString(), 1L),
+                createMessage("not-a-payment", 2L)), channel);
+
+        verify(reconcilePaymentsUseCase, times(1)).execute(Set.of(paymentId));
+        verify(channel, times(1)).basicAck(1L, false);
+        verify(channel, times(1)).basicNack(2L, false, false);
+        assertEquals(1.0, messages(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED));
+    }
+
+    @Test
+    void receivePaymentResults_WhenEveryMessageIsInvalid_ShouldNotCloseAnyOrder() throws Exception {
+        paymentResultBatchConsumer.receivePaymentResults(List.of(createMessage("", 1L)), channel);
+
+        verify(channel, times(1)).basicNack(1L, false, false);
+        verifyNoInteractions(reconcilePaymentsUseCase);
+    }
+
+    @Test
+    void receivePaymentResults_WhenPaymentIsNotSettled_ShouldDelayOnlyItsMessageThroughTheFirstRetryTier()
+            throws Exception {
+        UUID settled = UUID.randomUUID();
+        UUID inProgress = UUID.randomUUID();
+        when(reconcilePaymentsUseCase.execute(Set.of(settled, inProgress)))
+                .thenReturn(new PaymentReconciliation(1, Set.of(inProgress)));
+        Message pending = createMessage(inProgress.toString(), 2L);
+
+        paymentResultBatchConsumer.receivePaymentResults(List.of(createMessage(settled.toString(), 1L), pending),
+                channel);
+
+        verify(rabbitTemplate, times(1)).send(anyString(), anyString(), any(Message.class));
+        verify(rabbitTemplate, times(1)).send("payment-result-queue.retry", "payment-result-queue.retry.1", pending);
+        verify(channel, times(1)).basicAck(1L, false);
+        verify(channel, times(1)).basicAck(2L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        assertEquals(1.0, messages(OrderPipelineMetrics.MESSAGE_PROCESSED));
+        assertEquals(1.0, messages(OrderPipelineMetrics.MESSAGE_RETRIED));
+    }
+
+    @Test
+    void receivePaymentResults_WhenPaymentIsNeverSettled_ShouldDeadLetterItOnceRetriesAreExhausted()
+            throws Exception {
+        UUID paymentId = UUID.randomUUID();
+        when(reconcilePaymentsUseCase.execute(Set.of(paymentId)))
+                .thenReturn(new PaymentReconciliation(0, Set.of(paymentId)));
+        Message message = createMessage(paymentId.toString(), 1L);
+        message.getMessageProperties().setHeader(FailedMessageRouter.RETRY_COUNT_HEADER, 2);
+
+        paymentResultBatchConsumer.receivePaymentResults(List.of(message), channel);
+
+        verify(rabbitTemplate, times(1)).send("", "payment-result-queue.dlq", message);
+        verify(channel, times(1)).basicAck(1L, false);
+        assertEquals(1.0, messages(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED));
+    }
+
+    @Test
+    void receivePaymentResults_WhenDatabaseFailsTransiently_ShouldDelayTheBatchThroughTheFirstRetryTier()
+            throws Exception {
+        when(reconcilePaymentsUseCase.execute(any())).thenThrow(new QueryTimeoutException("Lock wait timeout"));
+        Message first = createMessage(UUID.randomUUID().toString(), 1L);
+        Message second = createMessage(UUID.randomUUID().toString(), 2L);
+
+        paymentResultBatchConsumer.receivePaymentResults(List.of(first, second), channel);
+
+        verify(rabbitTemplate, times(1)).send("payment-result-queue.retry", "payment-result-queue.retry.1", first);
+        verify(rabbitTemplate, times(1)).send("payment-result-queue.retry", "payment-result-queue.retry.1", second);
+        verify(channel, times(1)).basicAck(1L, false);
+        verify(channel, times(1)).basicAck(2L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        assertEquals(2.0, messages(OrderPipelineMetrics.MESSAGE_RETRIED));
+    }
+
+    @Test
+    void receivePaymentResults_WhenRetriesAreExhausted_ShouldDeadLetterTheBatch() throws Exception {
+        when(reconcilePaymentsUseCase.execute(any())).thenThrow(new QueryTimeoutException("Lock wait timeout"));
+        Message message = createMessage(UUID.randomUUID().toString(), 1L);
+        message.getMessageProperties().setHeader(FailedMessageRouter.RETRY_COUNT_HEADER, 2);
+
+        paymentResultBatchConsumer.receivePaymentResults(List.of(message), channel);
+
+        verify(rabbitTemplate, times(1)).send("", "payment-result-queue.dlq", message);
+        verify(channel, times(1)).basicAck(1L, false);
+        assertEquals(1.0, messages(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED));
+    }
+
+    @Test
+    void receivePaymentResults_WhenFailureIsPermanent_ShouldDeadLetterTheBatch() throws Exception {
+        when(reconcilePaymentsUseCase.execute(any())).thenThrow(new IllegalStateException("Unexpected status"));
+        Message message = createMessage(UUID.randomUUID().toString(), 1L);
+
+        paymentResultBatchConsumer.receivePaymentResults(List.of(message), channel);
+
+        verify(rabbitTemplate, times(1)).send("", "payment-result-queue.dlq", message);
+        verify(channel, times(1)).basicAck(1L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void receivePaymentResults_WhenRepublishingFails_ShouldRequeueTheMessage() throws Exception {
+        when(reconcilePaymentsUseCase.execute(any())).thenThrow(new QueryTimeoutException("Lock wait timeout"));
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+
+        paymentResultBatchConsumer.receivePaymentResults(List.of(createMessage(UUID.randomUUID().toString(), 1L)),
+                channel);
+
+        verify(channel, times(1)).basicNack(1L, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        assertEquals(1.0, messages(OrderPipelineMetrics.MESSAGE_FAILED));
+    }
+
+    private double messages(String result) {
+        return meterRegistry.get("order.messages")
+                .tag("listener", PaymentResultBatchConsumer.LISTENER)
+                .tag("result", result)
+                .counter().count();
+    }
+
+    private Message createMessage(String body, long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
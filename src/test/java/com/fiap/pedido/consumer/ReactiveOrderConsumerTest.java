@@ -0,0 +1,106 @@
+package com.fiap.pedido.consumer;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.reactive.ReactiveProcessOrderUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderConsumerTest {
+
+    @Mock
+    private OrderMessageReader orderMessageReader;
+
+    @Mock
+    private ReactiveProcessOrderUseCase processOrderUseCase;
+
+    @Mock
+    private FailedMessageRouter failedMessageRouter;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReactiveOrderConsumer orderConsumer;
+
+    private Message message;
+    private Order testOrder;
+
+    @BeforeEach
+    void setUp() {
+        orderConsumer = new ReactiveOrderConsumer(orderMessageReader, processOrderUseCase, failedMessageRouter,
+                new OrderPipelineMetrics(meterRegistry));
+
+        message = new Message("{\"orderId\":\"1\"}".getBytes(), new MessageProperties());
+        testOrder = new Order();
+        testOrder.setOrderId(UUID.randomUUID());
+    }
+
+    @Test
+    void receiveOrder_ShouldCompleteWhenOrderIsProcessed() {
+        when(orderMessageReader.read(message)).thenReturn(testOrder);
+        when(processOrderUseCase.execute(testOrder)).thenReturn(Mono.empty());
+
+        StepVerifier.create(orderConsumer.receiveOrder(message)).verifyComplete();
+
+        verifyNoInteractions(failedMessageRouter);
+        assertEquals(1.0, meterRegistry.get("order.messages").tag("listener", "reactive")
+                .tag("result", OrderPipelineMetrics.MESSAGE_PROCESSED).counter().count());
+    }
+
+    @Test
+    void receiveOrder_WhenDeserializationFails_ShouldRouteMessage() {
+        MessageConversionException malformed = new MessageConversionException("Failed to read order message");
+        when(orderMessageReader.read(message)).thenThrow(malformed);
+        when(failedMessageRouter.route(message, malformed)).thenReturn(OrderPipelineMetrics.MESSAGE_DEAD_LETTERED);
+
+        StepVerifier.create(orderConsumer.receiveOrder(message)).verifyComplete();
+
+        verifyNoInteractions(processOrderUseCase);
+        assertEquals(1.0, meterRegistry.get("order.messages").tag("listener", "reactive")
+                .tag("result", OrderPipelineMetrics.MESSAGE_DEAD_LETTERED).counter().count());
+    }
+
+    @Test
+    void receiveOrder_WhenProcessingFails_ShouldRouteMessageForRetry() {
+        RuntimeException failure = new RuntimeException("Processing failed");
+        when(orderMessageReader.read(message)).thenReturn(testOrder);
+        when(processOrderUseCase.execute(testOrder)).thenReturn(Mono.error(failure));
+        when(failedMessageRouter.route(message, failure)).thenReturn(OrderPipelineMetrics.MESSAGE_RETRIED);
+
+        StepVerifier.create(orderConsumer.receiveOrder(message)).verifyComplete();
+
+        verify(failedMessageRouter, times(1)).route(message, failure);
+    }
+
+    @Test
+    void receiveOrder_WhenFailedMessageCannotBeRerouted_ShouldFailSoTheMessageIsRequeued() {
+        RuntimeException failure = new RuntimeException("Processing failed");
+        AmqpConnectException publishException = new AmqpConnectException(new IOException("Broker unavailable"));
+        when(orderMessageReader.read(message)).thenReturn(testOrder);
+        when(processOrderUseCase.execute(testOrder)).thenReturn(Mono.error(failure));
+        when(failedMessageRouter.route(any(Message.class), any(Exception.class))).thenThrow(publishException);
+
+        StepVerifier.create(orderConsumer.receiveOrder(message))
+                .expectErrorSatisfies(error -> assertSame(publishException, error))
+                .verify(Duration.ofSeconds(5));
+    }
+}
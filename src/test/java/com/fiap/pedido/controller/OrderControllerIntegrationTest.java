@@ -2,9 +2,13 @@ package com.fiap.pedido.controller;
 
 import com.fiap.pedido.domain.Item;
 import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderCursor;
+import com.fiap.pedido.domain.OrderFilter;
+import com.fiap.pedido.domain.OrderPage;
 import com.fiap.pedido.domain.OrderStatus;
 import com.fiap.pedido.domain.PaymentStatus;
 import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.usecase.RetrieveAllOrdersUseCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,16 +18,28 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -66,37 +82,99 @@ class OrderControllerIntegrationTest {
     }
 
     @Test
-    void getAllOrders_ShouldReturnListOfOrders() throws Exception {
+    void getAllOrders_ShouldReturnPageOfOrders() throws Exception {
         List<Order> orders = Arrays.asList(testOrder1, testOrder2);
-        when(orderGateway.findAll()).thenReturn(orders);
+        when(orderGateway.findAll(any(OrderFilter.class), isNull(), eq(50))).thenReturn(new OrderPage(orders, null));
 
         mockMvc.perform(get("/orders")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(testOrder1.getOrderId().toString()))
-                .andExpect(jsonPath("$[0].customer.name").value("John Doe"))
-                .andExpect(jsonPath("$[0].customer.cpf").value("12345678901"))
-                .andExpect(jsonPath("$[0].status").value(testOrder1.getStatus().toString()))
-                .andExpect(jsonPath("$[0].payment.status").value(testOrder1.getPaymentStatus().toString()))
-                .andExpect(jsonPath("$[0].payment.amount").value(150.00))
-                .andExpect(jsonPath("$[1].id").value(testOrder2.getOrderId().toString()))
-                .andExpect(jsonPath("$[1].customer.name").value("Jane Smith"))
-                .andExpect(jsonPath("$[1].status").value(testOrder2.getStatus().toString()));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.items[0].id").value(testOrder1.getOrderId().toString()))
+                .andExpect(jsonPath("$.items[0].customer.name").value("John Doe"))
+                .andExpect(jsonPath("$.items[0].customer.cpf").value("12345678901"))
+                .andExpect(jsonPath("$.items[0].status").value(testOrder1.getStatus().toString()))
+                .andExpect(jsonPath("$.items[0].payment.status").value(testOrder1.getPaymentStatus().toString()))
+                .andExpect(jsonPath("$.items[0].payment.amount").value(150.00))
+                .andExpect(jsonPath("$.items[1].id").value(testOrder2.getOrderId().toString()))
+                .andExpect(jsonPath("$.items[1].customer.name").value("Jane Smith"))
+                .andExpect(jsonPath("$.items[1].status").value(testOrder2.getStatus().toString()));
     }
 
     @Test
-    void getAllOrders_WhenNoOrders_ShouldReturnEmptyList() throws Exception {
-        when(orderGateway.findAll()).thenReturn(Arrays.asList());
+    void getAllOrders_WhenNoOrders_ShouldReturnEmptyPage() throws Exception {
+        when(orderGateway.findAll(any(OrderFilter.class), isNull(), anyInt())).thenReturn(new OrderPage(List.of(), null));
 
         mockMvc.perform(get("/orders")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void getAllOrders_WithFiltersAndCursor_ShouldPassThemToGatewayAndReturnNextCursor() throws Exception {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        OrderCursor after = new OrderCursor(Instant.parse("2025-01-02T10:15:30.123456Z"), UUID.randomUUID());
+        testOrder1.setCreatedAt(Instant.parse("2025-01-03T08:00:00Z"));
+        OrderCursor next = OrderCursor.of(testOrder1);
+        OrderFilter expectedFilter = new OrderFilter(OrderStatus.ABERTO, testOrder1.getCustomerId(), from, null);
+        when(orderGateway.findAll(expectedFilter, after, 1)).thenReturn(new OrderPage(List.of(testOrder1), next));
+
+        mockMvc.perform(get("/orders")
+                        .param("status", "ABERTO")
+                        .param("customerId", testOrder1.getCustomerId().toString())
+                        .param("from", from.toString())
+                        .param("cursor", after.encode())
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].createdAt").value("2025-01-03T08:00:00Z"))
+                .andExpect(jsonPath("$.nextCursor").value(next.encode()));
+    }
+
+    @Test
+    void getAllOrders_WithLimitAboveMaximum_ShouldClampIt() throws Exception {
+        when(orderGateway.findAll(any(OrderFilter.class), isNull(), eq(RetrieveAllOrdersUseCase.MAX_PAGE_SIZE)))
+                .thenReturn(new OrderPage(List.of(), null));
+
+        mockMvc.perform(get("/orders").param("limit", "100000"))
+                .andExpect(status().isOk());
+
+        verify(orderGateway).findAll(any(OrderFilter.class), isNull(), eq(RetrieveAllOrdersUseCase.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void getAllOrders_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/orders").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportOrders_ShouldStreamOneJsonDocumentPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Order> sink = invocation.getArgument(1);
+            sink.accept(testOrder1);
+            sink.accept(testOrder2);
+            return null;
+        }).when(orderGateway).forEach(any(OrderFilter.class), any());
+
+        MvcResult result = mockMvc.perform(get("/orders").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains(testOrder1.getOrderId().toString()));
+        assertTrue(lines[1].contains(testOrder2.getOrderId().toString()));
     }
 
     @Test
@@ -138,22 +216,23 @@ class OrderControllerIntegrationTest {
     @Test
     void getAllOrders_ShouldMapOrderFieldsCorrectly() throws Exception {
         Order orderWithAllFields = createCompleteTestOrder();
-        when(orderGateway.findAll()).thenReturn(Arrays.asList(orderWithAllFields));
+        when(orderGateway.findAll(any(OrderFilter.class), isNull(), anyInt()))
+                .thenReturn(new OrderPage(List.of(orderWithAllFields), null));
 
         mockMvc.perform(get("/orders")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(orderWithAllFields.getOrderId().toString()))
-                .andExpect(jsonPath("$[0].customer.id").value(orderWithAllFields.getCustomerId().toString()))
-                .andExpect(jsonPath("$[0].customer.name").value(orderWithAllFields.getCustomerName()))
-                .andExpect(jsonPath("$[0].customer.cpf").value(orderWithAllFields.getCustomerCpf()))
-                .andExpect(jsonPath("$[0].customer.cardNumber").value(orderWithAllFields.getCardNumber()))
-                .andExpect(jsonPath("$[0].payment.id").value(orderWithAllFields.getPaymentId().toString()))
-                .andExpect(jsonPath("$[0].payment.status").value(orderWithAllFields.getPaymentStatus().toString()))
-                .andExpect(jsonPath("$[0].payment.amount").value(orderWithAllFields.getPaymentAmount().doubleValue()))
-                .andExpect(jsonPath("$[0].status").value(orderWithAllFields.getStatus().toString()))
-                .andExpect(jsonPath("$[0].items").isArray())
-                .andExpect(jsonPath("$[0].items.length()").value(2));
+                .andExpect(jsonPath("$.items[0].id").value(orderWithAllFields.getOrderId().toString()))
+                .andExpect(jsonPath("$.items[0].customer.id").value(orderWithAllFields.getCustomerId().toString()))
+                .andExpect(jsonPath("$.items[0].customer.name").value(orderWithAllFields.getCustomerName()))
+                .andExpect(jsonPath("$.items[0].customer.cpf").value(orderWithAllFields.getCustomerCpf()))
+                .andExpect(jsonPath("$.items[0].customer.cardNumber").value(orderWithAllFields.getCardNumber()))
+                .andExpect(jsonPath("$.items[0].payment.id").value(orderWithAllFields.getPaymentId().toString()))
+                .andExpect(jsonPath("$.items[0].payment.status").value(orderWithAllFields.getPaymentStatus().toString()))
+                .andExpect(jsonPath("$.items[0].payment.amount").value(orderWithAllFields.getPaymentAmount().doubleValue()))
+                .andExpect(jsonPath("$.items[0].status").value(orderWithAllFields.getStatus().toString()))
+                .andExpect(jsonPath("$.items[0].items").isArray())
+                .andExpect(jsonPath("$.items[0].items.length()").value(2));
     }
 
     private Order createTestOrder(UUID customerId, String customerName, String customerCpf,
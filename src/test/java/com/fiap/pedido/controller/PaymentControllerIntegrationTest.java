@@ -0,0 +1,49 @@
+package com.fiap.pedido.controller;
+
+import com.fiap.pedido.usecase.EnqueuePaymentResultUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class PaymentControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @MockBean
+    private EnqueuePaymentResultUseCase enqueuePaymentResultUseCase;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void processPayment_ShouldQueueThePaymentAndAnswerAccepted() throws Exception {
+        UUID paymentId = UUID.randomUUID();
+
+        mockMvc.perform(post("/payments/{id}", paymentId))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string(""));
+
+        verify(enqueuePaymentResultUseCase).execute(paymentId);
+    }
+}
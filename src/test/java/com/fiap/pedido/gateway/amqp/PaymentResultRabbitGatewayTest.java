@@ -0,0 +1,38 @@
+package com.fiap.pedido.gateway.amqp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentResultRabbitGatewayTest {
+
+    private static final String QUEUE_NAME = "payment-result-queue";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private PaymentResultRabbitGateway paymentResultGateway;
+
+    @BeforeEach
+    void setUp() {
+        paymentResultGateway = new PaymentResultRabbitGateway(rabbitTemplate, QUEUE_NAME);
+    }
+
+    @Test
+    void enqueue_ShouldPublishPaymentIdAsTextToThePaymentQueue() {
+        UUID paymentId = UUID.randomUUID();
+
+        paymentResultGateway.enqueue(paymentId);
+
+        verify(rabbitTemplate, times(1)).convertAndSend("", QUEUE_NAME, paymentId.toString());
+        verifyNoMoreInteractions(rabbitTemplate);
+    }
+}
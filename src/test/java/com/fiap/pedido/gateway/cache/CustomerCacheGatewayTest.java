@@ -0,0 +1,99 @@
+package com.fiap.pedido.gateway.cache;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.domain.Customer;
+import com.fiap.pedido.gateway.web.CustomerWebClientGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerCacheGatewayTest {
+
+    @Mock
+    private CustomerWebClientGateway customerWebClientGateway;
+
+    private MeterRegistry meterRegistry;
+
+    private CustomerCacheGateway customerCacheGateway;
+
+    private UUID customerId;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        WebClientProperties properties = new WebClientProperties();
+        WebClientProperties.Client client = new WebClientProperties.Client();
+        client.getCache().setEnabled(true);
+        client.getCache().setMaxSize(100);
+        properties.getClient().put(HttpClientConfiguration.CUSTOMER_SERVICE, client);
+        meterRegistry = new SimpleMeterRegistry();
+
+        customerCacheGateway = new CustomerCacheGateway(customerWebClientGateway, properties, meterRegistry);
+
+        customerId = UUID.randomUUID();
+        customer = new Customer(customerId, "John Doe", "12345678901");
+    }
+
+    @Test
+    void findById_ShouldCallCustomerServiceOnlyOnceForRepeatedLookups() {
+        when(customerWebClientGateway.findById(customerId)).thenReturn(Optional.of(customer));
+
+        Optional<Customer> first = customerCacheGateway.findById(customerId);
+        Optional<Customer> second = customerCacheGateway.findById(customerId);
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+        verify(customerWebClientGateway, times(1)).findById(customerId);
+    }
+
+    @Test
+    void findById_WhenCustomerNotFound_ShouldNotCacheTheAbsence() {
+        when(customerWebClientGateway.findById(customerId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(customer));
+
+        assertTrue(customerCacheGateway.findById(customerId).isEmpty());
+        assertTrue(customerCacheGateway.findById(customerId).isPresent());
+
+        verify(customerWebClientGateway, times(2)).findById(customerId);
+    }
+
+    @Test
+    void findById_WhenCustomerServiceFails_ShouldPropagateException() {
+        HttpServerErrorException serviceException = new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        when(customerWebClientGateway.findById(customerId)).thenThrow(serviceException);
+
+        HttpServerErrorException exception = assertThrows(HttpServerErrorException.class,
+                () -> customerCacheGateway.findById(customerId));
+
+        assertEquals(serviceException, exception);
+    }
+
+    @Test
+    void findById_ShouldRecordHitAndMissMetrics() {
+        when(customerWebClientGateway.findById(customerId)).thenReturn(Optional.of(customer));
+
+        customerCacheGateway.findById(customerId);
+        customerCacheGateway.findById(customerId);
+        customerCacheGateway.findById(customerId);
+
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "customers").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "customers").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
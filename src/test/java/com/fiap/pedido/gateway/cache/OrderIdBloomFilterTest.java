@@ -0,0 +1,42 @@
+package com.fiap.pedido.gateway.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIdBloomFilterTest {
+
+    @Test
+    void mightContain_ShouldAlwaysAnswerTrueForAddedIds() {
+        OrderIdBloomFilter filter = new OrderIdBloomFilter(10_000, 0.01);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            filter.add(id);
+            added.add(id);
+        }
+
+        added.forEach(id -> assertTrue(filter.mightContain(id)));
+    }
+
+    @Test
+    void mightContain_WhenFilledToTheExpectedSize_ShouldRarelyAnswerTrueForOtherIds() {
+        OrderIdBloomFilter filter = new OrderIdBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID());
+        }
+
+        long falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
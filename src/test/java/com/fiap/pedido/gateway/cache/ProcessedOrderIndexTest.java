@@ -0,0 +1,119 @@
+package com.fiap.pedido.gateway.cache;
+
+import com.fiap.pedido.gateway.OrderGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedOrderIndexTest {
+
+    @Mock
+    private OrderGateway orderGateway;
+
+    private ProcessedOrderIndex processedOrderIndex;
+
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        processedOrderIndex = new ProcessedOrderIndex(orderGateway, 100, 1000, new SimpleMeterRegistry());
+        orderId = UUID.randomUUID();
+    }
+
+    @Test
+    void isProcessed_WhenOrderWasMarked_ShouldNotQueryTheDatabase() {
+        processedOrderIndex.markProcessed(orderId);
+
+        assertTrue(processedOrderIndex.isProcessed(orderId));
+        verifyNoInteractions(orderGateway);
+    }
+
+    @Test
+    void isProcessed_WhenOrderExistsInTheDatabase_ShouldQueryItOnlyOnce() {
+        when(orderGateway.exists(orderId)).thenReturn(true);
+
+        assertTrue(processedOrderIndex.isProcessed(orderId));
+        assertTrue(processedOrderIndex.isProcessed(orderId));
+
+        verify(orderGateway, times(1)).exists(orderId);
+    }
+
+    @Test
+    void isProcessed_WhenOrderIsNew_ShouldNotCacheTheAbsence() {
+        when(orderGateway.exists(orderId)).thenReturn(false).thenReturn(true);
+
+        assertFalse(processedOrderIndex.isProcessed(orderId));
+        assertTrue(processedOrderIndex.isProcessed(orderId));
+
+        verify(orderGateway, times(2)).exists(orderId);
+    }
+
+    @Test
+    void isProcessed_WhenFilterIsLoadedAndOrderIsNew_ShouldNotQueryTheDatabase() {
+        UUID storedOrderId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Consumer<UUID> action = invocation.getArgument(0);
+            action.accept(storedOrderId);
+            return null;
+        }).when(orderGateway).forEachOrderId(any());
+        processedOrderIndex.load();
+
+        assertFalse(processedOrderIndex.isProcessed(orderId));
+
+        verify(orderGateway, never()).exists(any());
+    }
+
+    @Test
+    void isProcessed_WhenFilterIsLoadedAndOrderIsStored_ShouldConfirmItInTheDatabase() {
+        doAnswer(invocation -> {
+            Consumer<UUID> action = invocation.getArgument(0);
+            action.accept(orderId);
+            return null;
+        }).when(orderGateway).forEachOrderId(any());
+        when(orderGateway.exists(orderId)).thenReturn(true);
+        processedOrderIndex.load();
+
+        assertTrue(processedOrderIndex.isProcessed(orderId));
+        assertTrue(processedOrderIndex.isProcessed(orderId));
+
+        verify(orderGateway, times(1)).exists(orderId);
+    }
+
+    @Test
+    void isProcessed_WhenFilterCannotBeLoaded_ShouldQueryTheDatabase() {
+        doThrow(new IllegalStateException("Database unavailable")).when(orderGateway).forEachOrderId(any());
+        processedOrderIndex.load();
+
+        assertFalse(processedOrderIndex.isProcessed(orderId));
+
+        verify(orderGateway, times(1)).exists(orderId);
+    }
+
+    @Test
+    void isStored_WhenFilterDoesNotKnowTheOrder_ShouldStillQueryTheDatabase() {
+        processedOrderIndex.load();
+        when(orderGateway.exists(orderId)).thenReturn(true);
+
+        assertTrue(processedOrderIndex.isStored(orderId));
+        assertTrue(processedOrderIndex.isProcessed(orderId));
+
+        verify(orderGateway, times(1)).exists(orderId);
+    }
+
+    @Test
+    void isProcessed_WithoutOrderId_ShouldReturnFalse() {
+        assertFalse(processedOrderIndex.isProcessed(null));
+        verifyNoInteractions(orderGateway);
+    }
+}
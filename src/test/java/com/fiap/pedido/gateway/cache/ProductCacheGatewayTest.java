@@ -0,0 +1,133 @@
+package com.fiap.pedido.gateway.cache;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.domain.Product;
+import com.fiap.pedido.gateway.web.ProductWebClientGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheGatewayTest {
+
+    @Mock
+    private ProductWebClientGateway productWebClientGateway;
+
+    private ProductCacheGateway productCacheGateway;
+
+    private Product product1;
+    private Product product2;
+    private Product product3;
+
+    @BeforeEach
+    void setUp() {
+        WebClientProperties properties = new WebClientProperties();
+        WebClientProperties.Client client = new WebClientProperties.Client();
+        client.getCache().setEnabled(true);
+        properties.getClient().put(HttpClientConfiguration.PRODUCT_SERVICE, client);
+
+        productCacheGateway = new ProductCacheGateway(productWebClientGateway, properties, new SimpleMeterRegistry());
+
+        product1 = new Product(UUID.randomUUID(), "Product 1", "SKU001", BigDecimal.valueOf(10.00));
+        product2 = new Product(UUID.randomUUID(), "Product 2", "SKU002", BigDecimal.valueOf(20.00));
+        product3 = new Product(UUID.randomUUID(), "Product 3", "SKU003", BigDecimal.valueOf(30.00));
+    }
+
+    @Test
+    void findAllProductsBySkus_WhenCacheIsEmpty_ShouldFetchAllSkusInOneCall() {
+        when(productWebClientGateway.findAllProductsBySkus(List.of("SKU001", "SKU002")))
+                .thenReturn(List.of(product1, product2));
+
+        List<Product> result = productCacheGateway.findAllProductsBySkus(List.of("SKU001", "SKU002"));
+
+        assertEquals(List.of(product1, product2), result);
+        verify(productWebClientGateway, times(1)).findAllProductsBySkus(anyList());
+    }
+
+    @Test
+    void findAllProductsBySkus_WithPartialMiss_ShouldFetchOnlyMissingSkus() {
+        when(productWebClientGateway.findAllProductsBySkus(List.of("SKU001", "SKU002")))
+                .thenReturn(List.of(product1, product2));
+        when(productWebClientGateway.findAllProductsBySkus(List.of("SKU003")))
+                .thenReturn(List.of(product3));
+        productCacheGateway.findAllProductsBySkus(List.of("SKU001", "SKU002"));
+
+        List<Product> result = productCacheGateway.findAllProductsBySkus(List.of("SKU003", "SKU001", "SKU002"));
+
+        assertEquals(List.of(product3, product1, product2), result);
+        verify(productWebClientGateway, times(1)).findAllProductsBySkus(List.of("SKU003"));
+    }
+
+    @Test
+    void findAllProductsBySkus_WhenAllSkusAreCached_ShouldNotCallProductService() {
+        when(productWebClientGateway.findAllProductsBySkus(List.of("SKU001"))).thenReturn(List.of(product1));
+        productCacheGateway.findAllProductsBySkus(List.of("SKU001"));
+
+        List<Product> result = productCacheGateway.findAllProductsBySkus(List.of("SKU001"));
+
+        assertEquals(List.of(product1), result);
+        verify(productWebClientGateway, times(1)).findAllProductsBySkus(anyList());
+    }
+
+    @Test
+    void findAllProductsBySkus_WithDuplicatedSkus_ShouldRequestEachSkuOnce() {
+        when(productWebClientGateway.findAllProductsBySkus(List.of("SKU001"))).thenReturn(List.of(product1));
+
+        List<Product> result = productCacheGateway.findAllProductsBySkus(List.of("SKU001", "SKU001"));
+
+        assertEquals(List.of(product1), result);
+    }
+
+    @Test
+    void findAllProductsBySkus_WithUnknownSku_ShouldNotReturnOrCacheIt() {
+        when(productWebClientGateway.findAllProductsBySkus(List.of("SKU001", "INVALID")))
+                .thenReturn(List.of(product1));
+        when(productWebClientGateway.findAllProductsBySkus(List.of("INVALID")))
+                .thenReturn(List.of());
+
+        List<Product> first = productCacheGateway.findAllProductsBySkus(List.of("SKU001", "INVALID"));
+        List<Product> second = productCacheGateway.findAllProductsBySkus(List.of("SKU001", "INVALID"));
+
+        assertEquals(List.of(product1), first);
+        assertEquals(List.of(product1), second);
+        verify(productWebClientGateway, times(1)).findAllProductsBySkus(List.of("INVALID"));
+    }
+
+    @Test
+    void invalidate_ShouldForceTheSkuToBeFetchedAgain() {
+        when(productWebClientGateway.findAllProductsBySkus(List.of("SKU001", "SKU002")))
+                .thenReturn(List.of(product1, product2));
+        when(productWebClientGateway.findAllProductsBySkus(List.of("SKU002")))
+                .thenReturn(List.of(product2));
+        productCacheGateway.findAllProductsBySkus(List.of("SKU001", "SKU002"));
+
+        productCacheGateway.invalidate(List.of("SKU002"));
+        productCacheGateway.findAllProductsBySkus(List.of("SKU001", "SKU002"));
+
+        verify(productWebClientGateway, times(1)).findAllProductsBySkus(List.of("SKU002"));
+    }
+
+    @Test
+    void invalidateAll_ShouldForceEverySkuToBeFetchedAgain() {
+        when(productWebClientGateway.findAllProductsBySkus(List.of("SKU001", "SKU002")))
+                .thenReturn(List.of(product1, product2));
+        productCacheGateway.findAllProductsBySkus(List.of("SKU001", "SKU002"));
+
+        productCacheGateway.invalidateAll();
+        productCacheGateway.findAllProductsBySkus(List.of("SKU001", "SKU002"));
+
+        verify(productWebClientGateway, times(2)).findAllProductsBySkus(List.of("SKU001", "SKU002"));
+    }
+}
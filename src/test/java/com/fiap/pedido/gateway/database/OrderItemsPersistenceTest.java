@@ -0,0 +1,86 @@
+package com.fiap.pedido.gateway.database;
+
+import com.fiap.pedido.domain.Item;
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.Product;
+import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderEntity;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderItemEntity;
+import com.fiap.pedido.gateway.database.jpa.repository.OrderRepository;
+import com.fiap.pedido.usecase.load.EnrichProductDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Items are stored one row per sku: what is charged for an order must match the item rows that end up stored.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderItemsPersistenceTest {
+
+    @Autowired
+    private EnrichProductDetails enrichProductDetails;
+
+    @Autowired
+    private OrderGateway orderGateway;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void create_WithRepeatedSkuLines_ShouldStoreOneRowWithTheChargedQuantity() {
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setCustomerId(UUID.randomUUID());
+        order.setCardNumber("4111111111111111");
+        order.setStatus(OrderStatus.ABERTO);
+        order.setItems(List.of(
+                new Item(null, null, "SKU1", 2, null),
+                new Item(null, null, "SKU2", 1, null),
+                new Item(null, null, "SKU1", 3, null)));
+        enrichProductDetails.apply(order, List.of(
+                new Product(UUID.randomUUID(), "Product 1", "SKU1", BigDecimal.TEN),
+                new Product(UUID.randomUUID(), "Product 2", "SKU2", BigDecimal.ONE)));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> orderGateway.create(order));
+
+        OrderEntity stored = orderRepository.findByOrderId(order.getOrderId()).orElseThrow();
+        assertEquals(2, stored.getItems().size());
+        OrderItemEntity repeated = stored.getItems().stream()
+                .filter(item -> "SKU1".equals(item.getSku()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(5, repeated.getQuantity());
+        BigDecimal storedTotal = stored.getItems().stream()
+                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, BigDecimal.valueOf(51).compareTo(stored.getPaymentAmount()));
+        assertEquals(0, storedTotal.compareTo(stored.getPaymentAmount()));
+    }
+}
@@ -0,0 +1,134 @@
+package com.fiap.pedido.gateway.database;
+
+import com.fiap.pedido.domain.Item;
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderEntity;
+import com.fiap.pedido.gateway.database.jpa.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two deliveries of the same order racing on its insert: the loser passes the existence check (the winner has not
+ * committed yet) and must fail on the primary key with a translated exception, leaving the winner's order intact.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderJpaGatewayConcurrentCreateTest {
+
+    @Autowired
+    private OrderGateway orderGateway;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void create_WhenTheSameOrderIsInsertedConcurrently_ShouldFailTheLoserAndKeepTheWinner() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch winnerInserted = new CountDownLatch(1);
+        CountDownLatch commitWinner = new CountDownLatch(1);
+        AtomicReference<Thread> loserThread = new AtomicReference<>();
+
+        Future<?> winner = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            orderGateway.create(order(orderId, "Winner"));
+            winnerInserted.countDown();
+            await(commitWinner);
+        }));
+        assertTrue(winnerInserted.await(10, TimeUnit.SECONDS));
+
+        Future<?> loser = executor.submit(() -> {
+            loserThread.set(Thread.currentThread());
+            transaction.executeWithoutResult(status -> orderGateway.create(order(orderId, "Loser")));
+        });
+        awaitBlocked(loserThread, loser);
+        commitWinner.countDown();
+
+        winner.get(10, TimeUnit.SECONDS);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> loser.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+
+        OrderEntity stored = orderRepository.findByOrderId(orderId).orElseThrow();
+        assertEquals("Winner", stored.getCustomerName());
+        assertEquals(OrderStatus.ABERTO.name(), stored.getStatus());
+        assertEquals(1, stored.getItems().size());
+        assertEquals(1, orderRepository.count());
+    }
+
+    /**
+     * Waits until the loser is parked on the winner's row lock, or has already failed.
+     */
+    private static void awaitBlocked(AtomicReference<Thread> thread, Future<?> future) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!future.isDone() && System.nanoTime() < deadline) {
+            Thread current = thread.get();
+            if (current != null && (current.getState() == Thread.State.WAITING
+                    || current.getState() == Thread.State.TIMED_WAITING)) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Order order(UUID orderId, String customerName) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCustomerId(UUID.randomUUID());
+        order.setCustomerName(customerName);
+        order.setCardNumber("4111111111111111");
+        order.setStatus(OrderStatus.ABERTO);
+        order.setPaymentAmount(BigDecimal.TEN);
+        List<Item> items = new ArrayList<>();
+        items.add(new Item(null, "Product 1", "SKU1", 1, BigDecimal.TEN));
+        order.setItems(items);
+        return order;
+    }
+}
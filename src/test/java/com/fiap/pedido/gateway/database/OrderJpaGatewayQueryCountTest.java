@@ -0,0 +1,291 @@
+package com.fiap.pedido.gateway.database;
+
+import com.fiap.pedido.domain.Item;
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderFilter;
+import com.fiap.pedido.domain.OrderPage;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.PaymentStatus;
+import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderEntity;
+import com.fiap.pedido.gateway.database.jpa.entity.OrderItemEntity;
+import com.fiap.pedido.gateway.database.jpa.repository.OrderRepository;
+import com.fiap.pedido.usecase.ExportOrdersUseCase;
+import com.fiap.pedido.usecase.RetrieveAllOrdersUseCase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards against N+1 item loading: the number of SQL statements of each read path must not depend on how many
+ * orders are read. Writes must only touch the rows that actually changed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderJpaGatewayQueryCountTest {
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderGateway orderGateway;
+
+    @Autowired
+    private RetrieveAllOrdersUseCase retrieveAllOrdersUseCase;
+
+    @Autowired
+    private ExportOrdersUseCase exportOrdersUseCase;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void findAll_ShouldLoadOrdersAndItemsWithTwoStatementsWhateverThePageSize() {
+        saveOrders(40);
+
+        long smallPage = countStatements(() -> assertPage(5));
+        long largePage = countStatements(() -> assertPage(40));
+
+        assertEquals(2, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void findOrderByOrderId_ShouldLoadItemsInTheSameStatement() {
+        UUID orderId = saveOrders(1).getFirst().getOrderId();
+
+        long statements = countStatements(() -> {
+            Order order = orderGateway.findOrderByOrderId(orderId).orElseThrow();
+            assertEquals(ITEMS_PER_ORDER, order.getItems().size());
+        });
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void findOrderByPaymentId_ShouldLoadItemsInTheSameStatement() {
+        UUID paymentId = saveOrders(1).getFirst().getPaymentId();
+
+        long statements = countStatements(() -> {
+            Order order = orderGateway.findOrderByPaymentId(paymentId).orElseThrow();
+            assertEquals(ITEMS_PER_ORDER, order.getItems().size());
+        });
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void forEach_ShouldLoadItemsOncePerChunkInsteadOfOncePerOrder() {
+        saveOrders(40);
+        List<Order> exported = new ArrayList<>();
+
+        long statements = countStatements(() -> exportOrdersUseCase.execute(OrderFilter.none(), exported::add));
+
+        assertEquals(40, exported.size());
+        exported.forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getItems().size()));
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void create_ShouldInsertTheOrderWithoutQueryingForItFirst() {
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setCustomerId(UUID.randomUUID());
+        order.setCardNumber("4111111111111111");
+        order.setStatus(OrderStatus.ABERTO);
+        order.setPaymentAmount(BigDecimal.TEN);
+        List<Item> items = new ArrayList<>();
+        for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+            items.add(new Item(null, "Product " + j, "SKU" + j, 1, BigDecimal.ONE));
+        }
+        order.setItems(items);
+
+        countStatements(() -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> orderGateway.create(order)));
+
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1 + ITEMS_PER_ORDER, statistics.getEntityInsertCount());
+        assertTrue(orderRepository.existsById(order.getOrderId()));
+    }
+
+    @Test
+    void save_WhenOnlyTheStatusChanges_ShouldUpdateOnlyTheOrderRow() {
+        UUID orderId = saveOrders(1).getFirst().getOrderId();
+        Order order = orderGateway.findOrderByOrderId(orderId).orElseThrow();
+        order.setStatus(OrderStatus.FECHADO_COM_SUCESSO);
+
+        long statements = countStatements(() -> orderGateway.save(order));
+
+        assertEquals(2, statements);
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        assertEquals(OrderStatus.FECHADO_COM_SUCESSO, orderGateway.findOrderByOrderId(orderId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void save_WhenItemsChange_ShouldWriteOnlyTheChangedItemRows() {
+        UUID orderId = saveOrders(1).getFirst().getOrderId();
+        Order order = orderGateway.findOrderByOrderId(orderId).orElseThrow();
+        itemOf(order, "SKU0").setQuantity(5);
+        order.getItems().remove(itemOf(order, "SKU1"));
+        order.getItems().add(new Item(null, "Product 9", "SKU9", 1, BigDecimal.ONE));
+
+        countStatements(() -> orderGateway.save(order));
+
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+        Order saved = orderGateway.findOrderByOrderId(orderId).orElseThrow();
+        assertEquals(Set.of("SKU0", "SKU2", "SKU9"),
+                saved.getItems().stream().map(Item::getSku).collect(Collectors.toSet()));
+        assertEquals(5, itemOf(saved, "SKU0").getQuantity());
+    }
+
+    @Test
+    void closePendingPayments_ShouldCloseEveryOrderWithTheSameNumberOfStatements() {
+        List<OrderEntity> small = savePendingPayments(4);
+        List<OrderEntity> large = savePendingPayments(40);
+
+        long smallBatch = countStatements(() -> assertClosed(small));
+        long largeBatch = countStatements(() -> assertClosed(large));
+
+        // locking select, items and one update per resulting status
+        assertEquals(4, smallBatch);
+        assertEquals(smallBatch, largeBatch);
+    }
+
+    @Test
+    void closePendingPayments_WhenOrderIsAlreadyClosed_ShouldLeaveIt() {
+        List<OrderEntity> orders = savePendingPayments(2);
+        UUID closedPayment = orders.getFirst().getPaymentId();
+        UUID pendingPayment = orders.getLast().getPaymentId();
+        orderGateway.closePendingPayments(Map.of(closedPayment, PaymentStatus.COMPLETED));
+
+        List<Order> closed = orderGateway.closePendingPayments(Map.of(
+                closedPayment, PaymentStatus.FAILED,
+                pendingPayment, PaymentStatus.FAILED));
+
+        assertEquals(1, closed.size());
+        assertEquals(pendingPayment, closed.getFirst().getPaymentId());
+        assertEquals(ITEMS_PER_ORDER, closed.getFirst().getItems().size());
+        assertEquals(OrderStatus.FECHADO_COM_SUCESSO,
+                orderGateway.findOrderByPaymentId(closedPayment).orElseThrow().getStatus());
+        assertEquals(OrderStatus.FECHADO_SEM_CREDITO,
+                orderGateway.findOrderByPaymentId(pendingPayment).orElseThrow().getStatus());
+    }
+
+    @Test
+    void findPendingPayments_ShouldPageThroughOpenOrdersWaitingOnPayment() {
+        List<OrderEntity> pending = savePendingPayments(3);
+        saveOrders(2);
+        orderGateway.closePendingPayments(Map.of(pending.getFirst().getPaymentId(), PaymentStatus.COMPLETED));
+        Instant createdBefore = Instant.now().plus(Duration.ofMinutes(1));
+
+        OrderPage first = orderGateway.findPendingPayments(createdBefore, null, 1);
+        OrderPage second = orderGateway.findPendingPayments(createdBefore, first.nextCursor(), 1);
+
+        assertEquals(1, first.orders().size());
+        assertEquals(1, second.orders().size());
+        assertNull(second.nextCursor());
+        assertNotEquals(first.orders().getFirst().getOrderId(), second.orders().getFirst().getOrderId());
+        assertTrue(orderGateway.findPendingPayments(Instant.now().minus(Duration.ofMinutes(1)), null, 10)
+                .orders().isEmpty());
+    }
+
+    private void assertClosed(List<OrderEntity> orders) {
+        Map<UUID, PaymentStatus> statuses = new HashMap<>();
+        for (int i = 0; i < orders.size(); i++) {
+            statuses.put(orders.get(i).getPaymentId(), i % 2 == 0 ? PaymentStatus.COMPLETED : PaymentStatus.FAILED);
+        }
+        List<Order> closed = orderGateway.closePendingPayments(statuses);
+        assertEquals(orders.size(), closed.size());
+        closed.forEach(order -> assertEquals(OrderStatus.closedBy(statuses.get(order.getPaymentId())),
+                order.getStatus()));
+    }
+
+    private List<OrderEntity> savePendingPayments(int count) {
+        List<OrderEntity> orders = saveOrders(count);
+        orders.forEach(order -> order.setPaymentStatus(PaymentStatus.IN_PROGRESS.name()));
+        return orderRepository.saveAll(orders);
+    }
+
+    private Item itemOf(Order order, String sku) {
+        return order.getItems().stream()
+                .filter(item -> sku.equals(item.getSku()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertPage(int size) {
+        OrderPage page = retrieveAllOrdersUseCase.execute(OrderFilter.none(), null, size);
+        assertEquals(size, page.orders().size());
+        page.orders().forEach(order -> assertEquals(ITEMS_PER_ORDER, order.getItems().size()));
+    }
+
+    private List<OrderEntity> saveOrders(int count) {
+        List<OrderEntity> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OrderEntity order = new OrderEntity();
+            order.setOrderId(UUID.randomUUID());
+            order.setCustomerId(UUID.randomUUID());
+            order.setCardNumber("4111111111111111");
+            order.setStatus(OrderStatus.ABERTO.name());
+            order.setPaymentId(UUID.randomUUID());
+            order.setPaymentAmount(BigDecimal.TEN);
+            List<OrderItemEntity> items = new ArrayList<>();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                items.add(new OrderItemEntity("SKU" + j, order.getOrderId(), "Product " + j, 1, BigDecimal.ONE));
+            }
+            order.setItems(items);
+            orders.add(order);
+        }
+        return orderRepository.saveAll(orders);
+    }
+}
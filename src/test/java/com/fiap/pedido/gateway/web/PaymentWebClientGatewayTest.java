@@ -1,6 +1,7 @@
 package com.fiap.pedido.gateway.web;
 
 import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.PaymentStatus;
 import com.fiap.pedido.gateway.web.client.PaymentWebClient;
 import com.fiap.pedido.gateway.web.json.PaymentDTO;
 import com.fiap.pedido.mapper.OrderMapper;
@@ -11,6 +12,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -187,4 +190,17 @@ class PaymentWebClientGatewayTest {
         verify(orderMapper, times(1)).mapToPaymentDTO(testOrder);
         verify(paymentWebClient, times(1)).processPayment(null);
     }
+
+    @Test
+    void retrievePaymentStatuses_ShouldAskForAllPaymentsInOneCall() {
+        List<UUID> paymentIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        Map<UUID, PaymentStatus> statuses = Map.of(paymentIds.get(0), PaymentStatus.COMPLETED,
+                paymentIds.get(1), PaymentStatus.FAILED);
+        when(paymentWebClient.retrievePaymentStatuses(paymentIds)).thenReturn(statuses);
+
+        Map<UUID, PaymentStatus> result = paymentWebClientGateway.retrievePaymentStatuses(paymentIds);
+
+        assertEquals(statuses, result);
+        verify(paymentWebClient, never()).retrievePaymentStatus(any());
+    }
 }
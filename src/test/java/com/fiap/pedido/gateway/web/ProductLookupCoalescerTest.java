@@ -0,0 +1,161 @@
+package com.fiap.pedido.gateway.web;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.exception.DataEnrichmentException;
+import com.fiap.pedido.exception.TransientFailures;
+import com.fiap.pedido.gateway.web.client.ProductWebClient;
+import com.fiap.pedido.gateway.web.json.ProductResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductLookupCoalescerTest {
+
+    @Mock
+    private ProductWebClient productWebClient;
+
+    private ProductLookupCoalescer productLookupCoalescer;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (productLookupCoalescer != null) {
+            productLookupCoalescer.shutdown();
+        }
+    }
+
+    @Test
+    void findAllProductsBySkus_WhenDisabled_ShouldCallProductServiceDirectly() {
+        productLookupCoalescer = new ProductLookupCoalescer(productWebClient, new WebClientProperties());
+        List<ProductResponseDTO> products = List.of(product("SKU001"));
+        when(productWebClient.findAllProductsBySkus(List.of("SKU001"))).thenReturn(products);
+
+        List<ProductResponseDTO> result = productLookupCoalescer.findAllProductsBySkus(List.of("SKU001"));
+
+        assertSame(products, result);
+    }
+
+    @Test
+    void findAllProductsBySkus_WithConcurrentLookups_ShouldIssueOneDeduplicatedCall() throws Exception {
+        productLookupCoalescer = new ProductLookupCoalescer(productWebClient, coalescing(Duration.ofMillis(300), 100));
+        when(productWebClient.findAllProductsBySkus(anyList())).thenAnswer(invocation -> {
+            List<String> skus = invocation.getArgument(0);
+            return skus.stream().map(ProductLookupCoalescerTest::product).toList();
+        });
+
+        CompletableFuture<List<ProductResponseDTO>> first = lookup(List.of("SKU001", "SKU002"));
+        CompletableFuture<List<ProductResponseDTO>> second = lookup(List.of("SKU002", "SKU003"));
+        CompletableFuture<List<ProductResponseDTO>> third = lookup(List.of("SKU001"));
+
+        assertEquals(List.of("SKU001", "SKU002"), skusOf(first.get(5, TimeUnit.SECONDS)));
+        assertEquals(List.of("SKU002", "SKU003"), skusOf(second.get(5, TimeUnit.SECONDS)));
+        assertEquals(List.of("SKU001"), skusOf(third.get(5, TimeUnit.SECONDS)));
+        verify(productWebClient, times(1)).findAllProductsBySkus(anyList());
+    }
+
+    @Test
+    void findAllProductsBySkus_WhenBatchIsFull_ShouldNotWaitForTheWindow() {
+        productLookupCoalescer = new ProductLookupCoalescer(productWebClient, coalescing(Duration.ofMinutes(1), 2));
+        when(productWebClient.findAllProductsBySkus(List.of("SKU001", "SKU002")))
+                .thenReturn(List.of(product("SKU001"), product("SKU002")));
+
+        List<ProductResponseDTO> result = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> productLookupCoalescer.findAllProductsBySkus(List.of("SKU001", "SKU002")));
+
+        assertEquals(List.of("SKU001", "SKU002"), skusOf(result));
+    }
+
+    @Test
+    void findAllProductsBySkus_WithMoreSkusThanMaxBatchSize_ShouldSplitTheCall() {
+        productLookupCoalescer = new ProductLookupCoalescer(productWebClient, coalescing(Duration.ofMillis(5), 2));
+        when(productWebClient.findAllProductsBySkus(anyList())).thenAnswer(invocation -> {
+            List<String> skus = invocation.getArgument(0);
+            return skus.stream().map(ProductLookupCoalescerTest::product).toList();
+        });
+
+        List<ProductResponseDTO> result = productLookupCoalescer.findAllProductsBySkus(
+                List.of("SKU001", "SKU002", "SKU003"));
+
+        assertEquals(List.of("SKU001", "SKU002", "SKU003"), skusOf(result));
+        verify(productWebClient, times(1)).findAllProductsBySkus(List.of("SKU001", "SKU002"));
+        verify(productWebClient, times(1)).findAllProductsBySkus(List.of("SKU003"));
+    }
+
+    @Test
+    void findAllProductsBySkus_WhenProductServiceFails_ShouldFailEveryWaitingLookup() {
+        productLookupCoalescer = new ProductLookupCoalescer(productWebClient, coalescing(Duration.ofMillis(300), 100));
+        HttpServerErrorException serviceException = new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        when(productWebClient.findAllProductsBySkus(anyList())).thenThrow(serviceException);
+
+        CompletableFuture<List<ProductResponseDTO>> first = lookup(List.of("SKU001"));
+        CompletableFuture<List<ProductResponseDTO>> second = lookup(List.of("SKU002"));
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DataEnrichmentException.class, firstFailure.getCause());
+        assertInstanceOf(DataEnrichmentException.class, secondFailure.getCause());
+        assertNotSame(firstFailure.getCause(), secondFailure.getCause());
+        assertSame(serviceException, firstFailure.getCause().getCause());
+        assertSame(serviceException, secondFailure.getCause().getCause());
+        assertTrue(TransientFailures.isTransient(firstFailure.getCause()));
+    }
+
+    @Test
+    void findAllProductsBySkus_WhenProductServiceThrowsAnError_ShouldNotLeaveLookupsWaiting() {
+        productLookupCoalescer = new ProductLookupCoalescer(productWebClient, coalescing(Duration.ofMillis(300), 100));
+        StackOverflowError error = new StackOverflowError();
+        when(productWebClient.findAllProductsBySkus(anyList())).thenThrow(error);
+
+        CompletableFuture<List<ProductResponseDTO>> first = lookup(List.of("SKU001"));
+        CompletableFuture<List<ProductResponseDTO>> second = lookup(List.of("SKU002"));
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertSame(error, firstFailure.getCause().getCause());
+        assertSame(error, secondFailure.getCause().getCause());
+    }
+
+    private CompletableFuture<List<ProductResponseDTO>> lookup(List<String> skus) {
+        return CompletableFuture.supplyAsync(() -> productLookupCoalescer.findAllProductsBySkus(skus), callers);
+    }
+
+    private static WebClientProperties coalescing(Duration window, int maxBatchSize) {
+        WebClientProperties properties = new WebClientProperties();
+        WebClientProperties.Client client = new WebClientProperties.Client();
+        client.getCoalescing().setEnabled(true);
+        client.getCoalescing().setWindow(window);
+        client.getCoalescing().setMaxBatchSize(maxBatchSize);
+        properties.getClient().put(HttpClientConfiguration.PRODUCT_SERVICE, client);
+        return properties;
+    }
+
+    private static ProductResponseDTO product(String sku) {
+        return new ProductResponseDTO(UUID.randomUUID(), "Product " + sku, sku, BigDecimal.TEN);
+    }
+
+    private static List<String> skusOf(List<ProductResponseDTO> products) {
+        return products.stream().map(ProductResponseDTO::getSku).toList();
+    }
+}
@@ -1,5 +1,6 @@
 package com.fiap.pedido.gateway.web;
 
+import com.fiap.pedido.configuration.WebClientProperties;
 import com.fiap.pedido.domain.Product;
 import com.fiap.pedido.gateway.web.client.ProductWebClient;
 import com.fiap.pedido.gateway.web.json.ProductResponseDTO;
@@ -36,7 +37,8 @@ class ProductWebClientGatewayTest {
 
     @BeforeEach
     void setUp() {
-        productWebClientGateway = new ProductWebClientGateway(productWebClient, orderItemMapper);
+        productWebClientGateway = new ProductWebClientGateway(
+                new ProductLookupCoalescer(productWebClient, new WebClientProperties()), orderItemMapper);
 
         testSkus = Arrays.asList("SKU001", "SKU002", "SKU003");
 
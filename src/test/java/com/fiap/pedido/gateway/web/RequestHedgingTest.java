@@ -0,0 +1,166 @@
+package com.fiap.pedido.gateway.web;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgingTest {
+
+    private static final String SERVICE = HttpClientConfiguration.CUSTOMER_SERVICE;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WebClientProperties.Hedging settings;
+    private RequestHedging requestHedging;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        settings = new WebClientProperties.Hedging();
+        settings.setEnabled(true);
+        settings.setMinSamples(1);
+        settings.setMinDelay(Duration.ofMillis(20));
+        settings.setMaxExtraLoad(1);
+        attempts = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (requestHedging != null) {
+            requestHedging.shutdown();
+        }
+    }
+
+    private void createHedging() {
+        WebClientProperties properties = new WebClientProperties();
+        WebClientProperties.Client client = new WebClientProperties.Client();
+        client.setHedging(settings);
+        properties.getClient().put(SERVICE, client);
+        requestHedging = new RequestHedging(properties, meterRegistry);
+    }
+
+    @Test
+    void call_WhenDisabled_ShouldRunRequestOnCallerThread() {
+        requestHedging = new RequestHedging(new WebClientProperties(), meterRegistry);
+        Thread caller = Thread.currentThread();
+
+        Thread result = requestHedging.call(SERVICE, Thread::currentThread);
+
+        assertSame(caller, result);
+        assertTrue(meterRegistry.find("http.client.hedges").counters().isEmpty());
+    }
+
+    @Test
+    void call_BeforeMinSamples_ShouldNotHedge() {
+        settings.setMinSamples(10);
+        createHedging();
+
+        String result = requestHedging.call(SERVICE, slowFirstAttempt(Duration.ofMillis(100)));
+
+        assertEquals("first", result);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void call_WhenRequestIsSlowerThanPercentile_ShouldReturnFirstResponseFromHedge() {
+        createHedging();
+        warmUp();
+
+        long start = System.nanoTime();
+        String result = requestHedging.call(SERVICE, slowFirstAttempt(Duration.ofSeconds(5)));
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertEquals(1.0, hedges(RequestHedging.HEDGE_WON));
+    }
+
+    @Test
+    void call_WhenOriginalAnswersFirst_ShouldCountHedgeAsLost() {
+        createHedging();
+        warmUp();
+
+        String result = requestHedging.call(SERVICE, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(Duration.ofMillis(100));
+                return "first";
+            }
+            sleep(Duration.ofSeconds(5));
+            return "hedge";
+        });
+
+        assertEquals("first", result);
+        assertEquals(1.0, hedges(RequestHedging.HEDGE_LOST));
+    }
+
+    @Test
+    void call_WhenBudgetIsExhausted_ShouldWaitForOriginalRequest() {
+        settings.setMaxExtraLoad(0);
+        createHedging();
+        warmUp();
+
+        String result = requestHedging.call(SERVICE, slowFirstAttempt(Duration.ofMillis(100)));
+
+        assertEquals("first", result);
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, hedges(RequestHedging.HEDGE_SKIPPED));
+    }
+
+    @Test
+    void call_WhenRequestFailsBeforeHedgeDelay_ShouldPropagateFailure() {
+        createHedging();
+        warmUp();
+        ResourceAccessException failure = new ResourceAccessException("Connection refused");
+
+        ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                () -> requestHedging.call(SERVICE, () -> {
+                    attempts.incrementAndGet();
+                    throw failure;
+                }));
+
+        assertSame(failure, exception);
+        assertEquals(1, attempts.get());
+    }
+
+    private void warmUp() {
+        requestHedging.call(SERVICE, () -> {
+            sleep(Duration.ofMillis(5));
+            return "warm-up";
+        });
+    }
+
+    private Supplier<String> slowFirstAttempt(Duration delay) {
+        return () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(delay);
+                return "first";
+            }
+            return "hedge";
+        };
+    }
+
+    private double hedges(String result) {
+        return meterRegistry.get("http.client.hedges").tag("client_name", SERVICE).tag("result", result)
+                .counter().count();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Request cancelled", e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.fiap.pedido.gateway.web;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.exception.TransientFailures;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceResilienceTest {
+
+    private static final String SERVICE = HttpClientConfiguration.STOCK_SERVICE;
+
+    private WebClientProperties.Client client;
+    private ServiceResilience resilience;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        client = new WebClientProperties.Client();
+        client.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        client.getCircuitBreaker().setSlidingWindowSize(4);
+        client.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        client.getBulkhead().setMaxWait(Duration.ZERO);
+        calls = new AtomicInteger();
+    }
+
+    private void createResilience() {
+        WebClientProperties properties = new WebClientProperties();
+        properties.getClient().put(SERVICE, client);
+        resilience = new ServiceResilience(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void call_WhenServiceAnswers_ShouldReturnItsResult() {
+        createResilience();
+
+        String result = resilience.call(SERVICE, () -> {
+            calls.incrementAndGet();
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void call_WhenServiceFailsTransiently_ShouldRetryUpToMaxAttempts() {
+        createResilience();
+
+        assertThrows(ResourceAccessException.class, () -> resilience.call(SERVICE, () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void call_WhenServiceRecovers_ShouldReturnResultOfLaterAttempt() {
+        createResilience();
+
+        String result = resilience.call(SERVICE, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void call_WhenServiceRejectsRequest_ShouldNotRetryNorCountAgainstCircuit() {
+        createResilience();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientErrorException.class, () -> resilience.call(SERVICE, () -> {
+                calls.incrementAndGet();
+                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+            }));
+        }
+
+        assertEquals(4, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.circuitBreaker(SERVICE).getState());
+    }
+
+    @Test
+    void call_WhenCircuitIsOpen_ShouldFailFastWithoutCallingService() {
+        client.getRetry().setMaxAttempts(1);
+        createResilience();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpServerErrorException.class, () -> resilience.run(SERVICE, () -> {
+                throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+            }));
+        }
+
+        CallNotPermittedException exception = assertThrows(CallNotPermittedException.class,
+                () -> resilience.run(SERVICE, calls::incrementAndGet));
+
+        assertEquals(0, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, resilience.circuitBreaker(SERVICE).getState());
+        assertTrue(TransientFailures.isTransient(exception));
+    }
+
+    @Test
+    void call_WhenBulkheadIsFull_ShouldRejectCallWithoutRetrying() throws Exception {
+        client.getBulkhead().setMaxConcurrentCalls(1);
+        createResilience();
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocking = CompletableFuture.runAsync(() -> resilience.run(SERVICE, () -> {
+            inFlight.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        BulkheadFullException exception = assertThrows(BulkheadFullException.class,
+                () -> resilience.run(SERVICE, calls::incrementAndGet));
+
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        assertEquals(0, calls.get());
+        assertTrue(TransientFailures.isTransient(exception));
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.circuitBreaker(SERVICE).getState());
+    }
+}
@@ -30,6 +30,7 @@ class StockWebClientGatewayTest {
 
     private StockWebClientGateway stockWebClientGateway;
 
+    private final UUID orderId = UUID.randomUUID();
     private List<Item> testItems;
     private List<StockDTO> testStockDTOs;
 
@@ -65,12 +66,12 @@ class StockWebClientGatewayTest {
     @Test
     void deductStock_ShouldMapItemsAndCallWebClient() {
         when(orderItemMapper.map(testItems)).thenReturn(testStockDTOs);
-        doNothing().when(stockWebClient).deductStock(testStockDTOs);
+        doNothing().when(stockWebClient).deductStock(orderId, testStockDTOs);
 
-        assertDoesNotThrow(() -> stockWebClientGateway.deductStock(testItems));
+        assertDoesNotThrow(() -> stockWebClientGateway.deductStock(orderId, testItems));
 
         verify(orderItemMapper, times(1)).map(testItems);
-        verify(stockWebClient, times(1)).deductStock(testStockDTOs);
+        verify(stockWebClient, times(1)).deductStock(orderId, testStockDTOs);
     }
 
     @Test
@@ -78,26 +79,26 @@ class StockWebClientGatewayTest {
         List<Item> emptyItems = Collections.emptyList();
         List<StockDTO> emptyStockDTOs = Collections.emptyList();
         when(orderItemMapper.map(emptyItems)).thenReturn(emptyStockDTOs);
-        doNothing().when(stockWebClient).deductStock(emptyStockDTOs);
+        doNothing().when(stockWebClient).deductStock(orderId, emptyStockDTOs);
 
-        assertDoesNotThrow(() -> stockWebClientGateway.deductStock(emptyItems));
+        assertDoesNotThrow(() -> stockWebClientGateway.deductStock(orderId, emptyItems));
 
         verify(orderItemMapper, times(1)).map(emptyItems);
-        verify(stockWebClient, times(1)).deductStock(emptyStockDTOs);
+        verify(stockWebClient, times(1)).deductStock(orderId, emptyStockDTOs);
     }
 
     @Test
     void deductStock_WhenWebClientThrowsException_ShouldPropagateException() {
         RuntimeException webClientException = new RuntimeException("Stock service error");
         when(orderItemMapper.map(testItems)).thenReturn(testStockDTOs);
-        doThrow(webClientException).when(stockWebClient).deductStock(testStockDTOs);
+        doThrow(webClientException).when(stockWebClient).deductStock(orderId, testStockDTOs);
 
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> stockWebClientGateway.deductStock(testItems));
+                () -> stockWebClientGateway.deductStock(orderId, testItems));
 
         assertEquals("Stock service error", exception.getMessage());
         verify(orderItemMapper, times(1)).map(testItems);
-        verify(stockWebClient, times(1)).deductStock(testStockDTOs);
+        verify(stockWebClient, times(1)).deductStock(orderId, testStockDTOs);
     }
 
     @Test
@@ -106,11 +107,11 @@ class StockWebClientGatewayTest {
         when(orderItemMapper.map(testItems)).thenThrow(mapperException);
 
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> stockWebClientGateway.deductStock(testItems));
+                () -> stockWebClientGateway.deductStock(orderId, testItems));
 
         assertEquals("Mapping failed", exception.getMessage());
         verify(orderItemMapper, times(1)).map(testItems);
-        verify(stockWebClient, never()).deductStock(any());
+        verify(stockWebClient, never()).deductStock(any(), any());
     }
 
     @Test
@@ -156,12 +157,12 @@ class StockWebClientGatewayTest {
         List<Item> singleItem = Collections.singletonList(testItems.getFirst());
         List<StockDTO> singleStockDTO = Collections.singletonList(testStockDTOs.getFirst());
         when(orderItemMapper.map(singleItem)).thenReturn(singleStockDTO);
-        doNothing().when(stockWebClient).deductStock(singleStockDTO);
+        doNothing().when(stockWebClient).deductStock(orderId, singleStockDTO);
 
-        assertDoesNotThrow(() -> stockWebClientGateway.deductStock(singleItem));
+        assertDoesNotThrow(() -> stockWebClientGateway.deductStock(orderId, singleItem));
 
         verify(orderItemMapper, times(1)).map(singleItem);
-        verify(stockWebClient, times(1)).deductStock(singleStockDTO);
+        verify(stockWebClient, times(1)).deductStock(orderId, singleStockDTO);
     }
 
     @Test
@@ -0,0 +1,55 @@
+package com.fiap.pedido.gateway.web.client;
+
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.gateway.web.ServiceResilience;
+import com.fiap.pedido.gateway.web.json.PaymentDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class PaymentWebClientTest {
+
+    private static final String URL = "http://payment-service";
+
+    private MockRestServiceServer server;
+    private PaymentWebClient paymentWebClient;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        paymentWebClient = new PaymentWebClient(restTemplate,
+                new ServiceResilience(new WebClientProperties(), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(paymentWebClient, "url", URL);
+    }
+
+    @Test
+    void processPayment_WhenOrderIdIsPresent_ShouldSendItAsIdempotencyKey() {
+        UUID orderId = UUID.randomUUID();
+        UUID paymentId = UUID.randomUUID();
+        PaymentDTO payment = new PaymentDTO();
+        payment.setOrderId(orderId);
+        server.expect(requestTo(URL + "/payments"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(PaymentWebClient.IDEMPOTENCY_KEY_HEADER, orderId.toString()))
+                .andRespond(withSuccess("{\"id\":\"" + paymentId + "\"}", MediaType.APPLICATION_JSON));
+
+        PaymentDTO created = paymentWebClient.processPayment(payment);
+
+        assertEquals(paymentId, created.getId());
+        server.verify();
+    }
+}
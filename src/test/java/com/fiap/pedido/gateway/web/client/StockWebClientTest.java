@@ -0,0 +1,63 @@
+package com.fiap.pedido.gateway.web.client;
+
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.gateway.web.ServiceResilience;
+import com.fiap.pedido.gateway.web.json.StockDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class StockWebClientTest {
+
+    private static final String URL = "http://stock-service";
+
+    private MockRestServiceServer server;
+    private StockWebClient stockWebClient;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        stockWebClient = new StockWebClient(restTemplate,
+                new ServiceResilience(new WebClientProperties(), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(stockWebClient, "url", URL);
+    }
+
+    @Test
+    void deductStock_ShouldSendTheOrderIdAsIdempotencyKey() {
+        UUID orderId = UUID.randomUUID();
+        server.expect(requestTo(URL + "/stocks/deduct"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(StockWebClient.IDEMPOTENCY_KEY_HEADER, orderId.toString()))
+                .andRespond(withSuccess());
+
+        stockWebClient.deductStock(orderId, List.of(new StockDTO()));
+
+        server.verify();
+    }
+
+    @Test
+    void returnStock_ShouldNotSendAnIdempotencyKey() {
+        server.expect(requestTo(URL + "/stocks/reverse"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(headerDoesNotExist(StockWebClient.IDEMPOTENCY_KEY_HEADER))
+                .andRespond(withSuccess());
+
+        stockWebClient.returnStock(List.of(new StockDTO()));
+
+        server.verify();
+    }
+}
@@ -0,0 +1,117 @@
+package com.fiap.pedido.gateway.web.reactive;
+
+import com.fiap.pedido.configuration.HttpClientConfiguration;
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.domain.Customer;
+import com.fiap.pedido.gateway.web.ServiceResilience;
+import com.fiap.pedido.gateway.web.json.CustomerResponseDTO;
+import com.fiap.pedido.mapper.CustomerMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerReactiveWebClientGatewayTest {
+
+    @Mock
+    private CustomerMapper customerMapper;
+
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+    private final AtomicReference<Supplier<ClientResponse>> nextResponse = new AtomicReference<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private CustomerReactiveWebClientGateway customerGateway;
+
+    private UUID customerId;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://customer-service")
+                .exchangeFunction(request -> {
+                    lastRequest.set(request);
+                    requests.incrementAndGet();
+                    return Mono.fromSupplier(nextResponse.get());
+                })
+                .build();
+        WebClientProperties properties = new WebClientProperties();
+        WebClientProperties.Client client = new WebClientProperties.Client();
+        client.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getClient().put(HttpClientConfiguration.CUSTOMER_SERVICE, client);
+        customerGateway = new CustomerReactiveWebClientGateway(webClient, customerMapper,
+                new ServiceResilience(properties, new SimpleMeterRegistry()));
+
+        customerId = UUID.randomUUID();
+    }
+
+    @Test
+    void findById_ShouldRequestCustomerAndReturnMappedCustomer() {
+        Customer customer = new Customer();
+        customer.setId(customerId);
+        nextResponse.set(() -> ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"id\":\"" + customerId + "\",\"fullName\":\"John Doe\",\"cpf\":\"12345678901\"}")
+                .build());
+        when(customerMapper.map(any(CustomerResponseDTO.class))).thenAnswer(invocation -> {
+            CustomerResponseDTO response = invocation.getArgument(0);
+            assertEquals("John Doe", response.getFullName());
+            return customer;
+        });
+
+        StepVerifier.create(customerGateway.findById(customerId))
+                .expectNext(customer)
+                .verifyComplete();
+
+        assertEquals(HttpMethod.GET, lastRequest.get().method());
+        assertEquals("/customers/" + customerId, lastRequest.get().url().getPath());
+    }
+
+    @Test
+    void findById_WhenServiceAnswersNotFound_ShouldFailWithResponseException() {
+        nextResponse.set(() -> ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        StepVerifier.create(customerGateway.findById(customerId))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify();
+
+        assertEquals(1, requests.get());
+        verifyNoInteractions(customerMapper);
+    }
+
+    @Test
+    void findById_WhenServiceFails_ShouldRetryAndFailWithServerError() {
+        nextResponse.set(() -> ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        StepVerifier.create(customerGateway.findById(customerId))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(WebClientResponseException.class, error);
+                    assertTrue(((WebClientResponseException) error).getStatusCode().is5xxServerError());
+                })
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(3, requests.get());
+    }
+}
@@ -0,0 +1,108 @@
+package com.fiap.pedido.gateway.web.reactive;
+
+import com.fiap.pedido.configuration.WebClientProperties;
+import com.fiap.pedido.domain.Item;
+import com.fiap.pedido.gateway.web.ServiceResilience;
+import com.fiap.pedido.gateway.web.client.StockWebClient;
+import com.fiap.pedido.gateway.web.json.StockDTO;
+import com.fiap.pedido.mapper.OrderItemMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReactiveWebClientGatewayTest {
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+    private final AtomicReference<ClientResponse> nextResponse = new AtomicReference<>();
+
+    private StockReactiveWebClientGateway stockGateway;
+
+    private final UUID orderId = UUID.randomUUID();
+    private List<Item> items;
+    private List<StockDTO> stocks;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://stock-service")
+                .exchangeFunction(request -> {
+                    lastRequest.set(request);
+                    return Mono.just(nextResponse.get());
+                })
+                .build();
+        stockGateway = new StockReactiveWebClientGateway(webClient, orderItemMapper,
+                new ServiceResilience(new WebClientProperties(), new SimpleMeterRegistry()));
+
+        Item item = new Item();
+        item.setId(UUID.randomUUID());
+        item.setSku("SKU001");
+        item.setQuantity(2);
+        item.setPrice(BigDecimal.valueOf(50.00));
+        items = List.of(item);
+        stocks = List.of(new StockDTO());
+    }
+
+    @Test
+    void deductStock_ShouldPostMappedItemsKeyedByTheOrderId() {
+        nextResponse.set(ClientResponse.create(HttpStatus.OK).build());
+        when(orderItemMapper.map(items)).thenReturn(stocks);
+
+        StepVerifier.create(stockGateway.deductStock(orderId, items)).verifyComplete();
+
+        assertEquals(HttpMethod.POST, lastRequest.get().method());
+        assertEquals("/stocks/deduct", lastRequest.get().url().getPath());
+        assertEquals(orderId.toString(), lastRequest.get().headers().getFirst(StockWebClient.IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Test
+    void returnStock_ShouldPostMappedItems() {
+        nextResponse.set(ClientResponse.create(HttpStatus.OK).build());
+        when(orderItemMapper.map(items)).thenReturn(stocks);
+
+        StepVerifier.create(stockGateway.returnStock(items)).verifyComplete();
+
+        assertEquals("/stocks/reverse", lastRequest.get().url().getPath());
+        assertFalse(lastRequest.get().headers().containsKey(StockWebClient.IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Test
+    void deductStock_WhenStockIsInsufficient_ShouldFailWithBadRequest() {
+        nextResponse.set(ClientResponse.create(HttpStatus.BAD_REQUEST).build());
+        when(orderItemMapper.map(items)).thenReturn(stocks);
+
+        StepVerifier.create(stockGateway.deductStock(orderId, items))
+                .expectError(WebClientResponseException.BadRequest.class)
+                .verify();
+    }
+
+    @Test
+    void deductStock_ShouldNotCallServiceUntilSubscribed() {
+        stockGateway.deductStock(orderId, items);
+
+        assertNull(lastRequest.get());
+        verifyNoInteractions(orderItemMapper);
+    }
+}
@@ -2,9 +2,11 @@ package com.fiap.pedido.usecase;
 
 import com.fiap.pedido.domain.Order;
 import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.OutboxTaskType;
 import com.fiap.pedido.domain.PaymentStatus;
 import com.fiap.pedido.exception.OrderException;
 import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.OutboxGateway;
 import com.fiap.pedido.usecase.validation.ValidateOrderStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +31,9 @@ class CreateOrderUseCaseTest {
     @Mock
     private OrderGateway orderGateway;
 
+    @Mock
+    private OutboxGateway outboxGateway;
+
     @Mock
     private ValidateOrderStrategy strategy1;
 
@@ -42,7 +47,7 @@ class CreateOrderUseCaseTest {
     @BeforeEach
     void setUp() {
         List<ValidateOrderStrategy> strategies = Arrays.asList(strategy1, strategy2);
-        createOrderUseCase = new CreateOrderUseCase(orderGateway, strategies);
+        createOrderUseCase = new CreateOrderUseCase(orderGateway, outboxGateway, strategies);
 
         testOrder = new Order();
         testOrder.setOrderId(UUID.randomUUID());
@@ -53,7 +58,7 @@ class CreateOrderUseCaseTest {
 
     @Test
     void execute_ShouldCreateOrderSuccessfully() {
-        when(orderGateway.save(any(Order.class))).thenReturn(Optional.of(testOrder));
+        when(orderGateway.create(any(Order.class))).thenReturn(Optional.of(testOrder));
 
         Order result = createOrderUseCase.execute(testOrder);
 
@@ -62,33 +67,63 @@ class CreateOrderUseCaseTest {
         assertEquals(PaymentStatus.PENDING, testOrder.getPaymentStatus());
         verify(strategy1, times(1)).validate(testOrder);
         verify(strategy2, times(1)).validate(testOrder);
-        verify(orderGateway, times(1)).save(testOrder);
+        verify(orderGateway, times(1)).create(testOrder);
+        verify(outboxGateway, times(1)).enqueue(testOrder.getOrderId(), OutboxTaskType.DEDUCT_STOCK);
     }
 
     @Test
     void execute_ShouldExecuteValidationStrategiesInOrder() {
-        when(orderGateway.save(any(Order.class))).thenReturn(Optional.of(testOrder));
+        when(orderGateway.create(any(Order.class))).thenReturn(Optional.of(testOrder));
 
         createOrderUseCase.execute(testOrder);
 
         var inOrder = inOrder(strategy1, strategy2, orderGateway);
         inOrder.verify(strategy1).validate(testOrder);
         inOrder.verify(strategy2).validate(testOrder);
-        inOrder.verify(orderGateway).save(testOrder);
+        inOrder.verify(orderGateway).create(testOrder);
+    }
+
+    @Test
+    void execute_WhenOrderIsNotCreated_ShouldNotEnqueueDownstreamSteps() {
+        when(orderGateway.create(any(Order.class))).thenReturn(Optional.empty());
+
+        assertThrows(OrderException.class, () -> createOrderUseCase.execute(testOrder));
+
+        verifyNoInteractions(outboxGateway);
+    }
+
+    @Test
+    void validate_ShouldRunEveryStrategyWithoutCreatingTheOrder() {
+        createOrderUseCase.validate(testOrder);
+
+        verify(strategy1, times(1)).validate(testOrder);
+        verify(strategy2, times(1)).validate(testOrder);
+        verifyNoInteractions(orderGateway, outboxGateway);
+    }
+
+    @Test
+    void executeClosed_ShouldCreateOrderWithTheStatusAndNoDownstreamSteps() {
+        when(orderGateway.create(any(Order.class))).thenReturn(Optional.of(testOrder));
+
+        Order result = createOrderUseCase.executeClosed(testOrder, OrderStatus.CANCELADO);
+
+        assertEquals(OrderStatus.CANCELADO, result.getStatus());
+        verify(orderGateway, times(1)).create(testOrder);
+        verifyNoInteractions(strategy1, strategy2, outboxGateway);
     }
 
     @Test
     void execute_WithEmptyValidationStrategies_ShouldCreateOrder() {
         List<ValidateOrderStrategy> emptyStrategies = Collections.emptyList();
-        createOrderUseCase = new CreateOrderUseCase(orderGateway, emptyStrategies);
-        when(orderGateway.save(any(Order.class))).thenReturn(Optional.of(testOrder));
+        createOrderUseCase = new CreateOrderUseCase(orderGateway, outboxGateway, emptyStrategies);
+        when(orderGateway.create(any(Order.class))).thenReturn(Optional.of(testOrder));
 
         Order result = createOrderUseCase.execute(testOrder);
 
         assertNotNull(result);
         assertEquals(OrderStatus.ABERTO, testOrder.getStatus());
         assertEquals(PaymentStatus.PENDING, testOrder.getPaymentStatus());
-        verify(orderGateway, times(1)).save(testOrder);
+        verify(orderGateway, times(1)).create(testOrder);
         verifyNoInteractions(strategy1, strategy2);
     }
 
@@ -103,7 +138,7 @@ class CreateOrderUseCaseTest {
         assertEquals("Validation failed", exception.getMessage());
         verify(strategy1, times(1)).validate(testOrder);
         verify(strategy2, never()).validate(testOrder);
-        verify(orderGateway, never()).save(any(Order.class));
+        verify(orderGateway, never()).create(any(Order.class));
     }
 
     @Test
@@ -118,12 +153,12 @@ class CreateOrderUseCaseTest {
         assertEquals("Second validation failed", exception.getMessage());
         verify(strategy1, times(1)).validate(testOrder);
         verify(strategy2, times(1)).validate(testOrder);
-        verify(orderGateway, never()).save(any(Order.class));
+        verify(orderGateway, never()).create(any(Order.class));
     }
 
     @Test
-    void execute_WhenGatewaySaveReturnsEmpty_ShouldThrowOrderException() {
-        when(orderGateway.save(any(Order.class))).thenReturn(Optional.empty());
+    void execute_WhenOrderAlreadyExists_ShouldThrowOrderException() {
+        when(orderGateway.create(any(Order.class))).thenReturn(Optional.empty());
 
         OrderException exception = assertThrows(OrderException.class,
                 () -> createOrderUseCase.execute(testOrder));
@@ -133,13 +168,13 @@ class CreateOrderUseCaseTest {
         assertEquals(PaymentStatus.PENDING, testOrder.getPaymentStatus());
         verify(strategy1, times(1)).validate(testOrder);
         verify(strategy2, times(1)).validate(testOrder);
-        verify(orderGateway, times(1)).save(testOrder);
+        verify(orderGateway, times(1)).create(testOrder);
     }
 
     @Test
     void execute_WhenGatewayThrowsException_ShouldPropagateException() {
         RuntimeException gatewayException = new RuntimeException("Database error");
-        when(orderGateway.save(any(Order.class))).thenThrow(gatewayException);
+        when(orderGateway.create(any(Order.class))).thenThrow(gatewayException);
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> createOrderUseCase.execute(testOrder));
@@ -147,13 +182,13 @@ class CreateOrderUseCaseTest {
         assertEquals("Database error", exception.getMessage());
         verify(strategy1, times(1)).validate(testOrder);
         verify(strategy2, times(1)).validate(testOrder);
-        verify(orderGateway, times(1)).save(testOrder);
+        verify(orderGateway, times(1)).create(testOrder);
     }
 
     @Test
     void execute_ShouldSetCorrectOrderStatus() {
         testOrder.setStatus(OrderStatus.FECHADO_COM_SUCESSO);
-        when(orderGateway.save(any(Order.class))).thenReturn(Optional.of(testOrder));
+        when(orderGateway.create(any(Order.class))).thenReturn(Optional.of(testOrder));
 
         createOrderUseCase.execute(testOrder);
 
@@ -164,7 +199,7 @@ class CreateOrderUseCaseTest {
     @Test
     void execute_ShouldOverrideExistingPaymentStatus() {
         testOrder.setPaymentStatus(PaymentStatus.IN_PROGRESS);
-        when(orderGateway.save(any(Order.class))).thenReturn(Optional.of(testOrder));
+        when(orderGateway.create(any(Order.class))).thenReturn(Optional.of(testOrder));
 
         createOrderUseCase.execute(testOrder);
 
@@ -177,7 +212,7 @@ class CreateOrderUseCaseTest {
         testOrder.setCardNumber("1234-5678-9012-3456");
         testOrder.setPaymentId(UUID.randomUUID());
 
-        when(orderGateway.save(any(Order.class))).thenReturn(Optional.of(testOrder));
+        when(orderGateway.create(any(Order.class))).thenReturn(Optional.of(testOrder));
 
         Order result = createOrderUseCase.execute(testOrder);
 
@@ -56,43 +56,43 @@ class DeductStockUseCaseTest {
 
     @Test
     void execute_ShouldDeductStockSuccessfully() {
-        doNothing().when(stockGateway).deductStock(testItems);
+        doNothing().when(stockGateway).deductStock(testOrder.getOrderId(), testItems);
 
         assertDoesNotThrow(() -> deductStockUseCase.execute(testOrder));
 
-        verify(stockGateway, times(1)).deductStock(testItems);
+        verify(stockGateway, times(1)).deductStock(testOrder.getOrderId(), testItems);
     }
 
     @Test
     void execute_WithEmptyItemsList_ShouldCallGatewayWithEmptyList() {
         testOrder.setItems(Collections.emptyList());
-        doNothing().when(stockGateway).deductStock(Collections.emptyList());
+        doNothing().when(stockGateway).deductStock(testOrder.getOrderId(), Collections.emptyList());
 
         assertDoesNotThrow(() -> deductStockUseCase.execute(testOrder));
 
-        verify(stockGateway, times(1)).deductStock(Collections.emptyList());
+        verify(stockGateway, times(1)).deductStock(testOrder.getOrderId(), Collections.emptyList());
     }
 
     @Test
     void execute_WhenHttpClientErrorBadRequest_ShouldThrowInsufficientStockException() {
-        doThrow(badRequestException).when(stockGateway).deductStock(testItems);
+        doThrow(badRequestException).when(stockGateway).deductStock(testOrder.getOrderId(), testItems);
 
         assertThrows(InsufficientStockException.class,
                 () -> deductStockUseCase.execute(testOrder));
 
-        verify(stockGateway, times(1)).deductStock(testItems);
+        verify(stockGateway, times(1)).deductStock(testOrder.getOrderId(), testItems);
     }
 
     @Test
     void execute_WhenGenericExceptionOccurs_ShouldPropagateException() {
         RuntimeException genericException = new RuntimeException("Stock service unavailable");
-        doThrow(genericException).when(stockGateway).deductStock(testItems);
+        doThrow(genericException).when(stockGateway).deductStock(testOrder.getOrderId(), testItems);
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> deductStockUseCase.execute(testOrder));
 
         assertEquals("Stock service unavailable", exception.getMessage());
-        verify(stockGateway, times(1)).deductStock(testItems);
+        verify(stockGateway, times(1)).deductStock(testOrder.getOrderId(), testItems);
     }
 
     @Test
@@ -101,42 +101,42 @@ class DeductStockUseCaseTest {
         testOrder.setItems(Collections.singletonList(singleItem));
         List<Item> singleItemList = Collections.singletonList(singleItem);
 
-        doNothing().when(stockGateway).deductStock(singleItemList);
+        doNothing().when(stockGateway).deductStock(testOrder.getOrderId(), singleItemList);
 
         assertDoesNotThrow(() -> deductStockUseCase.execute(testOrder));
 
-        verify(stockGateway, times(1)).deductStock(singleItemList);
+        verify(stockGateway, times(1)).deductStock(testOrder.getOrderId(), singleItemList);
     }
 
     @Test
     void execute_WithNullItems_ShouldCallGatewayWithNull() {
         testOrder.setItems(null);
-        doNothing().when(stockGateway).deductStock(null);
+        doNothing().when(stockGateway).deductStock(testOrder.getOrderId(), null);
 
         assertDoesNotThrow(() -> deductStockUseCase.execute(testOrder));
 
-        verify(stockGateway, times(1)).deductStock(null);
+        verify(stockGateway, times(1)).deductStock(testOrder.getOrderId(), null);
     }
 
     @Test
     void execute_WhenStockGatewayThrowsHttpClientError_ShouldWrapInInsufficientStockException() {
 
-        doThrow(badRequestException).when(stockGateway).deductStock(testItems);
+        doThrow(badRequestException).when(stockGateway).deductStock(testOrder.getOrderId(), testItems);
 
         assertThrows(InsufficientStockException.class,
                 () -> deductStockUseCase.execute(testOrder));
 
-        verify(stockGateway, times(1)).deductStock(testItems);
+        verify(stockGateway, times(1)).deductStock(testOrder.getOrderId(), testItems);
     }
 
     @Test
     void execute_WhenMultipleItemsAndOneHasInsufficientStock_ShouldThrowException() {
 
-        doThrow(badRequestException).when(stockGateway).deductStock(testItems);
+        doThrow(badRequestException).when(stockGateway).deductStock(testOrder.getOrderId(), testItems);
 
         assertThrows(InsufficientStockException.class,
                 () -> deductStockUseCase.execute(testOrder));
 
-        verify(stockGateway, times(1)).deductStock(testItems);
+        verify(stockGateway, times(1)).deductStock(testOrder.getOrderId(), testItems);
     }
 }
@@ -3,20 +3,31 @@ package com.fiap.pedido.usecase;
 import com.fiap.pedido.domain.Order;
 import com.fiap.pedido.domain.OrderStatus;
 import com.fiap.pedido.exception.DataEnrichmentException;
-import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.exception.TransientFailures;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
 import com.fiap.pedido.usecase.load.EnrichOrderDataStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,8 +36,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class EnrichOrderDetailsUseCaseTest {
 
-    @Mock
-    private OrderGateway orderGateway;
+    private static final AsyncTaskExecutor SYNC_EXECUTOR = new TaskExecutorAdapter(Runnable::run);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final OrderPipelineMetrics METRICS = new OrderPipelineMetrics(new SimpleMeterRegistry());
 
     @Mock
     private EnrichOrderDataStrategy strategy1;
@@ -41,7 +53,7 @@ class EnrichOrderDetailsUseCaseTest {
     @BeforeEach
     void setUp() {
         List<EnrichOrderDataStrategy> strategies = Arrays.asList(strategy1, strategy2);
-        enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(orderGateway, strategies);
+        enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(strategies, SYNC_EXECUTOR, TIMEOUT, METRICS);
 
         testOrder = new Order();
         testOrder.setOrderId(UUID.randomUUID());
@@ -52,42 +64,36 @@ class EnrichOrderDetailsUseCaseTest {
     }
 
     @Test
-    void execute_ShouldEnrichOrderAndSaveSuccessfully() {
-        when(orderGateway.save(testOrder)).thenReturn(Optional.of(testOrder));
+    void execute_ShouldEnrichOrderSuccessfully() {
 
         assertDoesNotThrow(() -> enrichOrderDetailsUseCase.execute(testOrder));
 
         verify(strategy1, times(1)).enrich(testOrder);
         verify(strategy2, times(1)).enrich(testOrder);
-        verify(orderGateway, times(1)).save(testOrder);
     }
 
     @Test
     void execute_ShouldExecuteStrategiesInOrder() {
-        when(orderGateway.save(testOrder)).thenReturn(Optional.of(testOrder));
 
         enrichOrderDetailsUseCase.execute(testOrder);
 
-        var inOrder = inOrder(strategy1, strategy2, orderGateway);
+        var inOrder = inOrder(strategy1, strategy2);
         inOrder.verify(strategy1).enrich(testOrder);
         inOrder.verify(strategy2).enrich(testOrder);
-        inOrder.verify(orderGateway).save(testOrder);
     }
 
     @Test
-    void execute_WithEmptyStrategiesList_ShouldOnlySaveOrder() {
+    void execute_WithEmptyStrategiesList_ShouldDoNothing() {
         List<EnrichOrderDataStrategy> emptyStrategies = Collections.emptyList();
-        enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(orderGateway, emptyStrategies);
-        when(orderGateway.save(testOrder)).thenReturn(Optional.of(testOrder));
+        enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(emptyStrategies, SYNC_EXECUTOR, TIMEOUT, METRICS);
 
         assertDoesNotThrow(() -> enrichOrderDetailsUseCase.execute(testOrder));
 
-        verify(orderGateway, times(1)).save(testOrder);
         verifyNoInteractions(strategy1, strategy2);
     }
 
     @Test
-    void execute_WhenStrategyThrowsException_ShouldThrowDataEnrichmentException() {
+    void execute_WhenStrategyThrowsException_ShouldRunRemainingStrategiesAndThrowDataEnrichmentException() {
         RuntimeException strategyException = new RuntimeException("Strategy failed");
         doThrow(strategyException).when(strategy1).enrich(testOrder);
 
@@ -97,95 +103,221 @@ class EnrichOrderDetailsUseCaseTest {
         assertEquals("Failed to enrich order details", exception.getMessage());
         assertEquals(strategyException, exception.getCause());
         verify(strategy1, times(1)).enrich(testOrder);
-        verify(strategy2, never()).enrich(testOrder);
-        verify(orderGateway, never()).save(testOrder);
+        verify(strategy2, times(1)).enrich(testOrder);
     }
 
     @Test
-    void execute_WhenSecondStrategyThrowsException_ShouldThrowDataEnrichmentException() {
-        RuntimeException strategyException = new RuntimeException("Second strategy failed");
-        doNothing().when(strategy1).enrich(testOrder);
-        doThrow(strategyException).when(strategy2).enrich(testOrder);
+    void execute_WhenAllStrategiesFail_ShouldAggregateFailures() {
+        RuntimeException firstException = new RuntimeException("Customer service unavailable");
+        RuntimeException secondException = new RuntimeException("Product service unavailable");
+        doThrow(firstException).when(strategy1).enrich(testOrder);
+        doThrow(secondException).when(strategy2).enrich(testOrder);
 
         DataEnrichmentException exception = assertThrows(DataEnrichmentException.class,
                 () -> enrichOrderDetailsUseCase.execute(testOrder));
 
-        assertEquals("Failed to enrich order details", exception.getMessage());
-        assertEquals(strategyException, exception.getCause());
-        verify(strategy1, times(1)).enrich(testOrder);
-        verify(strategy2, times(1)).enrich(testOrder);
-        verify(orderGateway, never()).save(testOrder);
+        assertEquals(firstException, exception.getCause());
+        assertArrayEquals(new Throwable[]{secondException}, firstException.getSuppressed());
     }
 
     @Test
-    void execute_WhenGatewaySaveReturnsEmpty_ShouldThrowDataEnrichmentException() {
-        when(orderGateway.save(testOrder)).thenReturn(Optional.empty());
+    void execute_ShouldRunStrategiesConcurrently() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(
+                    Arrays.asList(strategy1, strategy2), new TaskExecutorAdapter(executor), TIMEOUT, METRICS);
+            CountDownLatch bothRunning = new CountDownLatch(2);
+            doAnswer(invocation -> {
+                bothRunning.countDown();
+                if (!bothRunning.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Strategies were not executed concurrently");
+                }
+                return null;
+            }).when(strategy1).enrich(testOrder);
+            doAnswer(invocation -> {
+                bothRunning.countDown();
+                if (!bothRunning.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Strategies were not executed concurrently");
+                }
+                return null;
+            }).when(strategy2).enrich(testOrder);
+
+            assertDoesNotThrow(() -> enrichOrderDetailsUseCase.execute(testOrder));
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-        DataEnrichmentException exception = assertThrows(DataEnrichmentException.class,
-                () -> enrichOrderDetailsUseCase.execute(testOrder));
+    @Test
+    void execute_WhenStageTimesOut_ShouldThrowDataEnrichmentException() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(
+                    Arrays.asList(strategy1, strategy2), new TaskExecutorAdapter(executor), Duration.ofMillis(100),
+                    METRICS);
+            doAnswer(invocation -> {
+                Thread.sleep(2_000);
+                return null;
+            }).when(strategy1).enrich(testOrder);
+
+            DataEnrichmentException exception = assertThrows(DataEnrichmentException.class,
+                    () -> enrichOrderDetailsUseCase.execute(testOrder));
+
+            assertEquals("Failed to enrich order details", exception.getMessage());
+            assertInstanceOf(DataEnrichmentException.class, exception.getCause());
+            assertTrue(exception.getCause().getMessage().contains("timed out"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-        assertEquals("Failed to enrich order details", exception.getMessage());
-        verify(strategy1, times(1)).enrich(testOrder);
-        verify(strategy2, times(1)).enrich(testOrder);
-        verify(orderGateway, times(1)).save(testOrder);
+    @Test
+    void execute_WhenStageTimesOut_ShouldInterruptTheStrategiesStillRunning() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(
+                    Collections.singletonList(strategy1), new TaskExecutorAdapter(executor), Duration.ofMillis(100),
+                    METRICS);
+            doAnswer(invocation -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }).when(strategy1).enrich(testOrder);
+
+            DataEnrichmentException exception = assertThrows(DataEnrichmentException.class,
+                    () -> enrichOrderDetailsUseCase.execute(testOrder));
+
+            assertTrue(TransientFailures.isTransient(exception));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     @Test
-    void execute_WhenGatewayThrowsException_ShouldThrowDataEnrichmentException() {
-        RuntimeException gatewayException = new RuntimeException("Database error");
-        when(orderGateway.save(testOrder)).thenThrow(gatewayException);
+    void execute_WhenExecutorIsSaturated_ShouldFailTransientlyWithoutRunningOnTheCaller() {
+        ThreadPoolExecutor saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            saturated.execute(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(
+                    Arrays.asList(strategy1, strategy2), new TaskExecutorAdapter(saturated), TIMEOUT, METRICS);
+
+            DataEnrichmentException exception = assertThrows(DataEnrichmentException.class,
+                    () -> enrichOrderDetailsUseCase.execute(testOrder));
+
+            assertInstanceOf(TaskRejectedException.class, exception.getCause());
+            assertTrue(TransientFailures.isTransient(exception));
+            verifyNoInteractions(strategy1, strategy2);
+        } finally {
+            release.countDown();
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WhenCallerIsInterrupted_ShouldCancelTheStrategiesAndKeepTheInterruptFlag() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(
+                    Collections.singletonList(strategy1), new TaskExecutorAdapter(executor), TIMEOUT, METRICS);
+            doAnswer(invocation -> {
+                running.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }).when(strategy1).enrich(testOrder);
+            Thread caller = Thread.currentThread();
+            Thread interrupter = new Thread(() -> {
+                try {
+                    running.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                caller.interrupt();
+            });
+            interrupter.start();
+
+            DataEnrichmentException exception = assertThrows(DataEnrichmentException.class,
+                    () -> enrichOrderDetailsUseCase.execute(testOrder));
+
+            assertInstanceOf(InterruptedException.class, exception.getCause());
+            assertTrue(Thread.interrupted());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            interrupter.join();
+        } finally {
+            Thread.interrupted();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WhenSecondStrategyThrowsException_ShouldThrowDataEnrichmentException() {
+        RuntimeException strategyException = new RuntimeException("Second strategy failed");
+        doNothing().when(strategy1).enrich(testOrder);
+        doThrow(strategyException).when(strategy2).enrich(testOrder);
 
         DataEnrichmentException exception = assertThrows(DataEnrichmentException.class,
                 () -> enrichOrderDetailsUseCase.execute(testOrder));
 
         assertEquals("Failed to enrich order details", exception.getMessage());
-        assertEquals(gatewayException, exception.getCause());
+        assertEquals(strategyException, exception.getCause());
         verify(strategy1, times(1)).enrich(testOrder);
         verify(strategy2, times(1)).enrich(testOrder);
-        verify(orderGateway, times(1)).save(testOrder);
     }
 
     @Test
-    void execute_WhenStrategyModifiesOrder_ShouldSaveModifiedOrder() {
+    void execute_WhenStrategyModifiesOrder_ShouldKeepModificationsOnOrder() {
         doAnswer(invocation -> {
             Order order = invocation.getArgument(0);
             order.setCustomerName("Modified Name");
             return null;
         }).when(strategy1).enrich(testOrder);
 
-        when(orderGateway.save(any(Order.class))).thenReturn(Optional.of(testOrder));
 
         enrichOrderDetailsUseCase.execute(testOrder);
 
         assertEquals("Modified Name", testOrder.getCustomerName());
-        verify(orderGateway, times(1)).save(testOrder);
     }
 
     @Test
     void execute_WithSingleStrategy_ShouldExecuteSuccessfully() {
         List<EnrichOrderDataStrategy> singleStrategy = Collections.singletonList(strategy1);
-        enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(orderGateway, singleStrategy);
-        when(orderGateway.save(testOrder)).thenReturn(Optional.of(testOrder));
+        enrichOrderDetailsUseCase = new EnrichOrderDetailsUseCase(singleStrategy, SYNC_EXECUTOR, TIMEOUT, METRICS);
 
         assertDoesNotThrow(() -> enrichOrderDetailsUseCase.execute(testOrder));
 
         verify(strategy1, times(1)).enrich(testOrder);
         verify(strategy2, never()).enrich(testOrder);
-        verify(orderGateway, times(1)).save(testOrder);
     }
 
     @Test
     void constructor_ShouldInitializeFieldsCorrectly() {
         List<EnrichOrderDataStrategy> strategies = Arrays.asList(strategy1, strategy2);
 
-        EnrichOrderDetailsUseCase useCase = new EnrichOrderDetailsUseCase(orderGateway, strategies);
+        EnrichOrderDetailsUseCase useCase = new EnrichOrderDetailsUseCase(strategies, SYNC_EXECUTOR, TIMEOUT, METRICS);
 
         assertNotNull(useCase);
-        when(orderGateway.save(testOrder)).thenReturn(Optional.of(testOrder));
         useCase.execute(testOrder);
 
         verify(strategy1, times(1)).enrich(testOrder);
         verify(strategy2, times(1)).enrich(testOrder);
-        verify(orderGateway, times(1)).save(testOrder);
     }
 }
@@ -0,0 +1,270 @@
+package com.fiap.pedido.usecase;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.OutboxTask;
+import com.fiap.pedido.domain.OutboxTaskType;
+import com.fiap.pedido.exception.InsufficientFundsException;
+import com.fiap.pedido.exception.InsufficientStockException;
+import com.fiap.pedido.exception.PaymentException;
+import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.OutboxGateway;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FulfillOrderStepUseCaseTest {
+
+    @Mock
+    private OrderGateway orderGateway;
+
+    @Mock
+    private OutboxGateway outboxGateway;
+
+    @Mock
+    private UpdateOrderUseCase updateOrderUseCase;
+
+    @Mock
+    private DeductStockUseCase deductStockUseCase;
+
+    @Mock
+    private ReturnStockUseCase returnStockUseCase;
+
+    @Mock
+    private InitPaymentUseCase initPaymentUseCase;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FulfillOrderStepUseCase fulfillOrderStepUseCase;
+
+    private Order testOrder;
+
+    @BeforeEach
+    void setUp() {
+        fulfillOrderStepUseCase = new FulfillOrderStepUseCase(orderGateway, outboxGateway, updateOrderUseCase,
+                deductStockUseCase, returnStockUseCase, initPaymentUseCase, new OrderPipelineMetrics(meterRegistry));
+
+        testOrder = new Order();
+        testOrder.setOrderId(UUID.randomUUID());
+        testOrder.setStatus(OrderStatus.ABERTO);
+    }
+
+    @Test
+    void execute_WhenStockIsDeducted_ShouldAdvanceToPaymentInitialisation() {
+        OutboxTask task = task(OutboxTaskType.DEDUCT_STOCK);
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+
+        fulfillOrderStepUseCase.execute(task);
+
+        verify(deductStockUseCase, times(1)).execute(testOrder);
+        verify(outboxGateway, times(1)).advance(task.id(), OutboxTaskType.INIT_PAYMENT);
+        verify(outboxGateway, never()).complete(any());
+        verifyNoInteractions(initPaymentUseCase);
+    }
+
+    @Test
+    void execute_WhenStockIsInsufficient_ShouldCloseOrderAndCompleteTask() {
+        OutboxTask task = task(OutboxTaskType.DEDUCT_STOCK);
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+        doThrow(new InsufficientStockException("Insufficient stock")).when(deductStockUseCase).execute(testOrder);
+
+        fulfillOrderStepUseCase.execute(task);
+
+        assertEquals(OrderStatus.FECHADO_SEM_ESTOQUE, testOrder.getStatus());
+        verify(updateOrderUseCase, times(1)).execute(testOrder);
+        verify(outboxGateway, times(1)).complete(task.id());
+        verify(outboxGateway, never()).advance(any(), any());
+        verifyNoInteractions(returnStockUseCase);
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "FECHADO_SEM_ESTOQUE").counter().count());
+    }
+
+    @Test
+    void execute_WhenStockServiceIsUnreachable_ShouldPropagateForRetry() {
+        OutboxTask task = task(OutboxTaskType.DEDUCT_STOCK);
+        RuntimeException serviceException = new ResourceAccessException("I/O error on POST request",
+                new ConnectException("Connection refused"));
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+        doThrow(serviceException).when(deductStockUseCase).execute(testOrder);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> fulfillOrderStepUseCase.execute(task));
+
+        assertEquals(serviceException, exception);
+        assertEquals(OrderStatus.ABERTO, testOrder.getStatus());
+        verifyNoInteractions(updateOrderUseCase);
+        verify(outboxGateway, never()).complete(any());
+        verify(outboxGateway, never()).advance(any(), any());
+    }
+
+    @Test
+    void execute_WhenStockCallTimesOut_ShouldPropagateForRetryWithoutReturningStock() {
+        OutboxTask task = task(OutboxTaskType.DEDUCT_STOCK);
+        RuntimeException timeout = new ResourceAccessException("Read timed out",
+                new SocketTimeoutException("Read timed out"));
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+        doThrow(timeout).when(deductStockUseCase).execute(testOrder);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> fulfillOrderStepUseCase.execute(task));
+
+        assertEquals(timeout, exception);
+        assertEquals(OrderStatus.ABERTO, testOrder.getStatus());
+        verifyNoInteractions(returnStockUseCase, updateOrderUseCase);
+        verify(outboxGateway, never()).complete(any());
+        verify(outboxGateway, never()).advance(any(), any());
+    }
+
+    @Test
+    void execute_WhenAdvancingFailsAfterDeduction_ShouldPropagateForRetryWithoutReturningStock() {
+        OutboxTask task = task(OutboxTaskType.DEDUCT_STOCK);
+        RuntimeException databaseException = new QueryTimeoutException("Lock wait timeout");
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+        doThrow(databaseException).when(outboxGateway).advance(task.id(), OutboxTaskType.INIT_PAYMENT);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> fulfillOrderStepUseCase.execute(task));
+
+        assertEquals(databaseException, exception);
+        verify(deductStockUseCase, times(1)).execute(testOrder);
+        verifyNoInteractions(returnStockUseCase);
+        assertEquals(OrderStatus.ABERTO, testOrder.getStatus());
+    }
+
+    @Test
+    void execute_WhenPaymentServiceIsUnreachable_ShouldPropagateForRetry() {
+        OutboxTask task = task(OutboxTaskType.INIT_PAYMENT);
+        RuntimeException serviceException = new ResourceAccessException("I/O error on POST request",
+                new ConnectException("Connection refused"));
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+        doThrow(serviceException).when(initPaymentUseCase).execute(testOrder);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> fulfillOrderStepUseCase.execute(task));
+
+        assertEquals(serviceException, exception);
+        verifyNoInteractions(returnStockUseCase, updateOrderUseCase);
+        verify(outboxGateway, never()).complete(any());
+    }
+
+    @Test
+    void execute_WhenPaymentOutcomeIsUnknown_ShouldPropagateForRetryWithoutClosingOrder() {
+        OutboxTask task = task(OutboxTaskType.INIT_PAYMENT);
+        RuntimeException timeout = new ResourceAccessException("Read timed out",
+                new SocketTimeoutException("Read timed out"));
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+        doThrow(timeout).when(initPaymentUseCase).execute(testOrder);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> fulfillOrderStepUseCase.execute(task));
+
+        assertEquals(timeout, exception);
+        assertEquals(OrderStatus.ABERTO, testOrder.getStatus());
+        verifyNoInteractions(returnStockUseCase, updateOrderUseCase);
+        verify(outboxGateway, never()).complete(any());
+    }
+
+    @Test
+    void execute_WhenPaymentIsInitialised_ShouldCompleteTaskWithoutCountingAnOutcomeYet() {
+        OutboxTask task = task(OutboxTaskType.INIT_PAYMENT);
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+
+        fulfillOrderStepUseCase.execute(task);
+
+        verify(initPaymentUseCase, times(1)).execute(testOrder);
+        verify(outboxGateway, times(1)).complete(task.id());
+        verifyNoInteractions(deductStockUseCase, returnStockUseCase, updateOrderUseCase);
+        assertTrue(meterRegistry.find("order.outcome").counters().isEmpty());
+    }
+
+    @Test
+    void execute_WhenFundsAreInsufficient_ShouldReturnStockAndCloseOrder() {
+        OutboxTask task = task(OutboxTaskType.INIT_PAYMENT);
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+        doThrow(new InsufficientFundsException("Insufficient funds")).when(initPaymentUseCase).execute(testOrder);
+
+        fulfillOrderStepUseCase.execute(task);
+
+        assertEquals(OrderStatus.FECHADO_SEM_CREDITO, testOrder.getStatus());
+        verify(returnStockUseCase, times(1)).execute(testOrder);
+        verify(updateOrderUseCase, times(1)).execute(testOrder);
+        verify(outboxGateway, times(1)).complete(task.id());
+    }
+
+    @Test
+    void execute_WhenPaymentFails_ShouldReturnStockAndCloseOrder() {
+        OutboxTask task = task(OutboxTaskType.INIT_PAYMENT);
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+        doThrow(new PaymentException("Payment processing failed")).when(initPaymentUseCase).execute(testOrder);
+
+        fulfillOrderStepUseCase.execute(task);
+
+        assertEquals(OrderStatus.FECHADO_SEM_CREDITO, testOrder.getStatus());
+        verify(returnStockUseCase, times(1)).execute(testOrder);
+        verify(outboxGateway, times(1)).complete(task.id());
+    }
+
+    @Test
+    void execute_WhenOrderIsNoLongerOpen_ShouldOnlyCompleteTask() {
+        OutboxTask task = task(OutboxTaskType.DEDUCT_STOCK);
+        testOrder.setStatus(OrderStatus.CANCELADO);
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+
+        fulfillOrderStepUseCase.execute(task);
+
+        verify(outboxGateway, times(1)).complete(task.id());
+        verifyNoInteractions(deductStockUseCase, initPaymentUseCase, updateOrderUseCase);
+    }
+
+    @Test
+    void execute_WhenOrderIsMissing_ShouldOnlyCompleteTask() {
+        OutboxTask task = task(OutboxTaskType.INIT_PAYMENT);
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.empty());
+
+        fulfillOrderStepUseCase.execute(task);
+
+        verify(outboxGateway, times(1)).complete(task.id());
+        verifyNoInteractions(deductStockUseCase, initPaymentUseCase, updateOrderUseCase);
+    }
+
+    @Test
+    void abandon_WhenStockWasDeducted_ShouldReturnStockAndCancelOrder() {
+        OutboxTask task = task(OutboxTaskType.INIT_PAYMENT);
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+
+        fulfillOrderStepUseCase.abandon(task);
+
+        assertEquals(OrderStatus.CANCELADO, testOrder.getStatus());
+        verify(returnStockUseCase, times(1)).execute(testOrder);
+        verify(updateOrderUseCase, times(1)).execute(testOrder);
+        verify(outboxGateway, times(1)).complete(task.id());
+    }
+
+    @Test
+    void abandon_WhenStockDeductionIsExhausted_ShouldOnlyCancelOrder() {
+        OutboxTask task = task(OutboxTaskType.DEDUCT_STOCK);
+        when(orderGateway.findOrderByOrderId(testOrder.getOrderId())).thenReturn(Optional.of(testOrder));
+
+        fulfillOrderStepUseCase.abandon(task);
+
+        assertEquals(OrderStatus.CANCELADO, testOrder.getStatus());
+        verifyNoInteractions(returnStockUseCase);
+        verify(outboxGateway, times(1)).complete(task.id());
+    }
+
+    private OutboxTask task(OutboxTaskType type) {
+        return new OutboxTask(UUID.randomUUID(), testOrder.getOrderId(), type, 0, Instant.now());
+    }
+}
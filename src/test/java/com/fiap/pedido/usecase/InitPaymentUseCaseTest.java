@@ -11,13 +11,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -92,15 +98,15 @@ class InitPaymentUseCaseTest {
     }
 
     @Test
-    void execute_WhenGenericExceptionOccurs_ShouldThrowPaymentException() {
-        RuntimeException genericException = new RuntimeException("Payment service unavailable");
-        when(paymentGateway.processPayment(testOrder)).thenThrow(genericException);
+    void execute_WhenPaymentIsRejected_ShouldThrowPaymentException() {
+        when(paymentGateway.processPayment(testOrder)).thenThrow(HttpClientErrorException.create(
+                HttpStatus.UNPROCESSABLE_ENTITY, "Card expired", null, null, null));
         when(orderGateway.save(testOrder)).thenReturn(Optional.of(testOrder));
 
         PaymentException exception = assertThrows(PaymentException.class,
                 () -> initPaymentUseCase.execute(testOrder));
 
-        assertEquals("Payment service unavailable", exception.getMessage());
+        assertTrue(exception.getMessage().contains("Card expired"));
         assertEquals(PaymentStatus.FAILED, testOrder.getPaymentStatus());
         assertNull(testOrder.getPaymentId());
         verify(paymentGateway, times(1)).processPayment(testOrder);
@@ -108,21 +114,50 @@ class InitPaymentUseCaseTest {
     }
 
     @Test
-    void execute_ShouldAlwaysSaveOrderInFinally() {
-        when(paymentGateway.processPayment(testOrder)).thenReturn(Optional.of(paymentId));
-        when(orderGateway.save(testOrder)).thenReturn(Optional.of(testOrder));
+    void execute_WhenPaymentServiceFails_ShouldPropagateForRetryWithoutFailingPayment() {
+        HttpServerErrorException serverError = HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable", null, null, null);
+        when(paymentGateway.processPayment(testOrder)).thenThrow(serverError);
 
-        initPaymentUseCase.execute(testOrder);
+        HttpServerErrorException exception = assertThrows(HttpServerErrorException.class,
+                () -> initPaymentUseCase.execute(testOrder));
 
-        verify(orderGateway, times(1)).save(testOrder);
+        assertSame(serverError, exception);
+        assertNull(testOrder.getPaymentStatus());
+        verify(orderGateway, never()).save(any());
+    }
+
+    @Test
+    void execute_WhenPaymentCallTimesOut_ShouldPropagateForRetryWithoutFailingPayment() {
+        ResourceAccessException timeout = new ResourceAccessException("Read timed out",
+                new SocketTimeoutException("Read timed out"));
+        when(paymentGateway.processPayment(testOrder)).thenThrow(timeout);
+
+        ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                () -> initPaymentUseCase.execute(testOrder));
+
+        assertSame(timeout, exception);
+        assertNull(testOrder.getPaymentStatus());
+        verify(orderGateway, never()).save(any());
+    }
+
+    @Test
+    void execute_WhenPaymentServiceThrottles_ShouldPropagateForRetry() {
+        when(paymentGateway.processPayment(testOrder)).thenThrow(HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null));
+
+        assertThrows(HttpClientErrorException.TooManyRequests.class, () -> initPaymentUseCase.execute(testOrder));
+
+        assertNull(testOrder.getPaymentStatus());
+        verify(orderGateway, never()).save(any());
     }
 
     @Test
-    void execute_EvenWhenExceptionOccurs_ShouldStillSaveOrder() {
-        when(paymentGateway.processPayment(testOrder)).thenThrow(new RuntimeException("Error"));
+    void execute_WhenPaymentIsCreated_ShouldSaveOrder() {
+        when(paymentGateway.processPayment(testOrder)).thenReturn(Optional.of(paymentId));
         when(orderGateway.save(testOrder)).thenReturn(Optional.of(testOrder));
 
-        assertThrows(PaymentException.class, () -> initPaymentUseCase.execute(testOrder));
+        initPaymentUseCase.execute(testOrder);
 
         verify(orderGateway, times(1)).save(testOrder);
     }
@@ -144,7 +179,7 @@ class InitPaymentUseCaseTest {
     }
 
     @Test
-    void execute_WhenOrderGatewayThrowsException_ShouldNotAffectPaymentProcessing() {
+    void execute_WhenSavingFailsAfterPaymentIsCreated_ShouldPropagateWithoutFailingPayment() {
         when(paymentGateway.processPayment(testOrder)).thenReturn(Optional.of(paymentId));
         when(orderGateway.save(testOrder)).thenThrow(new RuntimeException("Database error"));
 
@@ -157,4 +192,18 @@ class InitPaymentUseCaseTest {
         verify(paymentGateway, times(1)).processPayment(testOrder);
         verify(orderGateway, times(1)).save(testOrder);
     }
+
+    @Test
+    void execute_WhenPaymentServiceIsUnreachable_ShouldPropagateForRetryWithoutFailingPayment() {
+        ResourceAccessException unreachable = new ResourceAccessException("I/O error on POST request",
+                new ConnectException("Connection refused"));
+        when(paymentGateway.processPayment(testOrder)).thenThrow(unreachable);
+
+        ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                () -> initPaymentUseCase.execute(testOrder));
+
+        assertSame(unreachable, exception);
+        assertNull(testOrder.getPaymentStatus());
+        verify(orderGateway, never()).save(any());
+    }
 }
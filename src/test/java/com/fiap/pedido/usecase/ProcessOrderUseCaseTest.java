@@ -2,17 +2,24 @@ package com.fiap.pedido.usecase;
 
 import com.fiap.pedido.domain.Order;
 import com.fiap.pedido.domain.OrderStatus;
-import com.fiap.pedido.exception.InsufficientFundsException;
-import com.fiap.pedido.exception.InsufficientStockException;
+import com.fiap.pedido.exception.CustomerException;
+import com.fiap.pedido.exception.DataEnrichmentException;
 import com.fiap.pedido.exception.OrderException;
-import com.fiap.pedido.exception.PaymentException;
+import com.fiap.pedido.gateway.cache.ProcessedOrderIndex;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,19 +33,12 @@ class ProcessOrderUseCaseTest {
     private CreateOrderUseCase createOrderUseCase;
 
     @Mock
-    private UpdateOrderUseCase updateOrderUseCase;
+    private EnrichOrderDetailsUseCase enrichOrderDetailsUseCase;
 
     @Mock
-    private DeductStockUseCase deductStockUseCase;
+    private ProcessedOrderIndex processedOrderIndex;
 
-    @Mock
-    private ReturnStockUseCase returnStockUseCase;
-
-    @Mock
-    private InitPaymentUseCase initPaymentUseCase;
-
-    @Mock
-    private EnrichOrderDetailsUseCase enrichOrderDetailsUseCase;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private ProcessOrderUseCase processOrderUseCase;
 
@@ -48,11 +48,9 @@ class ProcessOrderUseCaseTest {
     void setUp() {
         processOrderUseCase = new ProcessOrderUseCase(
                 createOrderUseCase,
-                updateOrderUseCase,
-                deductStockUseCase,
-                returnStockUseCase,
-                initPaymentUseCase,
-                enrichOrderDetailsUseCase
+                enrichOrderDetailsUseCase,
+                processedOrderIndex,
+                new OrderPipelineMetrics(meterRegistry)
         );
 
         testOrder = new Order();
@@ -65,18 +63,14 @@ class ProcessOrderUseCaseTest {
     @Test
     void execute_ShouldProcessOrderSuccessfully() {
         when(createOrderUseCase.execute(testOrder)).thenReturn(testOrder);
-        doNothing().when(enrichOrderDetailsUseCase).execute(testOrder);
-        doNothing().when(deductStockUseCase).execute(testOrder);
-        doNothing().when(initPaymentUseCase).execute(testOrder);
 
         assertDoesNotThrow(() -> processOrderUseCase.execute(testOrder));
 
-        verify(createOrderUseCase, times(1)).execute(testOrder);
+        verify(createOrderUseCase, times(1)).validate(testOrder);
         verify(enrichOrderDetailsUseCase, times(1)).execute(testOrder);
-        verify(deductStockUseCase, times(1)).execute(testOrder);
-        verify(initPaymentUseCase, times(1)).execute(testOrder);
-        verify(updateOrderUseCase, never()).execute(any(Order.class));
-        verify(returnStockUseCase, never()).execute(any(Order.class));
+        verify(createOrderUseCase, times(1)).execute(testOrder);
+        verify(createOrderUseCase, never()).executeClosed(any(Order.class), any(OrderStatus.class));
+        verify(processedOrderIndex, times(1)).markProcessed(testOrder.getOrderId());
     }
 
     @Test
@@ -85,121 +79,109 @@ class ProcessOrderUseCaseTest {
 
         processOrderUseCase.execute(testOrder);
 
-        var inOrder = inOrder(createOrderUseCase, enrichOrderDetailsUseCase, deductStockUseCase, initPaymentUseCase);
-        inOrder.verify(createOrderUseCase).execute(testOrder);
+        var inOrder = inOrder(createOrderUseCase, enrichOrderDetailsUseCase);
+        inOrder.verify(createOrderUseCase).validate(testOrder);
         inOrder.verify(enrichOrderDetailsUseCase).execute(testOrder);
-        inOrder.verify(deductStockUseCase).execute(testOrder);
-        inOrder.verify(initPaymentUseCase).execute(testOrder);
+        inOrder.verify(createOrderUseCase).execute(testOrder);
     }
 
     @Test
-    void execute_WhenOrderExceptionOccurs_ShouldLogErrorOnly() {
-        OrderException orderException = new OrderException("Order creation failed");
-        when(createOrderUseCase.execute(testOrder)).thenThrow(orderException);
+    void execute_WhenOrderWasAlreadyProcessed_ShouldSkipEveryStage() {
+        when(processedOrderIndex.isProcessed(testOrder.getOrderId())).thenReturn(true);
 
-        assertDoesNotThrow(() -> processOrderUseCase.execute(testOrder));
+        processOrderUseCase.execute(testOrder);
 
-        verify(createOrderUseCase, times(1)).execute(testOrder);
-        verify(enrichOrderDetailsUseCase, never()).execute(any(Order.class));
-        verify(deductStockUseCase, never()).execute(any(Order.class));
-        verify(initPaymentUseCase, never()).execute(any(Order.class));
-        verify(updateOrderUseCase, never()).execute(any(Order.class));
+        verifyNoInteractions(createOrderUseCase, enrichOrderDetailsUseCase);
+        verify(processedOrderIndex, never()).markProcessed(any());
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "DUPLICATE").counter().count());
     }
 
     @Test
-    void execute_WhenInsufficientStockException_ShouldSetStatusToFechadoSemEstoque() {
-        when(createOrderUseCase.execute(testOrder)).thenReturn(testOrder);
-        doNothing().when(enrichOrderDetailsUseCase).execute(testOrder);
-        doThrow(new InsufficientStockException("Insufficient stock")).when(deductStockUseCase).execute(testOrder);
-        when(updateOrderUseCase.execute(testOrder)).thenReturn(testOrder);
+    void execute_WhenValidationFails_ShouldRejectOrderWithoutCallingOtherServices() {
+        doThrow(new OrderException("Order items cannot be null or empty")).when(createOrderUseCase).validate(testOrder);
 
-        processOrderUseCase.execute(testOrder);
+        assertDoesNotThrow(() -> processOrderUseCase.execute(testOrder));
 
-        assertEquals(OrderStatus.FECHADO_SEM_ESTOQUE, testOrder.getStatus());
-        verify(createOrderUseCase, times(1)).execute(testOrder);
-        verify(enrichOrderDetailsUseCase, times(1)).execute(testOrder);
-        verify(deductStockUseCase, times(1)).execute(testOrder);
-        verify(initPaymentUseCase, never()).execute(any(Order.class));
-        verify(updateOrderUseCase, times(1)).execute(testOrder);
-        verify(returnStockUseCase, never()).execute(any(Order.class));
+        verifyNoInteractions(enrichOrderDetailsUseCase);
+        verify(createOrderUseCase, never()).execute(any(Order.class));
+        verify(createOrderUseCase, never()).executeClosed(any(Order.class), any(OrderStatus.class));
+        verify(processedOrderIndex, never()).markProcessed(any());
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "REJECTED").counter().count());
     }
 
     @Test
-    void execute_WhenInsufficientFundsException_ShouldReturnStockAndSetStatusToFechadoSemCredito() {
-        when(createOrderUseCase.execute(testOrder)).thenReturn(testOrder);
-        doNothing().when(enrichOrderDetailsUseCase).execute(testOrder);
-        doNothing().when(deductStockUseCase).execute(testOrder);
-        doThrow(new InsufficientFundsException("Insufficient funds")).when(initPaymentUseCase).execute(testOrder);
-        doNothing().when(returnStockUseCase).execute(testOrder);
-        when(updateOrderUseCase.execute(testOrder)).thenReturn(testOrder);
+    void execute_WhenOrderCannotBeCreated_ShouldRejectOrder() {
+        when(createOrderUseCase.execute(testOrder)).thenThrow(new OrderException("Order could not be saved"));
 
-        processOrderUseCase.execute(testOrder);
+        assertDoesNotThrow(() -> processOrderUseCase.execute(testOrder));
 
-        assertEquals(OrderStatus.FECHADO_SEM_CREDITO, testOrder.getStatus());
-        verify(createOrderUseCase, times(1)).execute(testOrder);
-        verify(enrichOrderDetailsUseCase, times(1)).execute(testOrder);
-        verify(deductStockUseCase, times(1)).execute(testOrder);
-        verify(initPaymentUseCase, times(1)).execute(testOrder);
-        verify(returnStockUseCase, times(1)).execute(testOrder);
-        verify(updateOrderUseCase, times(1)).execute(testOrder);
+        verify(createOrderUseCase, never()).executeClosed(any(Order.class), any(OrderStatus.class));
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "REJECTED").counter().count());
     }
 
     @Test
-    void execute_WhenPaymentException_ShouldReturnStockAndSetStatusToFechadoSemCredito() {
-        when(createOrderUseCase.execute(testOrder)).thenReturn(testOrder);
-        doNothing().when(enrichOrderDetailsUseCase).execute(testOrder);
-        doNothing().when(deductStockUseCase).execute(testOrder);
-        doThrow(new PaymentException("Payment processing failed")).when(initPaymentUseCase).execute(testOrder);
-        doNothing().when(returnStockUseCase).execute(testOrder);
-        when(updateOrderUseCase.execute(testOrder)).thenReturn(testOrder);
+    void execute_WhenConcurrentDeliveryWinsTheInsert_ShouldCountDuplicateWithoutClosingTheOrder() {
+        when(processedOrderIndex.isStored(testOrder.getOrderId())).thenReturn(true);
+        when(createOrderUseCase.execute(testOrder))
+                .thenThrow(new DataIntegrityViolationException("Order " + testOrder.getOrderId() + " already exists"));
 
-        processOrderUseCase.execute(testOrder);
+        assertDoesNotThrow(() -> processOrderUseCase.execute(testOrder));
 
-        assertEquals(OrderStatus.FECHADO_SEM_CREDITO, testOrder.getStatus());
-        verify(returnStockUseCase, times(1)).execute(testOrder);
-        verify(updateOrderUseCase, times(1)).execute(testOrder);
+        verify(createOrderUseCase, never()).executeClosed(any(Order.class), any(OrderStatus.class));
+        verify(processedOrderIndex, never()).markProcessed(any());
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "DUPLICATE").counter().count());
     }
 
     @Test
-    void execute_WhenUnexpectedExceptionOccurs_ShouldSetStatusToCancelado() {
-        when(createOrderUseCase.execute(testOrder)).thenReturn(testOrder);
-        doNothing().when(enrichOrderDetailsUseCase).execute(testOrder);
-        doThrow(new RuntimeException("Unexpected error")).when(deductStockUseCase).execute(testOrder);
-        when(updateOrderUseCase.execute(testOrder)).thenReturn(testOrder);
+    void execute_WhenEnrichmentFailsPermanently_ShouldRecordOrderAsCancelado() {
+        doThrow(new DataEnrichmentException("Failed to enrich order details", new CustomerException("Customer not found")))
+                .when(enrichOrderDetailsUseCase).execute(testOrder);
 
         processOrderUseCase.execute(testOrder);
 
-        assertEquals(OrderStatus.CANCELADO, testOrder.getStatus());
-        verify(updateOrderUseCase, times(1)).execute(testOrder);
-        verify(returnStockUseCase, never()).execute(any(Order.class));
+        verify(createOrderUseCase, never()).execute(any(Order.class));
+        verify(createOrderUseCase, times(1)).executeClosed(testOrder, OrderStatus.CANCELADO);
+        verify(processedOrderIndex, times(1)).markProcessed(testOrder.getOrderId());
+    }
+
+    @Test
+    void execute_WhenEnrichmentFailsTransiently_ShouldRethrowWithoutWritingAnything() {
+        DataEnrichmentException failure = new DataEnrichmentException("Failed to enrich order details",
+                new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        doThrow(failure).when(enrichOrderDetailsUseCase).execute(testOrder);
+
+        DataEnrichmentException exception = assertThrows(DataEnrichmentException.class,
+                () -> processOrderUseCase.execute(testOrder));
+
+        assertEquals(failure, exception);
+        verify(createOrderUseCase, never()).execute(any(Order.class));
+        verify(createOrderUseCase, never()).executeClosed(any(Order.class), any(OrderStatus.class));
+        verify(processedOrderIndex, never()).markProcessed(any());
     }
 
     @Test
-    void execute_WhenEnrichOrderDetailsThrowsException_ShouldSetStatusToCancelado() {
+    void execute_ShouldTimeEveryStageWithoutCountingAnOutcome() {
         when(createOrderUseCase.execute(testOrder)).thenReturn(testOrder);
-        doThrow(new RuntimeException("Enrichment failed")).when(enrichOrderDetailsUseCase).execute(testOrder);
-        when(updateOrderUseCase.execute(testOrder)).thenReturn(testOrder);
 
         processOrderUseCase.execute(testOrder);
 
-        assertEquals(OrderStatus.CANCELADO, testOrder.getStatus());
-        verify(createOrderUseCase, times(1)).execute(testOrder);
-        verify(enrichOrderDetailsUseCase, times(1)).execute(testOrder);
-        verify(deductStockUseCase, never()).execute(any(Order.class));
-        verify(initPaymentUseCase, never()).execute(any(Order.class));
-        verify(updateOrderUseCase, times(1)).execute(testOrder);
+        for (String stage : List.of("validate", "enrich", "create")) {
+            assertEquals(1, meterRegistry.get("order.stage").tag("stage", stage).tag("outcome", "success")
+                    .timer().count());
+        }
+        // the outcome is counted once the outbox steps close or open the order
+        assertTrue(meterRegistry.find("order.outcome").counters().isEmpty());
     }
 
     @Test
-    void execute_WhenMultipleExceptionsOccur_ShouldHandleFirstException() {
-        when(createOrderUseCase.execute(testOrder)).thenReturn(testOrder);
-        doNothing().when(enrichOrderDetailsUseCase).execute(testOrder);
-        doThrow(new InsufficientStockException("Stock error")).when(deductStockUseCase).execute(testOrder);
-        when(updateOrderUseCase.execute(testOrder)).thenReturn(testOrder);
+    void execute_WhenStageFails_ShouldTagTheStageAndCountTheCompensatedStatus() {
+        doThrow(new IllegalStateException("Enrichment failed")).when(enrichOrderDetailsUseCase).execute(testOrder);
 
         processOrderUseCase.execute(testOrder);
 
-        assertEquals(OrderStatus.FECHADO_SEM_ESTOQUE, testOrder.getStatus());
-        verify(initPaymentUseCase, never()).execute(any(Order.class));
+        assertEquals(1, meterRegistry.get("order.stage").tag("stage", "enrich").tag("outcome", "failure")
+                .tag("exception", "IllegalStateException").timer().count());
+        assertEquals(1, meterRegistry.get("order.stage").tag("stage", "compensation").timer().count());
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "CANCELADO").counter().count());
     }
 }
@@ -0,0 +1,133 @@
+package com.fiap.pedido.usecase;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.domain.PaymentReconciliation;
+import com.fiap.pedido.domain.PaymentStatus;
+import com.fiap.pedido.gateway.OrderGateway;
+import com.fiap.pedido.gateway.PaymentGateway;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReconcilePaymentsUseCaseTest {
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    @Mock
+    private OrderGateway orderGateway;
+
+    @Mock
+    private ReturnStockUseCase returnStockUseCase;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReconcilePaymentsUseCase reconcilePaymentsUseCase;
+
+    private UUID completedPayment;
+    private UUID failedPayment;
+
+    @BeforeEach
+    void setUp() {
+        reconcilePaymentsUseCase = new ReconcilePaymentsUseCase(paymentGateway, orderGateway, returnStockUseCase,
+                new OrderPipelineMetrics(meterRegistry));
+
+        completedPayment = UUID.randomUUID();
+        failedPayment = UUID.randomUUID();
+    }
+
+    @Test
+    void execute_ShouldRetrieveAllStatusesInOneCallAndCloseOrdersTogether() {
+        List<UUID> paymentIds = List.of(completedPayment, failedPayment);
+        Map<UUID, PaymentStatus> statuses = Map.of(completedPayment, PaymentStatus.COMPLETED,
+                failedPayment, PaymentStatus.FAILED);
+        Order completed = closedOrder(completedPayment, OrderStatus.FECHADO_COM_SUCESSO);
+        Order failed = closedOrder(failedPayment, OrderStatus.FECHADO_SEM_CREDITO);
+        when(paymentGateway.retrievePaymentStatuses(paymentIds)).thenReturn(statuses);
+        when(orderGateway.closePendingPayments(statuses)).thenReturn(List.of(completed, failed));
+
+        PaymentReconciliation reconciliation = reconcilePaymentsUseCase.execute(paymentIds);
+
+        assertEquals(2, reconciliation.closed());
+        assertEquals(Set.of(), reconciliation.unsettled());
+        verify(paymentGateway, never()).retrievePaymentStatus(any());
+        verify(returnStockUseCase, times(1)).execute(failed);
+        verify(returnStockUseCase, never()).execute(completed);
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "FECHADO_SEM_CREDITO").counter().count());
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "FECHADO_COM_SUCESSO").counter().count());
+    }
+
+    @Test
+    void execute_WhenPaymentIsStillInProgress_ShouldLeaveItsOrderOpen() {
+        List<UUID> paymentIds = List.of(completedPayment, failedPayment);
+        when(paymentGateway.retrievePaymentStatuses(paymentIds)).thenReturn(Map.of(
+                completedPayment, PaymentStatus.COMPLETED,
+                failedPayment, PaymentStatus.IN_PROGRESS));
+        when(orderGateway.closePendingPayments(Map.of(completedPayment, PaymentStatus.COMPLETED)))
+                .thenReturn(List.of(closedOrder(completedPayment, OrderStatus.FECHADO_COM_SUCESSO)));
+
+        PaymentReconciliation reconciliation = reconcilePaymentsUseCase.execute(paymentIds);
+
+        assertEquals(1, reconciliation.closed());
+        assertEquals(Set.of(failedPayment), reconciliation.unsettled());
+        verifyNoInteractions(returnStockUseCase);
+    }
+
+    @Test
+    void execute_WhenNoPaymentIsReported_ShouldReturnThemAsUnsettledWithoutTouchingOrders() {
+        List<UUID> paymentIds = List.of(completedPayment);
+        when(paymentGateway.retrievePaymentStatuses(paymentIds)).thenReturn(Map.of());
+
+        PaymentReconciliation reconciliation = reconcilePaymentsUseCase.execute(paymentIds);
+
+        assertEquals(0, reconciliation.closed());
+        assertEquals(Set.of(completedPayment), reconciliation.unsettled());
+        verifyNoInteractions(orderGateway, returnStockUseCase);
+    }
+
+    @Test
+    void execute_WhenOrderWasClosedConcurrently_ShouldNotReturnItsStock() {
+        List<UUID> paymentIds = List.of(failedPayment);
+        Map<UUID, PaymentStatus> statuses = Map.of(failedPayment, PaymentStatus.FAILED);
+        when(paymentGateway.retrievePaymentStatuses(paymentIds)).thenReturn(statuses);
+        when(orderGateway.closePendingPayments(statuses)).thenReturn(List.of());
+
+        PaymentReconciliation reconciliation = reconcilePaymentsUseCase.execute(paymentIds);
+
+        assertEquals(0, reconciliation.closed());
+        assertEquals(Set.of(), reconciliation.unsettled());
+        verifyNoInteractions(returnStockUseCase);
+    }
+
+    @Test
+    void execute_WithoutPayments_ShouldNotCallPaymentService() {
+        PaymentReconciliation reconciliation = reconcilePaymentsUseCase.execute(List.of());
+
+        assertEquals(PaymentReconciliation.none(), reconciliation);
+        verifyNoInteractions(paymentGateway, orderGateway, returnStockUseCase);
+    }
+
+    private Order closedOrder(UUID paymentId, OrderStatus status) {
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setPaymentId(paymentId);
+        order.setStatus(status);
+        return order;
+    }
+}
@@ -209,4 +209,41 @@ void enrich_WithMultipleSkusNotFound_ShouldListAllMissingSkus() {
         assertEquals("Product 1", item1.getName());
         assertEquals(BigDecimal.valueOf(50.00), item1.getPrice());
     }
+
+    @Test
+    void enrich_WithDuplicatedSkus_ShouldRequestEachSkuOnceAndMergeTheRepeatedLines() {
+        Item repeated = new Item();
+        repeated.setSku("SKU001");
+        repeated.setQuantity(4);
+        testOrder.setItems(Arrays.asList(testItems.get(0), testItems.get(1), repeated));
+        List<String> skus = Arrays.asList("SKU001", "SKU002");
+        when(retrieveAllProductsBySkuUseCase.execute(skus)).thenReturn(testProducts);
+
+        enrichProductDetails.enrich(testOrder);
+
+        assertEquals(2, testOrder.getItems().size());
+        Item merged = testOrder.getItems().getFirst();
+        assertEquals("SKU001", merged.getSku());
+        assertEquals(6, merged.getQuantity());
+        assertEquals(testProducts.getFirst().getId(), merged.getId());
+        assertEquals(BigDecimal.valueOf(50.00), merged.getPrice());
+        assertEquals(BigDecimal.valueOf(330.00), testOrder.getPaymentAmount());
+        verify(retrieveAllProductsBySkuUseCase, times(1)).execute(skus);
+    }
+
+    @Test
+    void enrich_WithDuplicatedMissingSku_ShouldListItOnceAndNotEnrichAnyItem() {
+        Item missing = new Item();
+        missing.setSku("SKU003");
+        missing.setQuantity(1);
+        testOrder.setItems(Arrays.asList(testItems.get(0), missing, missing));
+        when(retrieveAllProductsBySkuUseCase.execute(Arrays.asList("SKU001", "SKU003")))
+                .thenReturn(Collections.singletonList(testProducts.getFirst()));
+
+        ProductException exception = assertThrows(ProductException.class,
+                () -> enrichProductDetails.enrich(testOrder));
+
+        assertEquals("Invalid sku(s): SKU003", exception.getMessage());
+        assertNull(testItems.getFirst().getId());
+    }
 }
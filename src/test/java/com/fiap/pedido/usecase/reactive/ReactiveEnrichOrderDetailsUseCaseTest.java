@@ -0,0 +1,128 @@
+package com.fiap.pedido.usecase.reactive;
+
+import com.fiap.pedido.domain.Customer;
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.Product;
+import com.fiap.pedido.exception.CustomerException;
+import com.fiap.pedido.exception.DataEnrichmentException;
+import com.fiap.pedido.gateway.ReactiveCustomerGateway;
+import com.fiap.pedido.gateway.ReactiveProductGateway;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.load.EnrichCustomerDetails;
+import com.fiap.pedido.usecase.load.EnrichProductDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEnrichOrderDetailsUseCaseTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+
+    @Mock
+    private ReactiveCustomerGateway customerGateway;
+
+    @Mock
+    private ReactiveProductGateway productGateway;
+
+    @Mock
+    private EnrichCustomerDetails enrichCustomerDetails;
+
+    @Mock
+    private EnrichProductDetails enrichProductDetails;
+
+    private ReactiveEnrichOrderDetailsUseCase enrichOrderDetailsUseCase;
+
+    private Order testOrder;
+    private Customer customer;
+    private List<String> skus;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        enrichOrderDetailsUseCase = new ReactiveEnrichOrderDetailsUseCase(customerGateway, productGateway,
+                enrichCustomerDetails, enrichProductDetails, TIMEOUT, new OrderPipelineMetrics(new SimpleMeterRegistry()));
+
+        testOrder = new Order();
+        testOrder.setOrderId(UUID.randomUUID());
+        testOrder.setCustomerId(UUID.randomUUID());
+
+        customer = new Customer();
+        customer.setId(testOrder.getCustomerId());
+        skus = List.of("SKU001", "SKU002");
+        products = List.of(new Product(), new Product());
+    }
+
+    @Test
+    void execute_ShouldApplyCustomerAndProductsToOrder() {
+        when(customerGateway.findById(testOrder.getCustomerId())).thenReturn(Mono.just(customer));
+        when(enrichProductDetails.skusOf(testOrder)).thenReturn(skus);
+        when(productGateway.findAllProductsBySkus(skus)).thenReturn(Mono.just(products));
+
+        StepVerifier.create(enrichOrderDetailsUseCase.execute(testOrder))
+                .expectNext(testOrder)
+                .verifyComplete();
+
+        verify(enrichCustomerDetails, times(1)).apply(testOrder, customer);
+        verify(enrichProductDetails, times(1)).apply(testOrder, products);
+    }
+
+    @Test
+    void execute_WhenCustomerIsNotFound_ShouldFailWithCustomerException() {
+        when(customerGateway.findById(testOrder.getCustomerId())).thenReturn(Mono.empty());
+
+        StepVerifier.create(enrichOrderDetailsUseCase.execute(testOrder))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(DataEnrichmentException.class, error);
+                    assertInstanceOf(CustomerException.class, error.getCause());
+                })
+                .verify();
+
+        verify(enrichCustomerDetails, never()).apply(any(), any());
+        verify(enrichProductDetails, never()).apply(any(), any());
+    }
+
+    @Test
+    void execute_WhenProductLookupFails_ShouldWrapFailure() {
+        RuntimeException failure = new RuntimeException("Product service error");
+        when(customerGateway.findById(testOrder.getCustomerId())).thenReturn(Mono.never());
+        when(enrichProductDetails.skusOf(testOrder)).thenReturn(skus);
+        when(productGateway.findAllProductsBySkus(skus)).thenReturn(Mono.error(failure));
+
+        StepVerifier.create(enrichOrderDetailsUseCase.execute(testOrder))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(DataEnrichmentException.class, error);
+                    assertSame(failure, error.getCause());
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void execute_WhenServicesDoNotAnswerInTime_ShouldFailWithTimeout() {
+        when(customerGateway.findById(testOrder.getCustomerId())).thenReturn(Mono.never());
+        when(enrichProductDetails.skusOf(testOrder)).thenReturn(skus);
+        when(productGateway.findAllProductsBySkus(skus)).thenReturn(Mono.never());
+
+        StepVerifier.create(enrichOrderDetailsUseCase.execute(testOrder))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(DataEnrichmentException.class, error);
+                    assertEquals("Order enrichment timed out after 200 ms", error.getCause().getMessage());
+                    assertInstanceOf(TimeoutException.class, error.getCause().getCause());
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,147 @@
+package com.fiap.pedido.usecase.reactive;
+
+import com.fiap.pedido.domain.Order;
+import com.fiap.pedido.domain.OrderStatus;
+import com.fiap.pedido.exception.CustomerException;
+import com.fiap.pedido.exception.DataEnrichmentException;
+import com.fiap.pedido.exception.OrderException;
+import com.fiap.pedido.gateway.cache.ProcessedOrderIndex;
+import com.fiap.pedido.metrics.OrderPipelineMetrics;
+import com.fiap.pedido.usecase.CreateOrderUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProcessOrderUseCaseTest {
+
+    @Mock
+    private CreateOrderUseCase createOrderUseCase;
+
+    @Mock
+    private ReactiveEnrichOrderDetailsUseCase enrichOrderDetailsUseCase;
+
+    @Mock
+    private ProcessedOrderIndex processedOrderIndex;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReactiveProcessOrderUseCase processOrderUseCase;
+
+    private Order testOrder;
+
+    @BeforeEach
+    void setUp() {
+        processOrderUseCase = new ReactiveProcessOrderUseCase(
+                createOrderUseCase,
+                enrichOrderDetailsUseCase,
+                processedOrderIndex,
+                new OrderPipelineMetrics(meterRegistry)
+        );
+
+        testOrder = new Order();
+        testOrder.setOrderId(UUID.randomUUID());
+        testOrder.setCustomerId(UUID.randomUUID());
+        testOrder.setPaymentAmount(BigDecimal.valueOf(100.00));
+    }
+
+    @Test
+    void execute_ShouldProcessOrderSuccessfully() {
+        when(enrichOrderDetailsUseCase.execute(testOrder)).thenReturn(Mono.just(testOrder));
+        when(createOrderUseCase.execute(testOrder)).thenReturn(testOrder);
+
+        StepVerifier.create(processOrderUseCase.execute(testOrder)).verifyComplete();
+
+        verify(createOrderUseCase, times(1)).validate(testOrder);
+        verify(createOrderUseCase, never()).executeClosed(any(Order.class), any(OrderStatus.class));
+        verify(processedOrderIndex, times(1)).markProcessed(testOrder.getOrderId());
+        for (String stage : new String[]{OrderPipelineMetrics.STAGE_VALIDATE, OrderPipelineMetrics.STAGE_ENRICH,
+                OrderPipelineMetrics.STAGE_CREATE}) {
+            assertEquals(1, meterRegistry.get("order.stage").tag("stage", stage).tag("outcome", "success")
+                    .timer().count());
+        }
+    }
+
+    @Test
+    void execute_WhenOrderWasAlreadyProcessed_ShouldSkipIt() {
+        when(processedOrderIndex.isProcessed(testOrder.getOrderId())).thenReturn(true);
+
+        StepVerifier.create(processOrderUseCase.execute(testOrder)).verifyComplete();
+
+        verifyNoInteractions(createOrderUseCase, enrichOrderDetailsUseCase);
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "DUPLICATE").counter().count());
+    }
+
+    @Test
+    void execute_WhenValidationFails_ShouldRejectOrderWithoutCallingServices() {
+        doThrow(new OrderException("Order items cannot be null or empty")).when(createOrderUseCase).validate(testOrder);
+
+        StepVerifier.create(processOrderUseCase.execute(testOrder)).verifyComplete();
+
+        verifyNoInteractions(enrichOrderDetailsUseCase);
+        verify(createOrderUseCase, never()).execute(any(Order.class));
+        verify(processedOrderIndex, never()).markProcessed(any());
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "REJECTED").counter().count());
+    }
+
+    @Test
+    void execute_WhenConcurrentDeliveryWinsTheInsert_ShouldSkipItWithoutClosingTheOrder() {
+        when(processedOrderIndex.isStored(testOrder.getOrderId())).thenReturn(true);
+        when(enrichOrderDetailsUseCase.execute(testOrder)).thenReturn(Mono.just(testOrder));
+        when(createOrderUseCase.execute(testOrder))
+                .thenThrow(new DataIntegrityViolationException("Order " + testOrder.getOrderId() + " already exists"));
+
+        StepVerifier.create(processOrderUseCase.execute(testOrder)).verifyComplete();
+
+        verify(createOrderUseCase, never()).executeClosed(any(Order.class), any(OrderStatus.class));
+        verify(processedOrderIndex, never()).markProcessed(any());
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "DUPLICATE").counter().count());
+    }
+
+    @Test
+    void execute_WhenEnrichmentFailsPermanently_ShouldCancelOrder() {
+        when(enrichOrderDetailsUseCase.execute(testOrder)).thenReturn(Mono.error(new DataEnrichmentException(
+                "Failed to enrich order details", new CustomerException("Customer not found"))));
+
+        StepVerifier.create(processOrderUseCase.execute(testOrder)).verifyComplete();
+
+        verify(createOrderUseCase, never()).execute(any(Order.class));
+        verify(createOrderUseCase, times(1)).executeClosed(testOrder, OrderStatus.CANCELADO);
+        verify(processedOrderIndex, times(1)).markProcessed(testOrder.getOrderId());
+        assertEquals(1, meterRegistry.get("order.stage").tag("stage", "enrich").tag("outcome", "failure")
+                .timer().count());
+        assertEquals(1.0, meterRegistry.get("order.outcome").tag("status", "CANCELADO").counter().count());
+    }
+
+    @Test
+    void execute_WhenServiceIsUnavailable_ShouldPropagateForRetry() {
+        WebClientResponseException unavailable = WebClientResponseException.create(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null);
+        when(enrichOrderDetailsUseCase.execute(testOrder)).thenReturn(Mono.error(
+                new DataEnrichmentException("Failed to enrich order details", unavailable)));
+
+        StepVerifier.create(processOrderUseCase.execute(testOrder))
+                .expectError(DataEnrichmentException.class)
+                .verify();
+
+        verify(createOrderUseCase, never()).executeClosed(any(Order.class), any(OrderStatus.class));
+        verify(processedOrderIndex, never()).markProcessed(any());
+    }
+}